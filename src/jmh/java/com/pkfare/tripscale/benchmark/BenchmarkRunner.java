@@ -0,0 +1,52 @@
+package com.example.framework.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Runs the JMH benchmarks at 1, N/2 and N threads, where N is the number of
+ * available processors, or at the comma-separated thread counts of the
+ * benchmark.threads system property, writing one JSON result file per thread count to
+ * target/jmh/. Any JMH command-line options (benchmark filter, -p, -f, -wi, -i, ...)
+ * are passed through, except that the thread count and result file are set here.
+ */
+public final class BenchmarkRunner {
+    
+    private static final Path RESULT_DIRECTORY = Path.of("target", "jmh");
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        int processors = Runtime.getRuntime().availableProcessors();
+        SortedSet<Integer> threadCounts = new TreeSet<>(List.of(1, Math.max(1, processors / 2), processors));
+        String requestedThreads = System.getProperty("benchmark.threads", "").trim();
+        if (!requestedThreads.isEmpty()) {
+            threadCounts.clear();
+            for (String threads : requestedThreads.split(",")) {
+                threadCounts.add(Integer.parseInt(threads.trim()));
+            }
+        }
+        
+        Files.createDirectories(RESULT_DIRECTORY);
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(RESULT_DIRECTORY.resolve("results-" + threads + "-threads.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
\ No newline at end of file
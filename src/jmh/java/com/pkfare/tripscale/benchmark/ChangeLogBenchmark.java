@@ -0,0 +1,56 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleChangeLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ceiling the shared change log puts on the store's write throughput.
+ * <p>
+ * Every mutation of every store claims one sequence number and publishes one event,
+ * as publishChange does here with nothing else around it. Run across thread counts
+ * with {@code -Djmh.threads=1,2,4,8,16,32,64} next to StoreScalingBenchmark: as long
+ * as this stays well above the stores' create and update throughput at the same
+ * thread count, the shared sequence is not what limits them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeLogBenchmark {
+
+    private SampleChangeLog changeLog;
+    private SampleModel sample;
+    private LocalDateTime timestamp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        changeLog = new SampleChangeLog(new SampleChangeProperties());
+        sample = new SampleModel(1L, "sample-1", "Benchmark sample number 1");
+        timestamp = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public SampleChangeEvent publishChange() {
+        SampleChangeEvent event = changeLog.claim(SampleChangeEvent.Type.UPDATED, sample.getId(), sample, timestamp);
+        changeLog.publish(event);
+        return event;
+    }
+}
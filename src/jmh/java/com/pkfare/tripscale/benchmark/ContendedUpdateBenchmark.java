@@ -0,0 +1,118 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.exception.VersionConflictException;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import com.example.framework.service.ShardedSampleServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Version-checked updates by many writers on a few hot keys.
+ * <p>
+ * Each operation reads a random hot sample and updates it with
+ * updateSampleIfVersion, retrying with a fresh read after a conflict, as a client
+ * answering 409 would. The conflicts counter gives the retries per operation.
+ * Run across thread counts with {@code -Djmh.threads=1,4,16,64}. After each trial the
+ * summed version increments of the hot samples must equal the successful updates,
+ * otherwise a write was lost and the trial fails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContendedUpdateBenchmark {
+
+    @Param({"1", "16", "4096"})
+    private int keys;
+
+    @Param({"memory", "sharded"})
+    private String store;
+
+    private SampleService sampleService;
+    private long[] ids;
+    private final LongAdder updates = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void populate() {
+        if (store.equals("sharded")) {
+            sampleService = new ShardedSampleServiceImpl(new SampleStoreProperties(),
+                    new SampleChangeLog(new SampleChangeProperties()));
+        } else {
+            sampleService = new SampleServiceImpl();
+        }
+        ids = new long[keys];
+        for (int i = 0; i < keys; i++) {
+            ids[i] = sampleService.createSample(newSample(i)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void checkNoLostWrites() {
+        long increments = 0;
+        for (long id : ids) {
+            increments += sampleService.getSampleById(id).orElseThrow().getVersion() - 1;
+        }
+        if (increments != updates.sum()) {
+            throw new IllegalStateException("Lost writes: " + updates.sum() + " successful updates but "
+                    + increments + " version increments");
+        }
+    }
+
+    /**
+     * Retries of one benchmark thread, reported per operation
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public SampleModel updateIfVersion(Conflicts conflicts) {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        while (true) {
+            SampleModel current = sampleService.getSampleById(id).orElseThrow();
+            try {
+                SampleModel updated = sampleService.updateSampleIfVersion(id, current.getVersion(),
+                        current.getCreatedAt(), newSample(id)).orElseThrow();
+                updates.increment();
+                return updated;
+            } catch (VersionConflictException e) {
+                conflicts.conflicts++;
+            }
+        }
+    }
+
+    private static SampleModel newSample(long seed) {
+        return new SampleModel(null, "sample-" + seed, "Benchmark sample number " + seed);
+    }
+}
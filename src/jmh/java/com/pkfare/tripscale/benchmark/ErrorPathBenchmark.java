@@ -0,0 +1,128 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.exception.GlobalExceptionHandler;
+import com.example.framework.exception.ResourceNotFoundException;
+import com.example.framework.model.ErrorResponse;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering GET /api/samples/{id} for a missing ID, from the store lookup
+ * to the encoded body, next to the cost of a hit.
+ * <p>
+ * The before variant replays the former miss path: an exception with a stack trace
+ * and a String.format message, an ErrorResponse and Jackson. The stack here is only
+ * a few frames deep, where a request thread's is over a hundred, so it understates
+ * the former cost. Run with {@code -prof gc} for the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+    
+    private static final int STORE_SIZE = 100_000;
+    
+    private SampleServiceImpl sampleService;
+    private GlobalExceptionHandler exceptionHandler;
+    private ObjectMapper objectMapper;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        sampleService = new SampleServiceImpl();
+        List<SampleModel> samples = new ArrayList<>(STORE_SIZE);
+        for (int i = 0; i < STORE_SIZE; i++) {
+            samples.add(new SampleModel(null, "sample-" + i, "Benchmark sample number " + i));
+        }
+        sampleService.createSamples(samples);
+        exceptionHandler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    @Benchmark
+    public byte[] hit() throws IOException {
+        Long id = ThreadLocalRandom.current().nextLong(1, STORE_SIZE + 1);
+        return objectMapper.writeValueAsBytes(sampleService.getSampleById(id).orElseThrow());
+    }
+    
+    @Benchmark
+    public Object missBefore() throws IOException {
+        Long id = missingId();
+        try {
+            return lookupBefore(id);
+        } catch (LegacyNotFoundException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(e.getMessage(), "RESOURCE_NOT_FOUND",
+                    HttpStatus.NOT_FOUND.value(), "/api/samples/" + id));
+        }
+    }
+    
+    @Benchmark
+    public Object miss() {
+        Long id = missingId();
+        try {
+            return lookup(id);
+        } catch (ResourceNotFoundException e) {
+            ResponseEntity<?> response = exceptionHandler.clientError(e, HttpStatus.NOT_FOUND, "/api/samples/" + id,
+                    MediaType.ALL_VALUE);
+            return response.getBody();
+        }
+    }
+    
+    private SampleModel lookupBefore(Long id) {
+        Optional<SampleModel> sample = sampleService.getSampleById(id);
+        if (sample.isEmpty()) {
+            throw new LegacyNotFoundException(String.format("%s with identifier '%s' not found", "Sample", id));
+        }
+        return sample.get();
+    }
+    
+    private SampleModel lookup(Long id) {
+        Optional<SampleModel> sample = sampleService.getSampleById(id);
+        if (sample.isEmpty()) {
+            throw new ResourceNotFoundException("Sample", id.toString());
+        }
+        return sample.get();
+    }
+    
+    private static Long missingId() {
+        return ThreadLocalRandom.current().nextLong(STORE_SIZE + 1, 2L * STORE_SIZE);
+    }
+    
+    /**
+     * The not-found exception as it was before, with a stack trace
+     */
+    private static final class LegacyNotFoundException extends RuntimeException {
+        
+        private LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.controller.HealthController;
+import com.example.framework.metrics.EndpointMetricsFilter;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.MeteredSampleService;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the latency recording added to the request path.
+ * <p>
+ * Compares a lookup on the bare store with the same lookup through
+ * MeteredSampleService, and measures one endpoint recording in isolation.
+ * Run with {@code -prof gc} to confirm the recording allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+    
+    private static final int STORE_SIZE = 100_000;
+    
+    private SampleService plain;
+    private SampleService metered;
+    private EndpointMetricsFilter endpointMetrics;
+    private HandlerMethod handler;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plain = new SampleServiceImpl();
+        List<SampleModel> samples = new ArrayList<>(STORE_SIZE);
+        for (int i = 0; i < STORE_SIZE; i++) {
+            samples.add(new SampleModel(null, "sample-" + i, "Benchmark sample number " + i));
+        }
+        plain.createSamples(samples);
+        metered = new MeteredSampleService(plain, registry);
+        
+        endpointMetrics = new EndpointMetricsFilter(registry);
+        // Only the method identifies the endpoint; the controller instance is never invoked
+        handler = new HandlerMethod(new HealthController(null), HealthController.class.getMethod("health"));
+        endpointMetrics.record(handler, 200, 1_000);
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleByIdPlain() {
+        return plain.getSampleById(randomId());
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleByIdMetered() {
+        return metered.getSampleById(randomId());
+    }
+    
+    /**
+     * The two clock reads every timed call makes, as a baseline for the recording cost
+     */
+    @Benchmark
+    public long clockReads() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+    
+    @Benchmark
+    public void recordEndpoint() {
+        endpointMetrics.record(handler, 200, ThreadLocalRandom.current().nextLong(100_000, 10_000_000));
+    }
+    
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(STORE_SIZE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.metrics.SampleOperationEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.RecordedSampleService;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the JFR events RecordedSampleService emits per operation.
+ * <p>
+ * Compares a lookup on the bare store with the same lookup through
+ * RecordedSampleService, with no recording and with a recording that keeps every
+ * event, and measures one event in isolation. Run with {@code -prof gc} to see
+ * whether the event object survives escape analysis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfilingBenchmark {
+    
+    private static final int STORE_SIZE = 100_000;
+    
+    @Param({"false", "true"})
+    private boolean recording;
+    
+    private SampleService plain;
+    private SampleService recorded;
+    private Recording flightRecording;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new SampleServiceImpl();
+        List<SampleModel> samples = new ArrayList<>(STORE_SIZE);
+        for (int i = 0; i < STORE_SIZE; i++) {
+            samples.add(new SampleModel(null, "sample-" + i, "Benchmark sample number " + i));
+        }
+        plain.createSamples(samples);
+        recorded = new RecordedSampleService(plain);
+        
+        if (recording) {
+            // Only the application's event, so the numbers are not mixed with the JDK's own events
+            flightRecording = new Recording();
+            flightRecording.enable(SampleOperationEvent.class).withoutThreshold();
+            flightRecording.start();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (flightRecording != null) {
+            flightRecording.close();
+        }
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleByIdPlain() {
+        return plain.getSampleById(randomId());
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleByIdRecorded() {
+        return recorded.getSampleById(randomId());
+    }
+    
+    @Benchmark
+    public int eventOnly() {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        SampleOperationEvent.finishWithSize(event, "getSampleById", 1L, 1);
+        return 1;
+    }
+    
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(STORE_SIZE);
+    }
+}
\ No newline at end of file
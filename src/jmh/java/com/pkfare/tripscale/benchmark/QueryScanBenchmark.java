@@ -0,0 +1,94 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleQueryProperties;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SampleQuery;
+import com.example.framework.model.SampleQueryResult;
+import com.example.framework.service.SampleQueryService;
+import com.example.framework.service.SampleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtering and grouping the whole store: a parallel scan next to the data against
+ * copying the store out with getAllSamples and aggregating the copy, as a client had to.
+ * <p>
+ * One scan already spreads over every core, so run with {@code -Djmh.threads=1};
+ * {@code -p samples=10000000} (with a larger heap) reproduces the 10M-entry case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class QueryScanBenchmark {
+    
+    private static final int BATCH_SIZE = 10_000;
+    
+    @Param({"1000000"})
+    private int samples;
+    
+    // Scan workers; 0 for one per available processor
+    @Param({"1", "0"})
+    private int parallelism;
+    
+    private SampleServiceImpl sampleService;
+    private SampleQueryService queryService;
+    private SampleQuery query;
+    
+    @Setup(Level.Trial)
+    public void populate() {
+        sampleService = new SampleServiceImpl();
+        List<SampleModel> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < samples; i++) {
+            batch.add(new SampleModel(null, "sample-" + (i % 1000) + "-" + i, "Benchmark sample number " + i));
+            if (batch.size() == BATCH_SIZE) {
+                sampleService.createSamples(batch);
+                batch.clear();
+            }
+        }
+        sampleService.createSamples(batch);
+        
+        SampleQueryProperties properties = new SampleQueryProperties();
+        properties.setParallelism(parallelism);
+        queryService = new SampleQueryService(sampleService, properties);
+        query = new SampleQuery(null, "-1", "number", null, null, 10, true);
+    }
+    
+    @TearDown(Level.Trial)
+    public void close() {
+        queryService.close();
+    }
+    
+    @Benchmark
+    public SampleQueryResult scan() {
+        return queryService.query(query);
+    }
+    
+    @Benchmark
+    public Map<String, Long> materialize() {
+        return sampleService.getAllSamples().stream()
+                .filter(sample -> sample.getName().toLowerCase().contains("-1")
+                        && sample.getDescription().toLowerCase().contains("number"))
+                .collect(Collectors.groupingBy(sample -> sample.getName().substring(0, Math.min(10, sample.getName().length())),
+                        Collectors.counting()));
+    }
+}
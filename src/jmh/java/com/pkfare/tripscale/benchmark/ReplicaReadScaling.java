@@ -0,0 +1,249 @@
+package com.example.framework.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read throughput of a leader with a growing number of followers, each node in a JVM of its own.
+ * <p>
+ * Starts one leader and the followers on consecutive ports from 18080, loads the
+ * leader over HTTP and waits until every follower has applied its change feed. Then
+ * client threads read random samples by ID for a fixed time, spread round-robin over
+ * the leader alone, the leader and one follower, and so on; reads per second that grow
+ * with the nodes are what followers are for. Nodes share the host's CPUs, so the
+ * curve only means something with at least a core per node plus the clients.
+ * <p>
+ * Last, the leader is restarted with an empty store and a new change log, whose
+ * sequences restart below the followers' positions. The followers must notice the new
+ * epoch, reload its snapshot and end up with exactly the restarted leader's samples.
+ * <p>
+ * Arguments: maximum followers (default 3), samples (default 20000), seconds per
+ * measurement (default 10), client threads (default 16). Node logs go to
+ * {@code target/replicas}; run with the application and its dependencies on the class path.
+ */
+public final class ReplicaReadScaling {
+
+    private static final int FIRST_PORT = 18080;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration CATCH_UP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Process> processes = new ArrayList<>();
+
+    private ReplicaReadScaling() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int followers = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+
+        ReplicaReadScaling harness = new ReplicaReadScaling();
+        try {
+            harness.run(followers, samples, seconds, clients);
+        } finally {
+            harness.stopAll();
+        }
+    }
+
+    private void run(int followers, int samples, int seconds, int clients) throws Exception {
+        Process leader = start(FIRST_PORT, "leader");
+        for (int i = 1; i <= followers; i++) {
+            start(FIRST_PORT + i, "follower");
+        }
+        for (int i = 0; i <= followers; i++) {
+            awaitUp(FIRST_PORT + i);
+        }
+
+        long[] ids = load(FIRST_PORT, samples);
+        for (int i = 1; i <= followers; i++) {
+            awaitCaughtUp(FIRST_PORT + i, samples);
+        }
+        System.out.printf("%d samples on the leader and %d followers, %d client threads, %d s per run%n",
+                samples, followers, clients, seconds);
+        System.out.printf("%-10s %14s %12s%n", "followers", "reads/s", "errors");
+        for (int n = 0; n <= followers; n++) {
+            measure(n, ids, seconds, clients);
+        }
+
+        // A restarted leader has a new change log whose sequences start over, below the followers'
+        leader.destroy();
+        leader.waitFor();
+        processes.remove(leader);
+        start(FIRST_PORT, "leader");
+        awaitUp(FIRST_PORT);
+        int reloaded = samples / 10;
+        load(FIRST_PORT, reloaded);
+        for (int i = 1; i <= followers; i++) {
+            awaitCaughtUp(FIRST_PORT + i, reloaded);
+        }
+        System.out.printf("After a leader restart every follower holds the new leader's %d samples%n", reloaded);
+    }
+
+    private Process start(int port, String role) throws IOException {
+        Path logs = Files.createDirectories(Path.of("target", "replicas"));
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(java, "-Xmx512m",
+                "-cp", System.getProperty("java.class.path"),
+                "com.example.framework.Application",
+                "--server.port=" + port,
+                "--sample.replication.role=" + role,
+                "--logging.file.name=" + logs.resolve("node-" + port + ".log")));
+        if (role.equals("follower")) {
+            command.add("--sample.replication.leader-url=" + baseUrl(FIRST_PORT));
+        }
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logs.resolve("node-" + port + ".out").toFile())
+                .start();
+        processes.add(process);
+        return process;
+    }
+
+    private void stopAll() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitUp(int port) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            try {
+                if (get(port, "/api/admin/replication").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Node on port " + port + " did not start");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    /**
+     * Create samples on the leader in batches and return their IDs
+     */
+    private long[] load(int port, int count) throws Exception {
+        long[] ids = new long[count];
+        for (int created = 0; created < count; created += LOAD_BATCH_SIZE) {
+            int batchSize = Math.min(LOAD_BATCH_SIZE, count - created);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < batchSize; i++) {
+                int seed = created + i;
+                body.append(i == 0 ? "" : ",").append("{\"name\":\"sample-").append(seed)
+                        .append("\",\"description\":\"Replicated sample number ").append(seed).append("\"}");
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl(port) + "/api/samples/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode result = MAPPER.readTree(response.body());
+            if (response.statusCode() != 200 || result.get("failed").asInt() != 0) {
+                throw new IllegalStateException("Loading the leader failed with " + response.statusCode()
+                        + ": " + response.body());
+            }
+            JsonNode items = result.get("items");
+            for (int i = 0; i < batchSize; i++) {
+                ids[created + i] = items.get(i).get("id").asLong();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Wait until a follower is streaming and holds the expected number of samples
+     */
+    private void awaitCaughtUp(int port, long expected) throws Exception {
+        long deadline = System.nanoTime() + CATCH_UP_TIMEOUT.toNanos();
+        while (true) {
+            JsonNode status = MAPPER.readTree(get(port, "/api/admin/replication").body());
+            long count = Long.parseLong(get(port, "/api/samples/count").body());
+            if (status.get("state").asText().equals("STREAMING") && status.get("lag").asLong() == 0
+                    && count == expected) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Follower on port " + port + " did not catch up: " + status
+                        + ", " + count + " of " + expected + " samples");
+            }
+            Thread.sleep(200);
+        }
+    }
+
+    private void measure(int followers, long[] ids, int seconds, int clients) throws InterruptedException {
+        int nodes = followers + 1;
+        LongAdder reads = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int t = 0; t < clients; t++) {
+            int first = t;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = first; System.nanoTime() < end; i++) {
+                    long id = ids[random.nextInt(ids.length)];
+                    try {
+                        if (get(FIRST_PORT + i % nodes, "/api/samples/" + id).statusCode() == 200) {
+                            reads.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.printf("%-10d %14.0f %12d%n", followers, (double) reads.sum() / seconds, errors.sum());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl(port) + path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String baseUrl(int port) {
+        return "http://localhost:" + port + "/api";
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of the in-memory SampleService operations across store sizes.
+ * <p>
+ * Throughput mode gives operations per second; sample mode records per-operation
+ * latencies, reported as percentiles. Creates are undone after every iteration,
+ * so each iteration starts from the same store size. The 10M store needs a heap
+ * of several gigabytes; the fork sizes it accordingly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SampleServiceBenchmark {
+    
+    // Samples are inserted in batches of this size while the store is populated
+    private static final int POPULATE_BATCH_SIZE = 10_000;
+    
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int storeSize;
+    
+    private SampleServiceImpl sampleService;
+    
+    @Setup(Level.Trial)
+    public void populate() {
+        sampleService = new SampleServiceImpl();
+        for (int created = 0; created < storeSize; created += POPULATE_BATCH_SIZE) {
+            int batchSize = Math.min(POPULATE_BATCH_SIZE, storeSize - created);
+            List<SampleModel> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(newSample(created + i));
+            }
+            sampleService.createSamples(batch);
+        }
+    }
+    
+    /**
+     * Samples created by one benchmark thread during the current iteration
+     */
+    @State(Scope.Thread)
+    public static class CreatedSamples {
+        
+        private final List<Long> ids = new ArrayList<>();
+        
+        @TearDown(Level.Iteration)
+        public void deleteCreated(SampleServiceBenchmark benchmark) {
+            benchmark.sampleService.deleteSamples(ids);
+            ids.clear();
+        }
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleById() {
+        return sampleService.getSampleById(randomId());
+    }
+    
+    @Benchmark
+    public SampleModel createSample(CreatedSamples created) {
+        SampleModel sample = sampleService.createSample(newSample(ThreadLocalRandom.current().nextInt()));
+        created.ids.add(sample.getId());
+        return sample;
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> updateSample() {
+        long id = randomId();
+        return sampleService.updateSample(id, newSample(id));
+    }
+    
+    /**
+     * Create a sample and delete it again, so the store size stays constant.
+     * Subtract the createSample result to isolate the cost of the delete.
+     */
+    @Benchmark
+    public boolean deleteSample() {
+        SampleModel sample = sampleService.createSample(newSample(ThreadLocalRandom.current().nextInt()));
+        return sampleService.deleteSample(sample.getId());
+    }
+    
+    @Benchmark
+    public List<SampleModel> getAllSamples() {
+        return sampleService.getAllSamples();
+    }
+    
+    @Benchmark
+    public void forEachSample(Blackhole blackhole) {
+        sampleService.forEachSample(blackhole::consume);
+    }
+    
+    private long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(storeSize);
+    }
+    
+    private static SampleModel newSample(long seed) {
+        return new SampleModel(null, "sample-" + seed, "Benchmark sample number " + seed);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.model.ErrorResponse;
+import com.example.framework.model.SampleModel;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization cost of the response payloads, using ObjectMappers
+ * built the same way as the ones behind the REST endpoints: JSON, and Smile
+ * and CBOR with dates as timestamps as configured in WebConfig.
+ * The encoded size of each payload is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    // Size of a full batch response page
+    private static final int BATCH_SIZE = 100;
+    
+    @Param({"json", "smile", "cbor"})
+    private String format;
+    
+    private ObjectWriter sampleWriter;
+    private ObjectReader sampleReader;
+    private ObjectWriter batchWriter;
+    private ObjectReader batchReader;
+    private ObjectWriter errorWriter;
+    
+    private SampleModel sample;
+    private byte[] sampleBytes;
+    private List<SampleModel> batch;
+    private byte[] batchBytes;
+    private ErrorResponse errorResponse;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = objectMapper(format);
+        sampleWriter = objectMapper.writerFor(SampleModel.class);
+        sampleReader = objectMapper.readerFor(SampleModel.class);
+        batchWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, SampleModel.class));
+        batchReader = objectMapper.readerForListOf(SampleModel.class);
+        errorWriter = objectMapper.writerFor(ErrorResponse.class);
+        
+        sample = sample(42L);
+        sampleBytes = sampleWriter.writeValueAsBytes(sample);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(sample(1000L + i));
+        }
+        batchBytes = batchWriter.writeValueAsBytes(batch);
+        errorResponse = new ErrorResponse("Sample with identifier '42' not found", "RESOURCE_NOT_FOUND", 404,
+                "/api/samples/42");
+        
+        System.out.printf("%n%s payload sizes: sample %d bytes, batch of %d %d bytes, error %d bytes%n",
+                format, sampleBytes.length, BATCH_SIZE, batchBytes.length, errorWriter.writeValueAsBytes(errorResponse).length);
+    }
+    
+    @Benchmark
+    public byte[] serializeSample() throws IOException {
+        return sampleWriter.writeValueAsBytes(sample);
+    }
+    
+    @Benchmark
+    public SampleModel deserializeSample() throws IOException {
+        return sampleReader.readValue(sampleBytes);
+    }
+    
+    @Benchmark
+    public byte[] serializeBatch() throws IOException {
+        return batchWriter.writeValueAsBytes(batch);
+    }
+    
+    @Benchmark
+    public List<SampleModel> deserializeBatch() throws IOException {
+        return batchReader.readValue(batchBytes);
+    }
+    
+    @Benchmark
+    public byte[] serializeErrorResponse() throws IOException {
+        return errorWriter.writeValueAsBytes(errorResponse);
+    }
+    
+    private static ObjectMapper objectMapper(String format) {
+        if (format.equals("json")) {
+            // Spring Boot writes JSON dates as ISO strings
+            return Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+        }
+        JsonFactory factory = format.equals("smile") ? new SmileFactory() : new CBORFactory();
+        return Jackson2ObjectMapperBuilder.json().factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    private static SampleModel sample(long id) {
+        SampleModel sample = new SampleModel(id, "benchmark sample " + id, "A sample used to measure serialization",
+                LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789));
+        sample.setVersion(3L);
+        sample.setUpdatedAt(sample.getCreatedAt().plusMinutes(5));
+        return sample;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotSummary;
+import com.example.framework.service.OffHeapSampleServiceImpl;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import com.example.framework.service.SampleSnapshotService;
+import com.example.framework.service.ShardedSampleServiceImpl;
+import com.example.framework.store.GroupCommitWriteAheadLog;
+import com.example.framework.store.SampleJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per sample of replacing a store with a snapshot, against creating the same
+ * samples through the API.
+ * <p>
+ * importSnapshot spools, verifies and then loads a snapshot of {@value #SAMPLES}
+ * samples; createSamples clears the store and creates that many samples in batches
+ * of {@value #BATCH_SIZE}, the batch size the import restores in. The journal store
+ * is the memory store with a write-ahead log in a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnapshotImportBenchmark {
+    
+    private static final int SAMPLES = 100_000;
+    private static final int BATCH_SIZE = 1000;
+    
+    @Param({"memory", "journal", "offheap", "sharded"})
+    private String store;
+    
+    private SampleService sampleService;
+    private SampleSnapshotService snapshotService;
+    private SampleJournal journal;
+    private Path directory;
+    private byte[] snapshot;
+    
+    @Setup(Level.Trial)
+    public void exportSnapshot() throws IOException {
+        SampleChangeLog changeLog = new SampleChangeLog(new SampleChangeProperties());
+        SampleStoreProperties properties = new SampleStoreProperties();
+        switch (store) {
+            case "journal" -> {
+                directory = Files.createTempDirectory("sample-wal");
+                properties.getWal().setDirectory(directory.toString());
+                journal = new GroupCommitWriteAheadLog(properties);
+                DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+                beans.registerSingleton("sampleJournal", journal);
+                SampleServiceImpl journaled = new SampleServiceImpl(beans.getBeanProvider(SampleJournal.class), changeLog);
+                journaled.recover();
+                sampleService = journaled;
+            }
+            case "offheap" -> sampleService = new OffHeapSampleServiceImpl(properties, changeLog);
+            case "sharded" -> sampleService = new ShardedSampleServiceImpl(properties, changeLog);
+            default -> sampleService = new SampleServiceImpl(new DefaultListableBeanFactory()
+                    .getBeanProvider(SampleJournal.class), changeLog);
+        }
+        snapshotService = new SampleSnapshotService(sampleService, changeLog);
+        
+        createSamples();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshotService.exportSnapshot(output);
+        snapshot = output.toByteArray();
+    }
+    
+    @TearDown(Level.Trial)
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public SnapshotSummary importSnapshot() throws IOException {
+        return snapshotService.importSnapshot(new ByteArrayInputStream(snapshot));
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public long createSamples() {
+        sampleService.deleteAllSamples();
+        for (int created = 0; created < SAMPLES; created += BATCH_SIZE) {
+            List<SampleModel> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                int seed = created + i;
+                batch.add(new SampleModel(null, "sample-" + seed, "Benchmark sample number " + seed));
+            }
+            sampleService.createSamples(batch);
+        }
+        return sampleService.count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.OffHeapSampleServiceImpl;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import com.example.framework.service.ShardedSampleServiceImpl;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory held per sample by each store backend.
+ * <p>
+ * Every backend is populated in a JVM of its own, so neither the heap nor the
+ * direct buffers of one backend are left over when the next is measured. Heap use
+ * is read after repeated full collections, before and after populating; direct
+ * memory is the JVM's direct buffer pool. Samples have ~14-character names and
+ * ~35-character descriptions. Arguments: sample count (default 1000000), then
+ * optionally the backends to measure (memory, offheap, sharded).
+ */
+public final class StoreFootprint {
+    
+    private static final String CHILD = "--child";
+    
+    // Samples are inserted in batches of this size while the store is populated
+    private static final int POPULATE_BATCH_SIZE = 10_000;
+    
+    private StoreFootprint() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals(CHILD)) {
+            measure(args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<String> stores = args.length > 1 ? List.of(args).subList(1, args.length) : List.of("memory", "offheap", "sharded");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        System.out.printf("%-8s %12s %14s %16s%n", "store", "samples", "heap B/entry", "direct B/entry");
+        for (String store : stores) {
+            Process process = new ProcessBuilder(java, "-Xmx3g", "-XX:+UseG1GC",
+                    "-cp", System.getProperty("java.class.path"),
+                    StoreFootprint.class.getName(), CHILD, store, Integer.toString(count))
+                    .inheritIO()
+                    .start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Measuring the " + store + " store failed");
+            }
+        }
+    }
+    
+    private static void measure(String store, int count) {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        
+        SampleService sampleService = newStore(store, count);
+        for (int created = 0; created < count; created += POPULATE_BATCH_SIZE) {
+            int batchSize = Math.min(POPULATE_BATCH_SIZE, count - created);
+            List<SampleModel> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                int seed = created + i;
+                batch.add(new SampleModel(null, String.format("sample-%07d", seed),
+                        "Description of benchmark sample " + seed));
+            }
+            sampleService.createSamples(batch);
+        }
+        
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+        System.out.printf("%-8s %12d %14.1f %16.1f%n", store, sampleService.count(),
+                (double) heap / count, (double) direct / count);
+    }
+    
+    private static SampleService newStore(String store, int count) {
+        SampleStoreProperties properties = new SampleStoreProperties();
+        // A one-slot change log, so retained events do not count towards the store
+        SampleChangeLog changeLog = new SampleChangeLog(1);
+        switch (store) {
+            case "memory":
+                return new SampleServiceImpl();
+            case "offheap":
+                properties.getOffHeap().setInitialCapacity(count);
+                return new OffHeapSampleServiceImpl(properties, changeLog);
+            case "sharded":
+                properties.getSharded().setInitialCapacity(count);
+                return new ShardedSampleServiceImpl(properties, changeLog);
+            default:
+                throw new IllegalArgumentException("Unknown store '" + store + "'");
+        }
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.framework.benchmark;
+
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import com.example.framework.service.ShardedSampleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Scaling of the single-map and the sharded in-memory store with the thread count.
+ * <p>
+ * Run across thread counts with {@code -Djmh.threads=1,2,4,8,16,32,64}; aggregate
+ * throughput that keeps growing with threads is the point of the sharded store.
+ * Creates are undone after every iteration, so each iteration starts from the same store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StoreScalingBenchmark {
+    
+    private static final int STORE_SIZE = 100_000;
+    
+    @Param({"memory", "sharded"})
+    private String store;
+    
+    private SampleService sampleService;
+    
+    // IDs of the sharded store are not dense, so lookups draw from the IDs actually created
+    private long[] ids;
+    
+    @Setup(Level.Trial)
+    public void populate() {
+        if (store.equals("sharded")) {
+            SampleStoreProperties properties = new SampleStoreProperties();
+            properties.getSharded().setInitialCapacity(STORE_SIZE);
+            sampleService = new ShardedSampleServiceImpl(properties, new SampleChangeLog(new SampleChangeProperties()));
+        } else {
+            sampleService = new SampleServiceImpl();
+        }
+        
+        // Created from the common pool's threads, so the sharded store spreads them over its shards
+        ids = IntStream.range(0, STORE_SIZE).parallel()
+                .mapToLong(i -> sampleService.createSample(newSample(i)).getId())
+                .toArray();
+    }
+    
+    /**
+     * Samples created by one benchmark thread during the current iteration
+     */
+    @State(Scope.Thread)
+    public static class CreatedSamples {
+        
+        private final List<Long> ids = new ArrayList<>();
+        
+        @TearDown(Level.Iteration)
+        public void deleteCreated(StoreScalingBenchmark benchmark) {
+            benchmark.sampleService.deleteSamples(ids);
+            ids.clear();
+        }
+    }
+    
+    @Benchmark
+    public SampleModel createSample(CreatedSamples created) {
+        SampleModel sample = sampleService.createSample(newSample(ThreadLocalRandom.current().nextInt()));
+        created.ids.add(sample.getId());
+        return sample;
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> getSampleById() {
+        return sampleService.getSampleById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+    
+    @Benchmark
+    public Optional<SampleModel> updateSample() {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return sampleService.updateSample(id, newSample(id));
+    }
+    
+    @Benchmark
+    public long count() {
+        return sampleService.count();
+    }
+    
+    private static SampleModel newSample(long seed) {
+        return new SampleModel(null, "sample-" + seed, "Benchmark sample number " + seed);
+    }
+}
@@ -2,12 +2,14 @@ package com.example.framework;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main application class for the Spring Boot Framework.
  * This class serves as the entry point for the Spring Boot application.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class Application {
 
     /**
@@ -0,0 +1,61 @@
+package com.example.framework.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty server hosting the reactive sample API.
+ * Runs alongside the servlet container on its own port: a handful of event-loop
+ * threads serve every connection, so idle connections cost memory but no threads.
+ * Started and stopped with the application context.
+ */
+public class ReactiveSampleServer implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSampleServer.class);
+    
+    private final HttpHandler httpHandler;
+    private final int port;
+    
+    private volatile DisposableServer server;
+    
+    public ReactiveSampleServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+    
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        logger.info("Reactive sample API started on port {}", server.port());
+    }
+    
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running != null) {
+            running.disposeNow();
+            server = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+    
+    /**
+     * Port the server is bound to, or -1 when it is not running
+     */
+    public int getPort() {
+        DisposableServer running = server;
+        return running != null ? running.port() : -1;
+    }
+}
\ No newline at end of file
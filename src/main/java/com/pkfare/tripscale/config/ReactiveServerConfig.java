@@ -0,0 +1,50 @@
+package com.example.framework.config;
+
+import com.example.framework.controller.ReactiveSampleHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Starts the reactive sample API when {@code sample.reactive.enabled=true}.
+ * The application itself stays a servlet application; the reactive routes are
+ * served by a separate {@link ReactiveSampleServer} and share the same
+ * SampleService backend and Jackson configuration as the servlet API.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sample.reactive", name = "enabled", havingValue = "true")
+public class ReactiveServerConfig {
+    
+    @Bean
+    public ReactiveSampleServer reactiveSampleServer(ReactiveSampleHandler handler, ObjectMapper objectMapper,
+                                                     SampleReactiveProperties properties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveSampleServer(RouterFunctions.toHttpHandler(routes(handler), strategies), properties.getPort());
+    }
+    
+    private static RouterFunction<ServerResponse> routes(ReactiveSampleHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/samples/changes", handler::streamChanges)
+                .GET("/api/samples/events", handler::streamEvents)
+                .GET("/api/samples/count", handler::count)
+                .GET("/api/samples/{id}", handler::getSampleById)
+                .GET("/api/samples", handler::getAllSamples)
+                .POST("/api/samples", handler::createSample)
+                .PUT("/api/samples/{id}", handler::updateSample)
+                .DELETE("/api/samples/{id}", handler::deleteSample)
+                .onError(Throwable.class, handler::handleError)
+                .build();
+    }
+}
\ No newline at end of file
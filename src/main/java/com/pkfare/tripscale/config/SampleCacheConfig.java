@@ -0,0 +1,48 @@
+package com.example.framework.config;
+
+import com.example.framework.service.CachingSampleService;
+import com.example.framework.service.SampleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the selected SampleService backend in a {@link CachingSampleService}
+ * when {@code sample.cache.enabled=true}.
+ * The wrapping happens in a bean post-processor, so everything injecting
+ * SampleService gets the cached instance without knowing about it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sample.cache.enabled", havingValue = "true")
+public class SampleCacheConfig {
+    
+    /**
+     * Static so the post-processor is registered before the beans it wraps.
+     * Its collaborators are resolved lazily for the same reason.
+     * Ordered before the profiling and metrics decorators, so the cache sits inside them.
+     */
+    @Bean
+    public static BeanPostProcessor sampleCachePostProcessor(Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SampleMetricsConfig.OrderedPostProcessor(Ordered.LOWEST_PRECEDENCE - 2) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof SampleService)) {
+                    return bean;
+                }
+                SampleCacheProperties properties = Binder.get(environment)
+                        .bindOrCreate("sample.cache", SampleCacheProperties.class);
+                CachingSampleService cached = new CachingSampleService((SampleService) bean, properties);
+                meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cached.getCache(), "samples"));
+                return cached;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the sample read cache, bound from {@code sample.cache.*}.
+ * The cache sits in front of whichever SampleService backend is selected.
+ */
+@ConfigurationProperties(prefix = "sample.cache")
+public class SampleCacheProperties {
+    
+    /**
+     * Whether lookups by ID go through the cache
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Maximum number of cached IDs, including cached misses
+     */
+    private long maximumSize = 100_000;
+    
+    /**
+     * How long a found sample stays cached after it was loaded
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+    
+    /**
+     * How long a missing ID stays cached after it was looked up
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+    
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+    
+    // Setters
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the sample change log, bound from {@code sample.changes.*}.
+ */
+@ConfigurationProperties(prefix = "sample.changes")
+public class SampleChangeProperties {
+    
+    /**
+     * Number of most recent change events retained for consumers, rounded up to a power of two
+     */
+    private int capacity = 65536;
+    
+    // Getters
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    // Setters
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the runtime diagnostics sampler, bound from {@code sample.diagnostics.*}.
+ */
+@ConfigurationProperties(prefix = "sample.diagnostics")
+public class SampleDiagnosticsProperties {
+    
+    /**
+     * How often the background sampler refreshes the diagnostics and health snapshots
+     */
+    private Duration interval = Duration.ofSeconds(5);
+    
+    /**
+     * Number of stored samples inspected to estimate the footprint of the store
+     */
+    private int footprintSampleSize = 256;
+    
+    /**
+     * Whether safepoint time is tracked, through a JFR stream of safepoint events
+     */
+    private boolean safepoints = true;
+    
+    // Getters
+    public Duration getInterval() {
+        return interval;
+    }
+    
+    public int getFootprintSampleSize() {
+        return footprintSampleSize;
+    }
+    
+    public boolean isSafepoints() {
+        return safepoints;
+    }
+    
+    // Setters
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+    
+    public void setFootprintSampleSize(int footprintSampleSize) {
+        this.footprintSampleSize = footprintSampleSize;
+    }
+    
+    public void setSafepoints(boolean safepoints) {
+        this.safepoints = safepoints;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.example.framework.config;
+
+import com.example.framework.metrics.EndpointMetricsFilter;
+import com.example.framework.service.ForwardingSampleService;
+import com.example.framework.service.MeteredSampleService;
+import com.example.framework.service.OffHeapSampleServiceImpl;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics, enabled unless {@code sample.metrics.enabled=false}:
+ * latency per REST endpoint and status, latency per SampleService operation,
+ * and gauges describing the size of the store. Everything is published through
+ * Micrometer, so /actuator/prometheus serves it as Prometheus text.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sample.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleMetricsConfig {
+    
+    /**
+     * Wraps the SampleService in a {@link MeteredSampleService}.
+     * Applied after every other decorator, so the timers measure what callers see,
+     * including cache hits.
+     */
+    @Bean
+    public static BeanPostProcessor sampleMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OrderedPostProcessor(Ordered.LOWEST_PRECEDENCE) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                MeterRegistry registry = bean instanceof SampleService ? meterRegistry.getIfAvailable() : null;
+                return registry != null ? new MeteredSampleService((SampleService) bean, registry) : bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<EndpointMetricsFilter> endpointMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<EndpointMetricsFilter> registration =
+                new FilterRegistrationBean<>(new EndpointMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Outermost, so the latency includes every other filter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+    
+    @Bean
+    public MeterBinder sampleStoreMetrics(SampleService sampleService, SampleChangeLog changeLog) {
+        return registry -> {
+            Gauge.builder("sample.store.size", sampleService, SampleService::count)
+                    .description("Number of stored samples")
+                    .register(registry);
+            Gauge.builder("sample.store.version", sampleService, SampleService::getStoreVersion)
+                    .description("Number of mutations applied since startup")
+                    .register(registry);
+            Gauge.builder("sample.changes.sequence", changeLog, SampleChangeLog::getLatestSequence)
+                    .description("Sequence number of the latest change event")
+                    .register(registry);
+            
+            SampleService backend = sampleService;
+            while (backend instanceof ForwardingSampleService forwarding) {
+                backend = forwarding.getDelegate();
+            }
+            if (backend instanceof OffHeapSampleServiceImpl offHeap) {
+                Gauge.builder("sample.store.offheap.bytes", offHeap, OffHeapSampleServiceImpl::getLiveBytes)
+                        .description("Direct memory held by the off-heap store")
+                        .tag("state", "live")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("sample.store.offheap.bytes", offHeap, OffHeapSampleServiceImpl::getGarbageBytes)
+                        .description("Direct memory held by the off-heap store")
+                        .tag("state", "garbage")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("sample.store.offheap.bytes", offHeap, OffHeapSampleServiceImpl::getReservedBytes)
+                        .description("Direct memory held by the off-heap store")
+                        .tag("state", "reserved")
+                        .baseUnit("bytes")
+                        .register(registry);
+            }
+        };
+    }
+    
+    /**
+     * Bean post-processor with an explicit position among the SampleService decorators
+     */
+    abstract static class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+        
+        private final int order;
+        
+        OrderedPostProcessor(int order) {
+            this.order = order;
+        }
+        
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
\ No newline at end of file
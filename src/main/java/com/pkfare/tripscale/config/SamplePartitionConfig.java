@@ -0,0 +1,76 @@
+package com.example.framework.config;
+
+import com.example.framework.partition.PartitionClient;
+import com.example.framework.partition.PartitionMap;
+import com.example.framework.partition.PartitionRebalancer;
+import com.example.framework.partition.PartitionRoutingFilter;
+import com.example.framework.service.PartitionedSampleService;
+import com.example.framework.service.SampleService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Partitions samples across a cluster of nodes on a consistent-hash ring, enabled by
+ * {@code sample.partition.enabled=true}. Each node stores the IDs the ring maps to it,
+ * forwards requests for other IDs to their owner, and gathers from every node for the
+ * full listing and the count. Several nodes on one host only need distinct ports, node
+ * IDs and self URLs, e.g. {@code --server.port=8081 --sample.partition.node-id=1
+ * --sample.partition.self-url=http://localhost:8081/api} with the same node list, plus
+ * a distinct {@code sample.reactive.port} on each node that enables the reactive API.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sample.partition", name = "enabled", havingValue = "true")
+public class SamplePartitionConfig {
+    
+    @Bean
+    public PartitionMap partitionMap(SamplePartitionProperties properties) {
+        return new PartitionMap(properties);
+    }
+    
+    /**
+     * Wraps the backend in a {@link PartitionedSampleService}.
+     * Ordered before the cache, so the partition decorator sits directly on the backend
+     * and creates through any outer decorator get cluster-wide IDs.
+     */
+    @Bean
+    public static BeanPostProcessor samplePartitionPostProcessor(ObjectProvider<PartitionMap> partitionMap) {
+        return new SampleMetricsConfig.OrderedPostProcessor(Ordered.LOWEST_PRECEDENCE - 3) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof SampleService
+                        ? new PartitionedSampleService((SampleService) bean, partitionMap.getObject())
+                        : bean;
+            }
+        };
+    }
+    
+    @Bean
+    public PartitionClient partitionClient(PartitionMap partitionMap, SamplePartitionProperties properties,
+                                           MappingJackson2SmileHttpMessageConverter smileConverter) {
+        return new PartitionClient(partitionMap, properties, smileConverter.getObjectMapper());
+    }
+    
+    @Bean
+    public PartitionRebalancer partitionRebalancer(SampleService sampleService, PartitionMap partitionMap,
+                                                   PartitionClient partitionClient,
+                                                   SamplePartitionProperties properties) {
+        return new PartitionRebalancer(sampleService, partitionMap, partitionClient, properties.getTransferBatchSize());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<PartitionRoutingFilter> partitionRoutingFilter(PartitionMap partitionMap,
+                                                                                 PartitionClient partitionClient) {
+        FilterRegistrationBean<PartitionRoutingFilter> registration =
+                new FilterRegistrationBean<>(new PartitionRoutingFilter(partitionMap, partitionClient));
+        registration.addUrlPatterns("/api/*");
+        // Inside the metrics and recording filters, so forwarded requests are measured where they arrive
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for partitioning samples across nodes, bound from {@code sample.partition.*}.
+ * Node URLs are base URLs including the context path, e.g. http://localhost:8080/api, and
+ * must be spelled the same on every node, since the ring is hashed from them.
+ */
+@ConfigurationProperties(prefix = "sample.partition")
+public class SamplePartitionProperties {
+    
+    /**
+     * Whether samples are spread over the nodes of a consistent-hash ring
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Identifier of this node, 0 to 1023 and unique in the cluster; part of every ID the node creates
+     */
+    private int nodeId = 0;
+    
+    /**
+     * URL of this node as it appears in the node list
+     */
+    private String selfUrl;
+    
+    /**
+     * URLs of all nodes of the cluster, this one included
+     */
+    private List<String> nodes = new ArrayList<>();
+    
+    /**
+     * Points per node on the ring; more points even out the share of each node
+     */
+    private int virtualNodes = 128;
+    
+    /**
+     * Timeout for connecting to another node
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    
+    /**
+     * Timeout for a forwarded request or a request gathering from another node
+     */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+    
+    /**
+     * Number of samples sent per request when moving samples to their new owner
+     */
+    private int transferBatchSize = 1000;
+    
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int getNodeId() {
+        return nodeId;
+    }
+    
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+    
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+    
+    public int getTransferBatchSize() {
+        return transferBatchSize;
+    }
+    
+    // Setters
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public void setSelfUrl(String selfUrl) {
+        this.selfUrl = selfUrl;
+    }
+    
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+    
+    public void setTransferBatchSize(int transferBatchSize) {
+        this.transferBatchSize = transferBatchSize;
+    }
+}
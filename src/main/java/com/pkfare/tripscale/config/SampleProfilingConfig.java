@@ -0,0 +1,52 @@
+package com.example.framework.config;
+
+import com.example.framework.metrics.ContinuousRecording;
+import com.example.framework.metrics.RequestEventFilter;
+import com.example.framework.service.RecordedSampleService;
+import com.example.framework.service.SampleService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Continuous JFR profiling, enabled by {@code sample.profiling.enabled=true}:
+ * a flight recording running for the lifetime of the application, JFR events for
+ * every SampleService operation and REST request, and /api/admin/recordings to
+ * dump the recent past to a file.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sample.profiling", name = "enabled", havingValue = "true")
+public class SampleProfilingConfig {
+    
+    @Bean
+    public ContinuousRecording continuousRecording(SampleProfilingProperties properties) {
+        return new ContinuousRecording(properties);
+    }
+    
+    /**
+     * Wraps the SampleService in a {@link RecordedSampleService}.
+     * Ordered between the cache and the metrics decorator, so events show cache hits
+     * and the metrics include the cost of the events.
+     */
+    @Bean
+    public static BeanPostProcessor sampleProfilingPostProcessor() {
+        return new SampleMetricsConfig.OrderedPostProcessor(Ordered.LOWEST_PRECEDENCE - 1) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof SampleService ? new RecordedSampleService((SampleService) bean) : bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RequestEventFilter> requestEventFilter() {
+        FilterRegistrationBean<RequestEventFilter> registration = new FilterRegistrationBean<>(new RequestEventFilter());
+        registration.addUrlPatterns("/api/*");
+        // Just inside the metrics filter, so the event spans every other filter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
\ No newline at end of file
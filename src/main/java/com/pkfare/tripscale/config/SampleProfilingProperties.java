@@ -0,0 +1,105 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for continuous JFR profiling, bound from {@code sample.profiling.*}.
+ */
+@ConfigurationProperties(prefix = "sample.profiling")
+public class SampleProfilingProperties {
+    
+    /**
+     * Whether a continuous flight recording runs while the application is up
+     */
+    private boolean enabled = false;
+    
+    /**
+     * JFR settings for the JDK's own events: "default" (about 1% overhead) or "profile"
+     */
+    private String settings = "default";
+    
+    /**
+     * How far back the recording keeps data
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+    
+    /**
+     * Disk space the recording may use before dropping its oldest data, in bytes
+     */
+    private long maxSize = 268435456;
+    
+    /**
+     * Directory that dumps are written to
+     */
+    private String dumpDirectory = "data/recordings";
+    
+    /**
+     * Minimum duration of a SampleService operation to be recorded
+     */
+    private Duration operationThreshold = Duration.ZERO;
+    
+    /**
+     * Minimum duration of a REST request to be recorded
+     */
+    private Duration requestThreshold = Duration.ZERO;
+    
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public String getSettings() {
+        return settings;
+    }
+    
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+    
+    public long getMaxSize() {
+        return maxSize;
+    }
+    
+    public String getDumpDirectory() {
+        return dumpDirectory;
+    }
+    
+    public Duration getOperationThreshold() {
+        return operationThreshold;
+    }
+    
+    public Duration getRequestThreshold() {
+        return requestThreshold;
+    }
+    
+    // Setters
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+    
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+    
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public void setDumpDirectory(String dumpDirectory) {
+        this.dumpDirectory = dumpDirectory;
+    }
+    
+    public void setOperationThreshold(Duration operationThreshold) {
+        this.operationThreshold = operationThreshold;
+    }
+    
+    public void setRequestThreshold(Duration requestThreshold) {
+        this.requestThreshold = requestThreshold;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for server-side scans of the sample store, bound from {@code sample.query.*}.
+ */
+@ConfigurationProperties(prefix = "sample.query")
+public class SampleQueryProperties {
+    
+    /**
+     * Worker threads of the fork/join pool running scans, 0 for one per available processor
+     */
+    private int parallelism = 0;
+    
+    /**
+     * Maximum number of name-prefix groups one query aggregates and returns; prefixes
+     * met once that many are held are left out and the result is marked truncated
+     */
+    private int maxGroups = 10_000;
+    
+    // Getters
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public int getMaxGroups() {
+        return maxGroups;
+    }
+    
+    // Setters
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+    
+    public void setMaxGroups(int maxGroups) {
+        this.maxGroups = maxGroups;
+    }
+}
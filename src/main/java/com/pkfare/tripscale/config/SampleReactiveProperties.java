@@ -0,0 +1,67 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the reactive sample API, bound from {@code sample.reactive.*}.
+ * The reactive API runs on its own Reactor Netty server next to the servlet container.
+ */
+@ConfigurationProperties(prefix = "sample.reactive")
+public class SampleReactiveProperties {
+    
+    /**
+     * Whether the reactive API is started
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Port of the Netty server; nodes sharing a host each need their own
+     */
+    private int port = 8090;
+    
+    /**
+     * Number of samples read from the store at a time while streaming all samples
+     */
+    private int pageSize = 256;
+    
+    /**
+     * How often the store version is checked for change notifications
+     */
+    private Duration changePollInterval = Duration.ofMillis(100);
+    
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public Duration getChangePollInterval() {
+        return changePollInterval;
+    }
+    
+    // Setters
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void setPort(int port) {
+        this.port = port;
+    }
+    
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+    
+    public void setChangePollInterval(Duration changePollInterval) {
+        this.changePollInterval = changePollInterval;
+    }
+}
\ No newline at end of file
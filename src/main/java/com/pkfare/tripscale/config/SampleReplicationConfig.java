@@ -0,0 +1,57 @@
+package com.example.framework.config;
+
+import com.example.framework.replication.ChangeSequenceFilter;
+import com.example.framework.replication.FollowerRequestFilter;
+import com.example.framework.replication.SampleReplicator;
+import com.example.framework.service.SampleChangeLog;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleSnapshotService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Leader-follower replication, selected by {@code sample.replication.role}.
+ * The leader needs nothing beyond its change feed and snapshot endpoints, plus the
+ * change sequence on write responses; a follower runs a {@link SampleReplicator}
+ * and turns away writes. Several nodes on one host only need distinct ports, e.g.
+ * {@code --server.port=8081 --sample.replication.role=follower
+ * --sample.replication.leader-url=http://localhost:8080/api}, plus a distinct
+ * {@code sample.reactive.port} on each node that enables the reactive API.
+ */
+@Configuration
+public class SampleReplicationConfig {
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "sample.replication", name = "role", havingValue = "leader")
+    public FilterRegistrationBean<ChangeSequenceFilter> changeSequenceFilter(SampleChangeLog changeLog) {
+        FilterRegistrationBean<ChangeSequenceFilter> registration =
+                new FilterRegistrationBean<>(new ChangeSequenceFilter(changeLog));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+    
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "sample.replication", name = "role", havingValue = "follower")
+    public SampleReplicator sampleReplicator(SampleService sampleService, SampleSnapshotService snapshotService,
+                                             SampleReplicationProperties properties,
+                                             MappingJackson2SmileHttpMessageConverter smileConverter) {
+        return new SampleReplicator(sampleService, snapshotService, properties, smileConverter.getObjectMapper());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "sample.replication", name = "role", havingValue = "follower")
+    public FilterRegistrationBean<FollowerRequestFilter> followerRequestFilter(SampleReplicator replicator,
+                                                                               SampleReplicationProperties properties) {
+        FilterRegistrationBean<FollowerRequestFilter> registration =
+                new FilterRegistrationBean<>(new FollowerRequestFilter(replicator, properties));
+        registration.addUrlPatterns("/api/*");
+        // Inside the metrics and recording filters, so redirected and waiting requests are measured
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
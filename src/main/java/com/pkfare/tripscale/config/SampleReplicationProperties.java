@@ -0,0 +1,106 @@
+package com.example.framework.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for leader-follower replication, bound from {@code sample.replication.*}.
+ * The leader takes every write; followers copy its store and serve reads.
+ */
+@ConfigurationProperties(prefix = "sample.replication")
+public class SampleReplicationProperties {
+    
+    /**
+     * Role of this node: "none" (default, standalone), "leader" or "follower"
+     */
+    private String role = "none";
+    
+    /**
+     * Base URL of the leader including its context path, e.g. http://localhost:8080/api (followers only)
+     */
+    private String leaderUrl;
+    
+    /**
+     * Maximum number of change events fetched per request to the leader, at most 1000
+     */
+    private int batchSize = 1000;
+    
+    /**
+     * How long the leader holds a request for change events when there are none
+     */
+    private Duration pollWait = Duration.ofSeconds(30);
+    
+    /**
+     * Pause before contacting the leader again after a failed request
+     */
+    private Duration retryInterval = Duration.ofSeconds(1);
+    
+    /**
+     * Timeout for connecting to the leader
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    
+    /**
+     * How long a read carrying X-Min-Change-Sequence waits for the follower to catch up
+     */
+    private Duration catchUpTimeout = Duration.ofSeconds(2);
+    
+    // Getters
+    public String getRole() {
+        return role;
+    }
+    
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public Duration getPollWait() {
+        return pollWait;
+    }
+    
+    public Duration getRetryInterval() {
+        return retryInterval;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public Duration getCatchUpTimeout() {
+        return catchUpTimeout;
+    }
+    
+    // Setters
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public void setLeaderUrl(String leaderUrl) {
+        this.leaderUrl = leaderUrl;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public void setPollWait(Duration pollWait) {
+        this.pollWait = pollWait;
+    }
+    
+    public void setRetryInterval(Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public void setCatchUpTimeout(Duration catchUpTimeout) {
+        this.catchUpTimeout = catchUpTimeout;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.framework.config;
+
+import com.example.framework.store.FsyncPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the sample store, bound from {@code sample.store.*}.
+ * Selects the SampleService backend and holds backend-specific tuning.
+ */
+@ConfigurationProperties(prefix = "sample.store")
+public class SampleStoreProperties {
+    
+    /**
+     * Backend implementation: "memory" (default), "offheap" or "sharded"
+     */
+    private String type = "memory";
+    
+    /**
+     * Journal making the "memory" backend durable: "none" (default), "mapped" or "wal"
+     */
+    private String journal = "none";
+    
+    private final OffHeap offHeap = new OffHeap();
+    
+    private final Sharded sharded = new Sharded();
+    
+    private final Mapped mapped = new Mapped();
+    
+    private final Wal wal = new Wal();
+    
+    // Getters
+    public String getType() {
+        return type;
+    }
+    
+    public String getJournal() {
+        return journal;
+    }
+    
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+    
+    public Sharded getSharded() {
+        return sharded;
+    }
+    
+    public Mapped getMapped() {
+        return mapped;
+    }
+    
+    public Wal getWal() {
+        return wal;
+    }
+    
+    // Setters
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public void setJournal(String journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Settings of the off-heap store
+     */
+    public static class OffHeap {
+        
+        /**
+         * Size in bytes of each direct memory slab
+         */
+        private int slabSize = 64 * 1024 * 1024;
+        
+        /**
+         * Number of samples the index is sized for up front
+         */
+        private int initialCapacity = 1024;
+        
+        // Getters
+        public int getSlabSize() {
+            return slabSize;
+        }
+        
+        public int getInitialCapacity() {
+            return initialCapacity;
+        }
+        
+        // Setters
+        public void setSlabSize(int slabSize) {
+            this.slabSize = slabSize;
+        }
+        
+        public void setInitialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+        }
+    }
+    
+    /**
+     * Settings of the sharded in-memory store
+     */
+    public static class Sharded {
+        
+        /**
+         * Number of shards, rounded up to a power of two; 0 for one per available processor
+         */
+        private int shards = 0;
+        
+        /**
+         * Number of samples each shard's map is sized for up front
+         */
+        private int initialCapacity = 1024;
+        
+        // Getters
+        public int getShards() {
+            return shards;
+        }
+        
+        public int getInitialCapacity() {
+            return initialCapacity;
+        }
+        
+        // Setters
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+        
+        public void setInitialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+        }
+    }
+    
+    /**
+     * Settings of the memory-mapped journal
+     */
+    public static class Mapped {
+        
+        /**
+         * Directory holding log segments and snapshots
+         */
+        private String directory = "data/samples";
+        
+        /**
+         * Size in bytes of each memory-mapped log segment
+         */
+        private int segmentSize = 64 * 1024 * 1024;
+        
+        /**
+         * When log writes are forced to disk
+         */
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+        
+        /**
+         * Period of background forcing under the INTERVAL policy
+         */
+        private Duration fsyncInterval = Duration.ofMillis(50);
+        
+        /**
+         * Log bytes written since the last snapshot that trigger a new one
+         */
+        private long snapshotThreshold = 256L * 1024 * 1024;
+        
+        // Getters
+        public String getDirectory() {
+            return directory;
+        }
+        
+        public int getSegmentSize() {
+            return segmentSize;
+        }
+        
+        public FsyncPolicy getFsyncPolicy() {
+            return fsyncPolicy;
+        }
+        
+        public Duration getFsyncInterval() {
+            return fsyncInterval;
+        }
+        
+        public long getSnapshotThreshold() {
+            return snapshotThreshold;
+        }
+        
+        // Setters
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+        
+        public void setSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+        
+        public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = fsyncPolicy;
+        }
+        
+        public void setFsyncInterval(Duration fsyncInterval) {
+            this.fsyncInterval = fsyncInterval;
+        }
+        
+        public void setSnapshotThreshold(long snapshotThreshold) {
+            this.snapshotThreshold = snapshotThreshold;
+        }
+    }
+    
+    /**
+     * Settings of the group-commit write-ahead log
+     */
+    public static class Wal {
+        
+        /**
+         * Directory holding the log files and snapshots
+         */
+        private String directory = "data/wal";
+        
+        /**
+         * Log bytes written since the last checkpoint that trigger a new one
+         */
+        private long checkpointThreshold = 256L * 1024 * 1024;
+        
+        // Getters
+        public String getDirectory() {
+            return directory;
+        }
+        
+        public long getCheckpointThreshold() {
+            return checkpointThreshold;
+        }
+        
+        // Setters
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+        
+        public void setCheckpointThreshold(long checkpointThreshold) {
+            this.checkpointThreshold = checkpointThreshold;
+        }
+    }
+}
\ No newline at end of file
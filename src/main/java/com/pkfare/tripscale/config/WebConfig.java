@@ -1,16 +1,28 @@
 package com.example.framework.config;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web configuration class for Spring Boot framework.
- * Configures CORS settings and other web-specific configurations.
+ * Configures CORS settings, the binary wire formats and other web-specific configurations.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     /**
      * Configure CORS settings for cross-origin requests.
      * Allows requests from different origins to access the API endpoints.
@@ -24,4 +36,32 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
-}
\ No newline at end of file
+
+    /**
+     * Smile bodies for clients sending or accepting application/x-jackson-smile.
+     * Spring Boot puts converter beans in place of the default converter of the same
+     * type, after JSON, so JSON stays the format for clients that accept anything.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    /**
+     * CBOR bodies for clients sending or accepting application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    /**
+     * Same modules and features as the JSON mapper, except that dates go out as
+     * arrays of small integers instead of ISO strings; both forms are read.
+     */
+    private static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -1,43 +1,49 @@
 package com.example.framework.controller;
 
+import com.example.framework.metrics.RuntimeDiagnosticsSampler;
+import com.example.framework.model.RuntimeDiagnostics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Health and diagnostics endpoints.
+ * Both serve the latest snapshot of the background {@link RuntimeDiagnosticsSampler},
+ * so frequent probing costs a field read and the serialization of the response.
+ */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
-
+    
+    private final RuntimeDiagnosticsSampler sampler;
+    
+    @Autowired
+    public HealthController(RuntimeDiagnosticsSampler sampler) {
+        this.sampler = sampler;
+    }
+    
+    /**
+     * GET /api/health - Liveness and basic system information
+     * The timestamp is the time of the latest sample, at most one sampling interval old.
+     *
+     * @return Health document
+     */
     @GetMapping("/health")
     public Map<String, Object> health() {
-        Map<String, Object> healthInfo = new HashMap<>();
-        
-        // Basic health status
-        healthInfo.put("status", "UP");
-        healthInfo.put("timestamp", LocalDateTime.now());
-        
-        // Basic system information
-        Map<String, Object> systemInfo = new HashMap<>();
-        systemInfo.put("javaVersion", System.getProperty("java.version"));
-        systemInfo.put("osName", System.getProperty("os.name"));
-        systemInfo.put("osVersion", System.getProperty("os.version"));
-        systemInfo.put("availableProcessors", Runtime.getRuntime().availableProcessors());
-        systemInfo.put("maxMemory", Runtime.getRuntime().maxMemory());
-        systemInfo.put("freeMemory", Runtime.getRuntime().freeMemory());
-        
-        healthInfo.put("system", systemInfo);
-        
-        // Application information
-        Map<String, Object> appInfo = new HashMap<>();
-        appInfo.put("name", "spring-boot-framework");
-        appInfo.put("version", "1.0.0");
-        
-        healthInfo.put("application", appInfo);
-        
-        return healthInfo;
+        return sampler.getHealth();
+    }
+    
+    /**
+     * GET /api/diagnostics - GC pauses, allocation rate, safepoint time, request pool
+     * saturation, buffer pools and store footprint
+     *
+     * @return Latest diagnostics snapshot
+     */
+    @GetMapping("/diagnostics")
+    public RuntimeDiagnostics diagnostics() {
+        return sampler.getDiagnostics();
     }
 }
\ No newline at end of file
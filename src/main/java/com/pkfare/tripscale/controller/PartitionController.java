@@ -0,0 +1,96 @@
+package com.example.framework.controller;
+
+import com.example.framework.exception.ValidationException;
+import com.example.framework.model.PartitionStatus;
+import com.example.framework.model.SampleModel;
+import com.example.framework.partition.PartitionMap;
+import com.example.framework.partition.PartitionRebalancer;
+import com.example.framework.service.SampleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membership and partition transfer of a partitioned cluster.
+ */
+@RestController
+@RequestMapping("/api/admin/partitions")
+@ConditionalOnProperty(prefix = "sample.partition", name = "enabled", havingValue = "true")
+public class PartitionController {
+    
+    private final PartitionMap partitions;
+    private final PartitionRebalancer rebalancer;
+    private final SampleService sampleService;
+    
+    @Autowired
+    public PartitionController(PartitionMap partitions, PartitionRebalancer rebalancer, SampleService sampleService) {
+        this.partitions = partitions;
+        this.rebalancer = rebalancer;
+        this.sampleService = sampleService;
+    }
+    
+    /**
+     * GET /api/admin/partitions - This node's view of the cluster and the size of its partition
+     * 
+     * @return PartitionStatus of this node
+     */
+    @GetMapping
+    public ResponseEntity<PartitionStatus> getStatus() {
+        return ResponseEntity.ok(status(null));
+    }
+    
+    /**
+     * PUT /api/admin/partitions - Change the cluster's node list on this node
+     * Samples whose IDs the new ring maps to other nodes are moved there before the call returns.
+     * 
+     * @param nodes URLs of all nodes of the cluster, this one included
+     * @return PartitionStatus with the number of samples moved to each node
+     * @throws ValidationException if the list is empty or leaves out this node
+     * @throws IOException if a new owner is unreachable; repeat the call to move the rest
+     */
+    @PutMapping
+    public ResponseEntity<PartitionStatus> changeNodes(@RequestBody List<String> nodes) throws IOException {
+        if (nodes == null || nodes.isEmpty()) {
+            throw new ValidationException("nodes", "Node list cannot be empty");
+        }
+        Map<String, Long> moved;
+        try {
+            moved = rebalancer.rebalance(nodes);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("nodes", e.getMessage());
+        }
+        return ResponseEntity.ok(status(moved));
+    }
+    
+    /**
+     * POST /api/admin/partitions/samples - Receive samples moved here by another node
+     * Samples are stored exactly as sent, keeping their IDs, versions and timestamps.
+     * 
+     * @param samples The SampleModels to store, each with an ID
+     * @return 204 No Content
+     * @throws ValidationException if a sample has no ID
+     */
+    @PostMapping("/samples")
+    public ResponseEntity<Void> receiveSamples(@RequestBody List<SampleModel> samples) {
+        if (samples.stream().anyMatch(sample -> sample == null || sample.getId() == null || sample.getId() <= 0)) {
+            throw new ValidationException("id", "Moved samples must have a positive ID");
+        }
+        sampleService.restoreSamples(samples, 1);
+        return ResponseEntity.noContent().build();
+    }
+    
+    private PartitionStatus status(Map<String, Long> moved) {
+        return new PartitionStatus(partitions.getSelfUrl(), partitions.getNodeId(), partitions.getNodes(),
+                sampleService.count(), moved);
+    }
+}
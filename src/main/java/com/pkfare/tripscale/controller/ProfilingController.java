@@ -0,0 +1,52 @@
+package com.example.framework.controller;
+
+import com.example.framework.config.SampleProfilingProperties;
+import com.example.framework.exception.ValidationException;
+import com.example.framework.metrics.ContinuousRecording;
+import com.example.framework.model.RecordingDump;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Administration of the continuous flight recording.
+ * Only present while profiling is enabled.
+ */
+@RestController
+@RequestMapping("/api/admin/recordings")
+@ConditionalOnProperty(prefix = "sample.profiling", name = "enabled", havingValue = "true")
+public class ProfilingController {
+    
+    private final ContinuousRecording recording;
+    private final Duration maxAge;
+    
+    @Autowired
+    public ProfilingController(ContinuousRecording recording, SampleProfilingProperties properties) {
+        this.recording = recording;
+        this.maxAge = properties.getMaxAge();
+    }
+    
+    /**
+     * POST /api/admin/recordings?last={duration} - Dump the recent past of the recording to a file
+     * The file is written on the server, in the configured dump directory; open it
+     * with JDK Mission Control or {@code jfr print}.
+     *
+     * @param last How far back to dump as an ISO-8601 duration (at most the recording's max-age, default PT5M)
+     * @return Location, time range and size of the written file
+     * @throws ValidationException if the duration is not positive or exceeds max-age
+     * @throws IOException if the file cannot be written
+     */
+    @PostMapping
+    public RecordingDump dump(@RequestParam(defaultValue = "PT5M") Duration last) throws IOException {
+        if (last.isNegative() || last.isZero() || last.compareTo(maxAge) > 0) {
+            throw new ValidationException("last", "Duration must be positive and at most " + maxAge);
+        }
+        return recording.dump(last);
+    }
+}
\ No newline at end of file
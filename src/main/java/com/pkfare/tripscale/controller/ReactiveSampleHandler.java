@@ -0,0 +1,287 @@
+package com.example.framework.controller;
+
+import com.example.framework.exception.BusinessException;
+import com.example.framework.exception.ResourceNotFoundException;
+import com.example.framework.exception.ValidationException;
+import com.example.framework.exception.VersionConflictException;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.ErrorResponse;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.StoreChange;
+import com.example.framework.service.ReactiveSampleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Handler functions of the reactive sample API.
+ * Mirrors the core CRUD operations of {@link SampleController} on top of
+ * {@link ReactiveSampleService}, and adds server-sent event streams of store changes.
+ * Errors are rendered as the same ErrorResponse bodies the servlet API returns.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sample.reactive", name = "enabled", havingValue = "true")
+public class ReactiveSampleHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSampleHandler.class);
+    
+    // Comment lines keep idle event streams alive through proxies that drop silent connections
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    
+    private static final String RESYNC_EVENT = "RESYNC_REQUIRED";
+    
+    private final ReactiveSampleService sampleService;
+    
+    @Autowired
+    public ReactiveSampleHandler(ReactiveSampleService sampleService) {
+        this.sampleService = sampleService;
+    }
+    
+    /**
+     * GET /api/samples - Stream all sample data
+     * Samples are read from the store only as fast as the client consumes them.
+     * With Accept: application/x-ndjson every sample is written as its own line
+     * and flushed at once; otherwise the response is a single JSON array.
+     * 
+     * @return Streamed SampleModel entities
+     */
+    public Mono<ServerResponse> getAllSamples(ServerRequest request) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(sampleService.getAllSamples(), SampleModel.class);
+    }
+    
+    /**
+     * GET /api/samples/count - Count the stored samples
+     * 
+     * @return The number of samples stored
+     */
+    public Mono<ServerResponse> count(ServerRequest request) {
+        return sampleService.count()
+                .flatMap(count -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(count));
+    }
+    
+    /**
+     * GET /api/samples/{id} - Retrieve a specific sample by ID
+     * 
+     * @return The SampleModel entity if found
+     * @throws ResourceNotFoundException if sample with given ID is not found
+     */
+    public Mono<ServerResponse> getSampleById(ServerRequest request) {
+        return parseId(request).flatMap(id -> sampleService.getSampleById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Sample", id.toString())))
+                .flatMap(sample -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(sample)));
+    }
+    
+    /**
+     * POST /api/samples - Create new sample data
+     * 
+     * @return The created SampleModel with generated ID
+     * @throws ValidationException if sample data is invalid
+     */
+    public Mono<ServerResponse> createSample(ServerRequest request) {
+        return readSample(request)
+                .flatMap(sampleService::createSample)
+                .flatMap(created -> ServerResponse.status(HttpStatus.CREATED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(created));
+    }
+    
+    /**
+     * PUT /api/samples/{id} - Update existing sample data
+     * 
+     * @return The updated SampleModel
+     * @throws ResourceNotFoundException if sample with given ID is not found
+     * @throws ValidationException if sample data is invalid
+     */
+    public Mono<ServerResponse> updateSample(ServerRequest request) {
+        return parseId(request).flatMap(id -> readSample(request)
+                .flatMap(sample -> sampleService.updateSample(id, sample))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Sample", id.toString())))
+                .flatMap(updated -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(updated)));
+    }
+    
+    /**
+     * DELETE /api/samples/{id} - Remove sample data
+     * 
+     * @return 204 No Content if deleted successfully
+     * @throws ResourceNotFoundException if sample with given ID is not found
+     */
+    public Mono<ServerResponse> deleteSample(ServerRequest request) {
+        return parseId(request).flatMap(id -> sampleService.deleteSample(id)
+                .flatMap(deleted -> deleted
+                        ? ServerResponse.noContent().build()
+                        : Mono.error(new ResourceNotFoundException("Sample", id.toString()))));
+    }
+    
+    /**
+     * GET /api/samples/changes - Server-sent events announcing store changes
+     * The first event carries the current store version; each later one the
+     * version reached after one or more mutations. The event ID is the store version.
+     * 
+     * @return Endless text/event-stream of "change" events
+     */
+    public Mono<ServerResponse> streamChanges(ServerRequest request) {
+        Flux<ServerSentEvent<StoreChange>> changes = sampleService.changes()
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(Long.toString(change.getVersion()))
+                        .event("change")
+                        .build());
+        Flux<ServerSentEvent<StoreChange>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<StoreChange>builder().comment("heartbeat").build());
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(changes, heartbeats), ServerSentEvent.class);
+    }
+    
+    /**
+     * GET /api/samples/events?after={sequence} - Server-sent events from the change log
+     * Each event carries one SampleChangeEvent; the SSE event name is its type and
+     * the SSE event ID its sequence, so a reconnecting EventSource resumes through
+     * Last-Event-ID, which takes precedence over 'after'. A consumer that fell too
+     * far behind receives a final RESYNC_REQUIRED event holding the latest sequence,
+     * and should reload GET /api/samples before resuming after it.
+     * 
+     * @return text/event-stream of change events
+     * @throws ValidationException if the sequence is not a non-negative number
+     */
+    public Mono<ServerResponse> streamEvents(ServerRequest request) {
+        String lastEventId = request.headers().firstHeader("Last-Event-ID");
+        String after = lastEventId != null ? lastEventId : request.queryParam("after").orElse(null);
+        return parseSequence(after).map(afterSequence -> {
+            Flux<ServerSentEvent<Object>> events = sampleService.changeEvents(afterSequence.orElse(null))
+                    .concatMapIterable(ReactiveSampleHandler::toServerSentEvents);
+            Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                    .onBackpressureDrop()
+                    .map(tick -> ServerSentEvent.builder().comment("heartbeat").build());
+            return Flux.merge(events, heartbeats)
+                    .takeUntil(event -> RESYNC_EVENT.equals(event.event()));
+        }).flatMap(events -> ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, ServerSentEvent.class));
+    }
+    
+    /**
+     * Render a failed request as an ErrorResponse
+     * Uses the same status codes and error codes as GlobalExceptionHandler.
+     */
+    public Mono<ServerResponse> handleError(Throwable ex, ServerRequest request) {
+        HttpStatus status;
+        String errorCode;
+        String message = ex.getMessage();
+        if (ex instanceof ResourceNotFoundException notFound) {
+            logger.warn("Resource not found: {}", message);
+            status = HttpStatus.NOT_FOUND;
+            errorCode = notFound.getErrorCode();
+        } else if (ex instanceof ValidationException invalid) {
+            logger.warn("Validation error: {}", message);
+            status = HttpStatus.BAD_REQUEST;
+            errorCode = invalid.getErrorCode();
+        } else if (ex instanceof VersionConflictException conflict) {
+            logger.warn("Version conflict: {}", message);
+            status = HttpStatus.CONFLICT;
+            errorCode = conflict.getErrorCode();
+        } else if (ex instanceof BusinessException business) {
+            logger.warn("Business exception: {}", message);
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            errorCode = business.getErrorCode();
+        } else if (ex instanceof ResponseStatusException responseStatus
+                && responseStatus.getStatusCode().is4xxClientError()) {
+            // Unreadable request bodies and the like
+            logger.warn("Bad request: {}", message);
+            status = HttpStatus.valueOf(responseStatus.getStatusCode().value());
+            errorCode = status.name();
+            message = responseStatus.getReason();
+        } else {
+            logger.error("Unexpected error occurred: {}", message, ex);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            errorCode = "INTERNAL_SERVER_ERROR";
+            message = "An unexpected error occurred. Please try again later.";
+        }
+        
+        ErrorResponse errorResponse = new ErrorResponse(message, errorCode, status.value(), request.path());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(errorResponse);
+    }
+    
+    /**
+     * Read and validate the SampleModel in the request body
+     */
+    private static Mono<SampleModel> readSample(ServerRequest request) {
+        return request.bodyToMono(SampleModel.class)
+                .switchIfEmpty(Mono.error(() -> new ValidationException("Request body is required")))
+                .handle((sample, sink) -> {
+                    // Basic validation
+                    if (sample.getName() == null || sample.getName().trim().isEmpty()) {
+                        sink.error(new ValidationException("name", "Name cannot be null or empty"));
+                    } else {
+                        sink.next(sample);
+                    }
+                });
+    }
+    
+    private static List<ServerSentEvent<Object>> toServerSentEvents(ChangeBatch batch) {
+        if (batch.isResyncRequired()) {
+            return List.of(ServerSentEvent.builder()
+                    .event(RESYNC_EVENT)
+                    .data(batch)
+                    .build());
+        }
+        List<ServerSentEvent<Object>> events = new ArrayList<>(batch.getEvents().size());
+        for (SampleChangeEvent event : batch.getEvents()) {
+            events.add(ServerSentEvent.builder()
+                    .id(Long.toString(event.getSequence()))
+                    .event(event.getType().name())
+                    .data(event)
+                    .build());
+        }
+        return events;
+    }
+    
+    /**
+     * Parse an optional sequence number, failing the returned Mono if it is invalid
+     */
+    private static Mono<Optional<Long>> parseSequence(String value) {
+        if (value == null || value.isEmpty()) {
+            return Mono.just(Optional.empty());
+        }
+        try {
+            long sequence = Long.parseLong(value);
+            if (sequence >= 0) {
+                return Mono.just(Optional.of(sequence));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        return Mono.error(new ValidationException("after", "Sequence must be a non-negative number"));
+    }
+    
+    /**
+     * Parse the ID path variable, failing the returned Mono rather than the caller
+     * so the error reaches handleError
+     */
+    private static Mono<Long> parseId(ServerRequest request) {
+        try {
+            return Mono.just(Long.valueOf(request.pathVariable("id")));
+        } catch (NumberFormatException e) {
+            return Mono.error(new ValidationException("id", "ID must be a number"));
+        }
+    }
+}
\ No newline at end of file
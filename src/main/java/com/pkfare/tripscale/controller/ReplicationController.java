@@ -0,0 +1,51 @@
+package com.example.framework.controller;
+
+import com.example.framework.config.SampleReplicationProperties;
+import com.example.framework.model.ReplicationStatus;
+import com.example.framework.replication.SampleReplicator;
+import com.example.framework.service.SampleChangeLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Replication status of this node, for checking how far followers trail the leader.
+ */
+@RestController
+@RequestMapping("/api/admin/replication")
+public class ReplicationController {
+    
+    private final SampleReplicationProperties properties;
+    private final SampleChangeLog changeLog;
+    private final SampleReplicator replicator;
+    
+    @Autowired
+    public ReplicationController(SampleReplicationProperties properties, SampleChangeLog changeLog,
+                                 ObjectProvider<SampleReplicator> replicator) {
+        this.properties = properties;
+        this.changeLog = changeLog;
+        this.replicator = replicator.getIfAvailable();
+    }
+    
+    /**
+     * GET /api/admin/replication - Role, progress and lag of this node
+     * A leader or standalone node reports its own change sequence with no lag.
+     * 
+     * @return ReplicationStatus of this node
+     */
+    @GetMapping
+    public ResponseEntity<ReplicationStatus> getStatus() {
+        if (replicator == null) {
+            long sequence = changeLog.getLatestSequence();
+            String state = "leader".equals(properties.getRole()) ? "LEADING" : "STANDALONE";
+            return ResponseEntity.ok(new ReplicationStatus(properties.getRole(), state, null, sequence, sequence, 0, null));
+        }
+        long applied = replicator.getAppliedSequence();
+        long leader = replicator.getLeaderSequence();
+        return ResponseEntity.ok(new ReplicationStatus(properties.getRole(), replicator.getState().name(),
+                replicator.getLeaderUrl(), applied, leader, Math.max(0, leader - applied), replicator.getLastContact()));
+    }
+}
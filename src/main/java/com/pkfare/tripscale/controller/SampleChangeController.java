@@ -0,0 +1,75 @@
+package com.example.framework.controller;
+
+import com.example.framework.exception.ValidationException;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.service.SampleChangeLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+/**
+ * Change-data-capture feed of sample mutations.
+ * Consumers long-poll for the events after the last sequence they processed,
+ * instead of re-reading the whole collection to find out what changed.
+ */
+@RestController
+@RequestMapping("/api/samples/events")
+public class SampleChangeController {
+    
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+    
+    private final SampleChangeLog changeLog;
+    
+    @Autowired
+    public SampleChangeController(SampleChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+    
+    /**
+     * GET /api/samples/events?after={sequence}&amp;limit={limit}&amp;wait={duration} - Long-poll for change events
+     * Answers at once when events after the given sequence are available; otherwise
+     * holds the request without a thread until one is published or the wait expires,
+     * then answers with whatever arrived (possibly nothing).
+     * Continue with the returned cursor as 'after'. If resyncRequired is set, the
+     * consumer fell too far behind: reload GET /api/samples and resume after latestSequence.
+     * 
+     * @param after Sequence of the last event processed (omit to start from now)
+     * @param limit Maximum number of events to return (1 to 1000, default 100)
+     * @param wait How long to wait for events as an ISO-8601 duration (at most PT60S, default PT30S)
+     * @return ChangeBatch with the events, the cursor to continue from and the resync flag
+     * @throws ValidationException if a parameter is out of range
+     */
+    @GetMapping
+    public DeferredResult<ChangeBatch> pollEvents(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_BATCH_SIZE) int limit,
+                                                  @RequestParam(defaultValue = "PT30S") Duration wait) {
+        if (limit < 1 || limit > MAX_BATCH_SIZE) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (after != null && after < 0) {
+            throw new ValidationException("after", "Sequence cannot be negative");
+        }
+        if (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0) {
+            throw new ValidationException("wait", "Wait must be between PT0S and " + MAX_WAIT);
+        }
+        
+        long cursor = after != null ? after : changeLog.getLatestSequence();
+        ChangeBatch batch = changeLog.read(cursor, limit);
+        if (!batch.getEvents().isEmpty() || batch.isResyncRequired() || wait.isZero()) {
+            DeferredResult<ChangeBatch> result = new DeferredResult<>();
+            result.setResult(batch);
+            return result;
+        }
+        
+        DeferredResult<ChangeBatch> result = new DeferredResult<>(wait.toMillis(), () -> changeLog.read(cursor, limit));
+        changeLog.awaitAfter(cursor).thenRun(() -> result.setResult(changeLog.read(cursor, limit)));
+        return result;
+    }
+}
\ No newline at end of file
@@ -1,16 +1,57 @@
 package com.example.framework.controller;
 
+import com.example.framework.config.WebConfig;
 import com.example.framework.exception.ResourceNotFoundException;
 import com.example.framework.exception.ValidationException;
+import com.example.framework.exception.VersionConflictException;
+import com.example.framework.model.BatchItemResult;
+import com.example.framework.model.BatchResult;
+import com.example.framework.model.ImportSummary;
 import com.example.framework.model.SampleModel;
+import com.example.framework.model.SamplePage;
+import com.example.framework.model.TimeBucket;
+import com.example.framework.partition.PartitionClient;
+import com.example.framework.service.SampleImportService;
 import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleTimeIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Sample REST controller demonstrating basic CRUD operations
@@ -20,36 +61,274 @@ import java.util.Optional;
 @RequestMapping("/api/samples")
 public class SampleController {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final int DEFAULT_SEARCH_LIMIT = 100;
+    private static final int MAX_HISTOGRAM_BUCKETS = 10000;
+    
+    // Matches the ETags produced by eTagOf: "<version>-<createdAt epoch millis>-<format>"
+    private static final Pattern SAMPLE_ETAG = Pattern.compile("\"(\\d{1,18})-(-?\\d{1,18})(?:-[a-z]{1,8})?\"");
+    
+    // ETag suffix per representation, so a cache never pairs one format's validator with another's body
+    private static final Map<MediaType, String> ETAG_SUFFIXES = Map.of(
+            MediaType.APPLICATION_JSON, "json",
+            WebConfig.APPLICATION_SMILE, "smile",
+            MediaType.APPLICATION_CBOR, "cbor");
+    
+    private static final String INVALID_NAME_MESSAGE = "Validation failed for field 'name': Name cannot be null or empty";
+    
+    // Distinguishes store versions of this process from those of an earlier run
+    private static final String STORE_EPOCH = Long.toHexString(System.currentTimeMillis());
+    
     private final SampleService sampleService;
+    private final SampleImportService sampleImportService;
+    
+    // Gathers from the other nodes of a partitioned cluster; null when not partitioned
+    private final PartitionClient partitionClient;
+    
+    // Writers used for streamed arrays by media type, JSON first; flushing after every element would defeat buffering
+    private final Map<MediaType, ObjectWriter> streamingWriters = new LinkedHashMap<>();
     
     @Autowired
-    public SampleController(SampleService sampleService) {
+    public SampleController(SampleService sampleService, SampleImportService sampleImportService,
+                            ObjectMapper objectMapper,
+                            MappingJackson2SmileHttpMessageConverter smileConverter,
+                            MappingJackson2CborHttpMessageConverter cborConverter,
+                            ObjectProvider<PartitionClient> partitionClient) {
         this.sampleService = sampleService;
+        this.sampleImportService = sampleImportService;
+        this.partitionClient = partitionClient.getIfAvailable();
+        streamingWriters.put(MediaType.APPLICATION_JSON, streamingWriter(objectMapper));
+        streamingWriters.put(WebConfig.APPLICATION_SMILE, streamingWriter(smileConverter.getObjectMapper()));
+        streamingWriters.put(MediaType.APPLICATION_CBOR, streamingWriter(cborConverter.getObjectMapper()));
     }
     
     /**
      * GET /api/samples - Retrieve all sample data
+     * The array is streamed to the response element by element,
+     * so memory use does not grow with the size of the store.
+     * It is written as Smile or CBOR when the Accept header prefers one, JSON otherwise;
+     * the response varies by Accept and its ETag names the format.
+     * Honours If-None-Match and If-Modified-Since against the store version,
+     * answering 304 without reading the store when nothing changed.
+     * In a partitioned cluster the local partition is followed by those of the other
+     * nodes, streamed one after the other; the local store version cannot vouch for
+     * them, so the response is then not conditional.
      * 
-     * @return List of all SampleModel entities
+     * @return Streamed array of all SampleModel entities
      */
     @GetMapping
-    public ResponseEntity<List<SampleModel>> getAllSamples() {
-        List<SampleModel> samples = sampleService.getAllSamples();
+    public ResponseEntity<StreamingResponseBody> getAllSamples(WebRequest request, HttpServletResponse response,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                               @RequestHeader(value = PartitionClient.LOCAL_HEADER, required = false) String localOnly) {
+        boolean gather = partitionClient != null && localOnly == null;
+        Map.Entry<MediaType, ObjectWriter> format = streamingFormatFor(accept);
+        // Also on a 304, which must name the same variant as the 200 it stands for
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Sample the version before the data, so the ETag can only understate the content
+        String eTag = "\"" + STORE_EPOCH + "-" + sampleService.getStoreVersion() + "-" + ETAG_SUFFIXES.get(format.getKey()) + "\"";
+        if (!gather && request.checkNotModified(eTag, toEpochMillis(sampleService.getLastModified()))) {
+            return null;
+        }
+        
+        ObjectWriter streamingWriter = format.getValue();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = streamingWriter.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Consumer<SampleModel> write = sample -> {
+                    try {
+                        streamingWriter.writeValue(generator, sample);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                try {
+                    sampleService.forEachSample(write);
+                    if (gather) {
+                        partitionClient.forEachRemoteSample(write);
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(format.getKey()).body(body);
+    }
+    
+    /**
+     * GET /api/samples?limit={limit}&amp;cursor={cursor} - Retrieve one page of sample data
+     * Pages are ordered by ID; pass the returned nextCursor to fetch the following page.
+     * 
+     * @param limit Maximum number of samples to return (1 to 1000)
+     * @param cursor ID of the last sample of the previous page (omit for the first page)
+     * @return SamplePage with the requested samples and the cursor of the next page
+     * @throws ValidationException if limit is out of range
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<SamplePage> getSamplePage(@RequestParam int limit,
+                                                    @RequestParam(required = false) Long cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Fetch one extra entity to find out whether another page exists
+        List<SampleModel> samples = sampleService.getSamplesAfter(cursor, limit + 1);
+        boolean hasMore = samples.size() > limit;
+        if (hasMore) {
+            samples = samples.subList(0, limit);
+        }
+        Long nextCursor = hasMore ? samples.get(samples.size() - 1).getId() : null;
+        
+        return ResponseEntity.ok(new SamplePage(samples, nextCursor, hasMore));
+    }
+    
+    /**
+     * GET /api/samples/search - Find samples through the secondary indexes
+     * Exactly one criterion must be given:
+     * name (exact match), prefix (name prefix), from/to (name range) or q (description words).
+     * 
+     * @param name Exact name to match
+     * @param prefix Name prefix to match
+     * @param from Inclusive lower bound of a name range
+     * @param to Exclusive upper bound of a name range
+     * @param q Words that must all appear in the description, case-insensitively
+     * @param limit Maximum number of samples to return (1 to 1000, default 100)
+     * @return Matching SampleModel entities
+     * @throws ValidationException if not exactly one criterion is given, the name range is inverted or limit is out of range
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SampleModel>> searchSamples(@RequestParam(required = false) String name,
+                                                           @RequestParam(required = false) String prefix,
+                                                           @RequestParam(required = false) String from,
+                                                           @RequestParam(required = false) String to,
+                                                           @RequestParam(required = false) String q,
+                                                           @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean byRange = from != null || to != null;
+        int criteria = (name != null ? 1 : 0) + (prefix != null ? 1 : 0) + (byRange ? 1 : 0) + (q != null ? 1 : 0);
+        if (criteria != 1) {
+            throw new ValidationException("Exactly one of 'name', 'prefix', 'from'/'to' or 'q' must be given");
+        }
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new ValidationException("to", "'to' must not be before 'from'");
+        }
+        
+        List<SampleModel> samples;
+        if (name != null) {
+            samples = sampleService.findByName(name, limit);
+        } else if (prefix != null) {
+            samples = sampleService.findByNamePrefix(prefix, limit);
+        } else if (byRange) {
+            samples = sampleService.findByNameRange(from, to, limit);
+        } else {
+            samples = sampleService.searchByDescription(q, limit);
+        }
         return ResponseEntity.ok(samples);
     }
     
+    /**
+     * GET /api/samples/created - Find samples by creation time through the time index
+     * Either 'from' or 'lastMinutes' may bound the range from below; 'to' defaults to now.
+     * 
+     * @param from Inclusive lower bound on createdAt (ISO date-time)
+     * @param to Exclusive upper bound on createdAt (ISO date-time)
+     * @param lastMinutes Only samples created in the last N minutes
+     * @param limit Maximum number of samples to return (1 to 1000, default 100)
+     * @return Matching SampleModel entities, oldest first
+     * @throws ValidationException if the range or limit is invalid
+     */
+    @GetMapping("/created")
+    public ResponseEntity<List<SampleModel>> getSamplesCreatedBetween(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer lastMinutes,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = resolveFrom(from, lastMinutes, now);
+        LocalDateTime end = to != null ? to : now;
+        validateTimeRange(start, end);
+        return ResponseEntity.ok(sampleService.findCreatedBetween(start, end, limit));
+    }
+    
+    /**
+     * GET /api/samples/created/histogram - Count samples created per time bucket
+     * Either 'from' or 'lastMinutes' must bound the range from below; 'to' defaults to now.
+     * 
+     * @param from Inclusive lower bound on createdAt (ISO date-time)
+     * @param to Exclusive upper bound on createdAt (ISO date-time)
+     * @param lastMinutes Only samples created in the last N minutes
+     * @param bucket Bucket width as an ISO-8601 duration (default PT1H)
+     * @return Buckets in chronological order with their sample counts
+     * @throws ValidationException if the range or bucket size is invalid
+     */
+    @GetMapping("/created/histogram")
+    public ResponseEntity<List<TimeBucket>> getCreatedHistogram(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer lastMinutes,
+            @RequestParam(defaultValue = "PT1H") Duration bucket) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = resolveFrom(from, lastMinutes, now);
+        if (start == null) {
+            throw new ValidationException("Either 'from' or 'lastMinutes' must be given");
+        }
+        LocalDateTime end = to != null ? to : now;
+        validateTimeRange(start, end);
+        if (bucket.toMillis() < 1) {
+            throw new ValidationException("bucket", "Bucket size must be at least one millisecond");
+        }
+        if (SampleTimeIndex.bucketCount(start, end, bucket) > MAX_HISTOGRAM_BUCKETS) {
+            throw new ValidationException("bucket", "Histogram cannot have more than " + MAX_HISTOGRAM_BUCKETS + " buckets");
+        }
+        return ResponseEntity.ok(sampleService.countCreatedByBucket(start, end, bucket));
+    }
+    
+    /**
+     * GET /api/samples/count - Count the stored samples
+     * In a partitioned cluster the counts of the other nodes are gathered in parallel and added.
+     * 
+     * @return The number of samples
+     * @throws IOException if another node of the cluster cannot be reached
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> count(@RequestHeader(value = PartitionClient.LOCAL_HEADER, required = false) String localOnly)
+            throws IOException {
+        long count = sampleService.count();
+        if (partitionClient != null && localOnly == null) {
+            count += partitionClient.countRemote();
+        }
+        return ResponseEntity.ok(count);
+    }
+    
     /**
      * GET /api/samples/{id} - Retrieve a specific sample by ID
      * 
+     * Honours If-None-Match and If-Modified-Since against the sample version,
+     * answering 304 without serializing the sample when it did not change.
+     * Written as JSON, Smile or CBOR like the list; the ETag names the format.
+     * 
      * @param id The ID of the sample to retrieve
      * @return The SampleModel entity if found
      * @throws ResourceNotFoundException if sample with given ID is not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SampleModel> getSampleById(@PathVariable Long id) {
+    public ResponseEntity<SampleModel> getSampleById(@PathVariable Long id, WebRequest request, HttpServletResponse response,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Optional<SampleModel> sample = sampleService.getSampleById(id);
         if (sample.isPresent()) {
-            return ResponseEntity.ok(sample.get());
+            MediaType format = streamingFormatFor(accept).getKey();
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (request.checkNotModified(eTagOf(sample.get(), format), lastModifiedOf(sample.get()))) {
+                return null;
+            }
+            // Fixed here rather than negotiated later, so the body is the format the ETag names
+            return ResponseEntity.ok().contentType(format).body(sample.get());
         } else {
             throw new ResourceNotFoundException("Sample", id.toString());
         }
@@ -75,23 +354,41 @@ public class SampleController {
     
     /**
      * PUT /api/samples/{id} - Update existing sample data
+     * With an If-Match header carrying the ETag last read, the update only
+     * applies if the sample has not changed since; If-Match: * updates unconditionally.
+     * The If-Match ETag may be that of any format, since they all name the same version.
      * 
      * @param id The ID of the sample to update
+     * @param ifMatch Optional ETag the sample must still have
      * @param updatedSample The updated SampleModel data
-     * @return The updated SampleModel
+     * @return The updated SampleModel, with its new ETag
      * @throws ResourceNotFoundException if sample with given ID is not found
-     * @throws ValidationException if sample data is invalid
+     * @throws ValidationException if sample data or the If-Match header is invalid
+     * @throws VersionConflictException if the sample no longer matches the If-Match ETag
      */
     @PutMapping("/{id}")
-    public ResponseEntity<SampleModel> updateSample(@PathVariable Long id, @RequestBody SampleModel updatedSample) {
+    public ResponseEntity<SampleModel> updateSample(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                    @RequestBody SampleModel updatedSample) {
         // Basic validation
         if (updatedSample.getName() == null || updatedSample.getName().trim().isEmpty()) {
             throw new ValidationException("name", "Name cannot be null or empty");
         }
         
-        Optional<SampleModel> updated = sampleService.updateSample(id, updatedSample);
+        Optional<SampleModel> updated;
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            updated = sampleService.updateSample(id, updatedSample);
+        } else {
+            updated = updateIfMatch(id, ifMatch.trim(), updatedSample);
+        }
         if (updated.isPresent()) {
-            return ResponseEntity.ok(updated.get());
+            MediaType format = streamingFormatFor(accept).getKey();
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format)
+                    .eTag(eTagOf(updated.get(), format))
+                    .body(updated.get());
         } else {
             throw new ResourceNotFoundException("Sample", id.toString());
         }
@@ -124,4 +421,288 @@ public class SampleController {
         sampleService.deleteAllSamples();
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * POST /api/samples/batch - Create several samples in one request
+     * Invalid items are reported individually and do not abort the batch.
+     * 
+     * @param samples The SampleModels to create (IDs will be auto-generated)
+     * @return BatchResult with the outcome of every item, in request order
+     * @throws ValidationException if the batch is empty or too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createSamples(@RequestBody List<SampleModel> samples) {
+        validateBatchSize(samples);
+        
+        BatchItemResult[] results = new BatchItemResult[samples.size()];
+        List<SampleModel> valid = new ArrayList<>(samples.size());
+        List<Integer> validIndexes = new ArrayList<>(samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            SampleModel sample = samples.get(i);
+            if (!hasValidName(sample)) {
+                results[i] = BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST.value(),
+                        "VALIDATION_ERROR", INVALID_NAME_MESSAGE);
+            } else {
+                valid.add(sample);
+                validIndexes.add(i);
+            }
+        }
+        
+        List<SampleModel> created = sampleService.createSamples(valid);
+        for (int i = 0; i < created.size(); i++) {
+            SampleModel sample = created.get(i);
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.success(index, sample.getId(), HttpStatus.CREATED.value(), sample);
+        }
+        
+        return ResponseEntity.ok(new BatchResult(List.of(results)));
+    }
+    
+    /**
+     * PUT /api/samples/batch - Update several samples in one request
+     * Every item must carry the ID of the sample it updates.
+     * Invalid or unknown items are reported individually and do not abort the batch.
+     * In a partitioned cluster the items owned by other nodes are sent on to their
+     * owners, one request per node; an unreachable owner fails only its items, with 502.
+     * 
+     * @param updatedSamples The updated SampleModel data, each with its ID
+     * @return BatchResult with the outcome of every item, in request order
+     * @throws ValidationException if the batch is empty or too large
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateSamples(@RequestBody List<SampleModel> updatedSamples,
+                                                     @RequestHeader(value = PartitionClient.LOCAL_HEADER, required = false) String localOnly) {
+        validateBatchSize(updatedSamples);
+        
+        BatchItemResult[] results = new BatchItemResult[updatedSamples.size()];
+        List<Integer> validIndexes = new ArrayList<>(updatedSamples.size());
+        for (int i = 0; i < updatedSamples.size(); i++) {
+            SampleModel sample = updatedSamples.get(i);
+            if (sample == null || sample.getId() == null) {
+                results[i] = BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST.value(),
+                        "VALIDATION_ERROR", "Validation failed for field 'id': ID cannot be null");
+            } else if (!hasValidName(sample)) {
+                results[i] = BatchItemResult.failure(i, sample.getId(), HttpStatus.BAD_REQUEST.value(),
+                        "VALIDATION_ERROR", INVALID_NAME_MESSAGE);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+        
+        Map<String, List<Integer>> remote = takeRemoteItems(validIndexes, index -> updatedSamples.get(index).getId(), localOnly);
+        remote.forEach((owner, indexes) -> forwardBatch(owner, HttpMethod.PUT, indexes, updatedSamples::get,
+                index -> updatedSamples.get(index).getId(), results));
+        
+        List<SampleModel> valid = validIndexes.stream().map(updatedSamples::get).toList();
+        List<Optional<SampleModel>> updated = sampleService.updateSamples(valid);
+        for (int i = 0; i < updated.size(); i++) {
+            int index = validIndexes.get(i);
+            Long id = valid.get(i).getId();
+            results[index] = updated.get(i)
+                    .map(sample -> BatchItemResult.success(index, id, HttpStatus.OK.value(), sample))
+                    .orElseGet(() -> notFound(index, id));
+        }
+        
+        return ResponseEntity.ok(new BatchResult(List.of(results)));
+    }
+    
+    /**
+     * DELETE /api/samples/batch - Remove several samples in one request
+     * Unknown IDs are reported individually and do not abort the batch.
+     * In a partitioned cluster the IDs owned by other nodes are sent on to their
+     * owners, one request per node; an unreachable owner fails only its items, with 502.
+     * 
+     * @param ids The IDs of the samples to delete
+     * @return BatchResult with the outcome of every item, in request order
+     * @throws ValidationException if the batch is empty or too large
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResult> deleteSamples(@RequestBody List<Long> ids,
+                                                     @RequestHeader(value = PartitionClient.LOCAL_HEADER, required = false) String localOnly) {
+        validateBatchSize(ids);
+        
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> localIndexes = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            localIndexes.add(i);
+        }
+        Map<String, List<Integer>> remote = takeRemoteItems(localIndexes, ids::get, localOnly);
+        remote.forEach((owner, indexes) -> forwardBatch(owner, HttpMethod.DELETE, indexes, ids::get, ids::get, results));
+        
+        List<Boolean> deleted = sampleService.deleteSamples(localIndexes.stream().map(ids::get).toList());
+        for (int i = 0; i < deleted.size(); i++) {
+            int index = localIndexes.get(i);
+            Long id = ids.get(index);
+            results[index] = deleted.get(i)
+                    ? BatchItemResult.success(index, id, HttpStatus.NO_CONTENT.value(), null)
+                    : notFound(index, id);
+        }
+        
+        return ResponseEntity.ok(new BatchResult(List.of(results)));
+    }
+    
+    /**
+     * POST /api/samples/import - Stream-import samples from newline-delimited JSON
+     * The body is parsed incrementally and inserted in bounded batches,
+     * so uploads of any size are accepted with flat memory use.
+     * 
+     * @param body NDJSON stream with one SampleModel object per line (IDs will be auto-generated)
+     * @return ImportSummary with the imported and rejected counts and the rejected line numbers
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportSummary> importSamples(InputStream body) throws IOException {
+        return ResponseEntity.ok(sampleImportService.importNdjson(body));
+    }
+    
+    private static ObjectWriter streamingWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(SampleModel.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /**
+     * Pick the streaming format the Accept header prefers, falling back to JSON
+     * for missing, unparseable or unmatched headers as before content negotiation
+     */
+    private Map.Entry<MediaType, ObjectWriter> streamingFormatFor(String accept) {
+        Map.Entry<MediaType, ObjectWriter> json = streamingWriters.entrySet().iterator().next();
+        if (accept == null) {
+            return json;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return json;
+        }
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.getQualityValue() == 0) {
+                break;
+            }
+            for (Map.Entry<MediaType, ObjectWriter> format : streamingWriters.entrySet()) {
+                if (mediaType.includes(format.getKey())) {
+                    return format;
+                }
+            }
+        }
+        return json;
+    }
+    
+    private static boolean hasValidName(SampleModel sample) {
+        return sample != null && sample.getName() != null && !sample.getName().trim().isEmpty();
+    }
+    
+    private static void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Batch cannot be empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("Batch size %d exceeds the maximum of %d", items.size(), MAX_BATCH_SIZE));
+        }
+    }
+    
+    /**
+     * Apply a version-checked update for an If-Match ETag of the form produced by {@link #eTagOf}
+     */
+    private Optional<SampleModel> updateIfMatch(Long id, String ifMatch, SampleModel updatedSample) {
+        Matcher matcher = SAMPLE_ETAG.matcher(ifMatch);
+        if (!matcher.matches()) {
+            throw new ValidationException(HttpHeaders.IF_MATCH, "Expected a single strong ETag of this sample");
+        }
+        long expectedVersion = Long.parseLong(matcher.group(1));
+        // The version alone cannot tell a sample from one re-created under the same ID after a clear;
+        // the creation time is checked in the same atomic step as the version
+        LocalDateTime expectedCreatedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(matcher.group(2))), ZoneId.systemDefault());
+        return sampleService.updateSampleIfVersion(id, expectedVersion, expectedCreatedAt, updatedSample);
+    }
+    
+    /**
+     * Strong ETag of one representation of a sample. The creation time keeps it unique
+     * when IDs are reissued after the store has been cleared; the suffix tells the
+     * formats apart, whose bytes differ for the same version.
+     */
+    private static String eTagOf(SampleModel sample, MediaType format) {
+        long version = sample.getVersion() == null ? 0L : sample.getVersion();
+        return "\"" + version + "-" + toEpochMillis(sample.getCreatedAt()) + "-" + ETAG_SUFFIXES.get(format) + "\"";
+    }
+    
+    private static long lastModifiedOf(SampleModel sample) {
+        return toEpochMillis(sample.getUpdatedAt() != null ? sample.getUpdatedAt() : sample.getCreatedAt());
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime resolveFrom(LocalDateTime from, Integer lastMinutes, LocalDateTime now) {
+        if (lastMinutes == null) {
+            return from;
+        }
+        if (from != null) {
+            throw new ValidationException("Only one of 'from' and 'lastMinutes' may be given");
+        }
+        if (lastMinutes < 1) {
+            throw new ValidationException("lastMinutes", "lastMinutes must be positive");
+        }
+        return now.minusMinutes(lastMinutes);
+    }
+    
+    private static void validateTimeRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && !from.isBefore(to)) {
+            throw new ValidationException("to", "'to' must be after 'from'");
+        }
+    }
+    
+    /**
+     * Move the indexes of batch items owned by other nodes out of a list, grouped by owner
+     * 
+     * @param indexes Indexes of the items to route; those of remote items are removed
+     * @param idAt ID of the item at an index, null for an item without one
+     * @return Indexes per owning node, empty unless partitioned and answering for the whole cluster
+     */
+    private Map<String, List<Integer>> takeRemoteItems(List<Integer> indexes, IntFunction<Long> idAt, String localOnly) {
+        Map<String, List<Integer>> remote = new LinkedHashMap<>();
+        if (partitionClient == null || localOnly != null) {
+            return remote;
+        }
+        Iterator<Integer> iterator = indexes.iterator();
+        while (iterator.hasNext()) {
+            int index = iterator.next();
+            Long id = idAt.apply(index);
+            String owner = id == null ? null : partitionClient.remoteOwnerOf(id);
+            if (owner != null) {
+                remote.computeIfAbsent(owner, key -> new ArrayList<>()).add(index);
+                iterator.remove();
+            }
+        }
+        return remote;
+    }
+    
+    /**
+     * Apply the items of a batch owned by one other node there, filling in their results
+     * at their indexes in the whole batch; if the node cannot be reached they fail with 502
+     */
+    private void forwardBatch(String owner, HttpMethod method, List<Integer> indexes, IntFunction<?> itemAt,
+                              IntFunction<Long> idAt, BatchItemResult[] results) {
+        try {
+            List<BatchItemResult> forwarded = partitionClient.sendBatch(owner, method.name(),
+                    indexes.stream().map(itemAt::apply).toList());
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                BatchItemResult item = forwarded.get(i);
+                results[index] = new BatchItemResult(index, item.getId(), item.getStatus(), item.getSample(),
+                        item.getError(), item.getMessage());
+            }
+        } catch (IOException e) {
+            for (int index : indexes) {
+                results[index] = BatchItemResult.failure(index, idAt.apply(index), HttpStatus.BAD_GATEWAY.value(),
+                        "BAD_GATEWAY", "Node " + owner + " owning the sample is unreachable");
+            }
+        }
+    }
+    
+    private static BatchItemResult notFound(int index, Long id) {
+        return BatchItemResult.failure(index, id, HttpStatus.NOT_FOUND.value(), "RESOURCE_NOT_FOUND",
+                String.format("Sample with identifier '%s' not found", id));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.framework.controller;
+
+import com.example.framework.exception.ValidationException;
+import com.example.framework.model.SampleQuery;
+import com.example.framework.model.SampleQueryResult;
+import com.example.framework.service.SampleQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Server-side analytics over the sample store.
+ * Filters and aggregations are evaluated in one parallel scan next to the data,
+ * instead of shipping the whole collection to the client through GET /api/samples.
+ */
+@RestController
+@RequestMapping("/api/samples/query")
+public class SampleQueryController {
+    
+    private static final int MAX_PREFIX_LENGTH = 64;
+    
+    private final SampleQueryService sampleQueryService;
+    
+    @Autowired
+    public SampleQueryController(SampleQueryService sampleQueryService) {
+        this.sampleQueryService = sampleQueryService;
+    }
+    
+    /**
+     * POST /api/samples/query - Count, group and bucket the samples matching a filter
+     * Every sample is visited once, so the cost grows with the store rather than with the matches.
+     * 
+     * @param query Filter (namePrefix, nameContains, descriptionContains, from inclusive, to exclusive)
+     *              and aggregations (groupByNamePrefix as a prefix length of 1 to 64, countByDay)
+     * @return SampleQueryResult with the scanned and matched counts and the requested aggregations
+     * @throws ValidationException if the prefix length or the time range is invalid
+     */
+    @PostMapping
+    public ResponseEntity<SampleQueryResult> query(@RequestBody SampleQuery query) {
+        Integer prefixLength = query.getGroupByNamePrefix();
+        if (prefixLength != null && (prefixLength < 1 || prefixLength > MAX_PREFIX_LENGTH)) {
+            throw new ValidationException("groupByNamePrefix", "Prefix length must be between 1 and " + MAX_PREFIX_LENGTH);
+        }
+        if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo())) {
+            throw new ValidationException("to", "'to' must be after 'from'");
+        }
+        return ResponseEntity.ok(sampleQueryService.query(query));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.framework.controller;
+
+import com.example.framework.exception.BusinessException;
+import com.example.framework.exception.ValidationException;
+import com.example.framework.model.SnapshotSummary;
+import com.example.framework.service.SampleSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Backup and cloning of the whole sample store as a binary snapshot.
+ * Clone a node by streaming the download from one node into the upload to another.
+ */
+@RestController
+@RequestMapping("/api/admin/snapshot")
+public class SnapshotController {
+    
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Snapshot-Change-Sequence";
+    
+    private final SampleSnapshotService snapshotService;
+    
+    @Autowired
+    public SnapshotController(SampleSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+    
+    /**
+     * GET /api/admin/snapshot - Download a consistent snapshot of the store
+     * The snapshot is written to a temporary file at disk speed before the download
+     * starts, so a slow client cannot stretch the scan of the store. The change
+     * sequence it is consistent with is returned in X-Snapshot-Change-Sequence.
+     * 
+     * @return The snapshot as application/octet-stream
+     * @throws BusinessException if writes outran the change log while the snapshot was taken
+     * @throws IOException if the temporary file cannot be written
+     */
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSnapshot() throws IOException {
+        Path file = Files.createTempFile("samples-", ".snap");
+        SnapshotSummary summary;
+        try (OutputStream output = Files.newOutputStream(file)) {
+            summary = snapshotService.exportSnapshot(output);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(summary.getSizeBytes())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("samples-" + summary.getChangeSequence() + ".snap").build().toString())
+                .header(CHANGE_SEQUENCE_HEADER, Long.toString(summary.getChangeSequence()))
+                .body(body);
+    }
+    
+    /**
+     * PUT /api/admin/snapshot - Replace the store with a snapshot
+     * IDs, versions and timestamps are kept, and the ID sequence continues where the
+     * snapshot's left off. An invalid snapshot is rejected before the store is touched;
+     * other writes to this node are rejected with STORE_LOCKED until the import returns.
+     * 
+     * @param body A snapshot downloaded from GET /api/admin/snapshot
+     * @return SnapshotSummary with the restored counts and the change sequence of the snapshot
+     * @throws ValidationException if the body is not a complete, valid snapshot
+     */
+    @PutMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<SnapshotSummary> importSnapshot(InputStream body) throws IOException {
+        return ResponseEntity.ok(snapshotService.importSnapshot(body));
+    }
+}
\ No newline at end of file
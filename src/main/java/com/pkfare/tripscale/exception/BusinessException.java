@@ -41,6 +41,15 @@ public class BusinessException extends RuntimeException {
         this.errorCode = errorCode;
     }
     
+    /**
+     * Constructor for client errors raised at a high rate, such as lookups of missing IDs.
+     * Without a stack trace and suppression the exception costs little more than its fields.
+     */
+    protected BusinessException(String message, String errorCode, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+    
     public String getErrorCode() {
         return errorCode;
     }
@@ -3,40 +3,58 @@ package com.example.framework.exception;
 import com.example.framework.model.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Global exception handler that provides centralized exception handling
  * across all controllers in the application.
+ * <p>
+ * Client errors (400, 404, 409) take a cheap path, since scrapers and broken clients
+ * can produce them faster than successful requests: the exceptions carry no stack
+ * trace, JSON bodies are rendered from prepared bytes and their log lines are rate limited.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    // Log lines let through per interval for each kind of client error
+    private static final int CLIENT_ERROR_LOG_LINES = 10;
+    private static final Duration CLIENT_ERROR_LOG_INTERVAL = Duration.ofSeconds(1);
+    
+    private static final Map<String, PreparedErrorBody> PREPARED_BODIES = Map.of(
+            "RESOURCE_NOT_FOUND", new PreparedErrorBody("RESOURCE_NOT_FOUND", HttpStatus.NOT_FOUND.value()),
+            "VALIDATION_ERROR", new PreparedErrorBody("VALIDATION_ERROR", HttpStatus.BAD_REQUEST.value()),
+            "VERSION_CONFLICT", new PreparedErrorBody("VERSION_CONFLICT", HttpStatus.CONFLICT.value()));
+    
+    private final LogLimiter notFoundLog = new LogLimiter(CLIENT_ERROR_LOG_LINES, CLIENT_ERROR_LOG_INTERVAL);
+    private final LogLimiter validationLog = new LogLimiter(CLIENT_ERROR_LOG_LINES, CLIENT_ERROR_LOG_INTERVAL);
+    private final LogLimiter conflictLog = new LogLimiter(CLIENT_ERROR_LOG_LINES, CLIENT_ERROR_LOG_INTERVAL);
+    
     /**
      * Handle ResourceNotFoundException
      * Returns 404 Not Found status
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+    public ResponseEntity<?> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
         
-        logger.warn("Resource not found: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            ex.getMessage(),
-            ex.getErrorCode(),
-            HttpStatus.NOT_FOUND.value(),
-            getPath(request)
-        );
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        warn(notFoundLog, "Resource not found: {}", ex);
+        return clientError(ex, HttpStatus.NOT_FOUND, getPath(request), request.getHeader(HttpHeaders.ACCEPT));
     }
     
     /**
@@ -44,19 +62,53 @@ public class GlobalExceptionHandler {
      * Returns 400 Bad Request status
      */
     @ExceptionHandler(ValidationException.class)
-    public ResponseEntity<ErrorResponse> handleValidationException(
+    public ResponseEntity<?> handleValidationException(
             ValidationException ex, WebRequest request) {
         
-        logger.warn("Validation error: {}", ex.getMessage());
+        warn(validationLog, "Validation error: {}", ex);
+        return clientError(ex, HttpStatus.BAD_REQUEST, getPath(request), request.getHeader(HttpHeaders.ACCEPT));
+    }
+    
+    /**
+     * Handle VersionConflictException
+     * Returns 409 Conflict status
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<?> handleVersionConflictException(
+            VersionConflictException ex, WebRequest request) {
+        
+        warn(conflictLog, "Version conflict: {}", ex);
+        return clientError(ex, HttpStatus.CONFLICT, getPath(request), request.getHeader(HttpHeaders.ACCEPT));
+    }
+    
+    /**
+     * Build the response to a client error
+     * Clients taking JSON get a prepared body written as raw bytes, skipping the
+     * ErrorResponse object and the Jackson converter; others get an ErrorResponse
+     * in the format content negotiation picks.
+     * 
+     * @param ex The client error
+     * @param status The response status
+     * @param path The request path
+     * @param accept The Accept header of the request, or null
+     * @return The error response
+     */
+    public ResponseEntity<?> clientError(BusinessException ex, HttpStatus status, String path, String accept) {
+        PreparedErrorBody prepared = PREPARED_BODIES.get(ex.getErrorCode());
+        if (prepared != null && prefersJson(accept)) {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(prepared.render(ex.getMessage(), path));
+        }
         
         ErrorResponse errorResponse = new ErrorResponse(
             ex.getMessage(),
             ex.getErrorCode(),
-            HttpStatus.BAD_REQUEST.value(),
-            getPath(request)
+            status.value(),
+            path
         );
         
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, status);
     }
     
     /**
@@ -121,14 +173,77 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
     
+    /**
+     * Log a client error unless the limiter has used up its lines for now;
+     * the next line let through reports how many were dropped
+     */
+    private static void warn(LogLimiter limiter, String format, BusinessException ex) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = limiter.acquire();
+        if (suppressed == 0) {
+            logger.warn(format, ex.getMessage());
+        } else if (suppressed > 0) {
+            logger.warn(format + " ({} similar messages suppressed)", ex.getMessage(), suppressed);
+        }
+    }
+    
+    /**
+     * Whether content negotiation would pick JSON, judged cheaply: a missing header,
+     * a wildcard, or JSON listed first
+     */
+    private static boolean prefersJson(String accept) {
+        return accept == null || accept.isEmpty() || accept.equals(MediaType.ALL_VALUE)
+                || accept.startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+    
     /**
      * Extract the request path from WebRequest
      */
     private String getPath(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getRequestURI();
+        }
         String path = request.getDescription(false);
         if (path != null && path.startsWith("uri=")) {
             return path.substring(4);
         }
         return path;
     }
+    
+    /**
+     * Lets a fixed number of log lines through per interval and counts the rest
+     */
+    static final class LogLimiter {
+        
+        private final int linesPerInterval;
+        private final long intervalNanos;
+        private final AtomicLong intervalStart = new AtomicLong(System.nanoTime());
+        private final AtomicInteger linesLogged = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+        
+        LogLimiter(int linesPerInterval, Duration interval) {
+            this.linesPerInterval = linesPerInterval;
+            this.intervalNanos = interval.toNanos();
+        }
+        
+        /**
+         * @return -1 if the line must be dropped, otherwise the number of lines
+         *         dropped since the last one let through
+         */
+        long acquire() {
+            long now = System.nanoTime();
+            long start = intervalStart.get();
+            if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+                linesLogged.set(0);
+            }
+            // Check before incrementing, so a flood cannot overflow the counter
+            if (linesLogged.get() < linesPerInterval && linesLogged.getAndIncrement() < linesPerInterval) {
+                return suppressed.sumThenReset();
+            }
+            suppressed.increment();
+            return -1;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.framework.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JSON body of an ErrorResponse with the error code and status encoded once.
+ * <p>
+ * Rendering copies the encoded parts, the escaped message and path and a timestamp
+ * shared by every error of the same millisecond into one exact-size array. The result
+ * has the fields, order and date format Jackson writes for ErrorResponse.
+ */
+final class PreparedErrorBody {
+    
+    private static final byte[] MESSAGE_PREFIX = ascii("{\"message\":");
+    private static final byte[] TIMESTAMP_PREFIX = ascii(",\"timestamp\":\"");
+    private static final byte[] PATH_PREFIX = ascii("\",\"path\":");
+    private static final byte[] SUFFIX = ascii("}");
+    private static final byte[] NULL = ascii("null");
+    
+    private static volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+    
+    // ,"error":"<code>","status":<status>
+    private final byte[] errorAndStatus;
+    
+    PreparedErrorBody(String errorCode, int status) {
+        this.errorAndStatus = (",\"error\":" + quote(errorCode) + ",\"status\":" + status)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+    
+    byte[] render(String message, String path) {
+        byte[] messageBytes = escape(message);
+        byte[] pathBytes = escape(path);
+        byte[] timestampBytes = currentTimestamp();
+        
+        byte[] body = new byte[MESSAGE_PREFIX.length + stringSize(messageBytes) + errorAndStatus.length
+                + TIMESTAMP_PREFIX.length + timestampBytes.length + PATH_PREFIX.length + stringSize(pathBytes) + SUFFIX.length];
+        int position = append(body, 0, MESSAGE_PREFIX);
+        position = appendString(body, position, messageBytes);
+        position = append(body, position, errorAndStatus);
+        position = append(body, position, TIMESTAMP_PREFIX);
+        position = append(body, position, timestampBytes);
+        position = append(body, position, PATH_PREFIX);
+        position = appendString(body, position, pathBytes);
+        append(body, position, SUFFIX);
+        return body;
+    }
+    
+    /**
+     * The local time of the current millisecond, formatted once per millisecond
+     */
+    private static byte[] currentTimestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis != now) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+            current = new Timestamp(now, ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time)));
+            timestamp = current;
+        }
+        return current.iso;
+    }
+    
+    /**
+     * UTF-8 bytes of a JSON string's content, or null for a null string
+     */
+    private static byte[] escape(String value) {
+        return value == null ? null : JsonStringEncoder.getInstance().quoteAsUTF8(value);
+    }
+    
+    private static int stringSize(byte[] escaped) {
+        return escaped == null ? NULL.length : escaped.length + 2;
+    }
+    
+    private static int appendString(byte[] target, int position, byte[] escaped) {
+        if (escaped == null) {
+            return append(target, position, NULL);
+        }
+        target[position] = '"';
+        position = append(target, position + 1, escaped);
+        target[position] = '"';
+        return position + 1;
+    }
+    
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+    
+    private static int append(byte[] target, int position, byte[] source) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+    
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    private static final class Timestamp {
+        
+        private final long millis;
+        private final byte[] iso;
+        
+        private Timestamp(long millis, byte[] iso) {
+            this.millis = millis;
+            this.iso = iso;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.framework.exception;
 /**
  * Exception thrown when a requested resource is not found.
  * This typically results in a 404 HTTP status code.
+ * Created without a stack trace: misses on lookups by ID are routine client traffic.
  */
 public class ResourceNotFoundException extends BusinessException {
     
@@ -10,20 +11,20 @@ public class ResourceNotFoundException extends BusinessException {
      * Constructor with resource type and identifier
      */
     public ResourceNotFoundException(String resourceType, String identifier) {
-        super(String.format("%s with identifier '%s' not found", resourceType, identifier), "RESOURCE_NOT_FOUND");
+        super(resourceType + " with identifier '" + identifier + "' not found", "RESOURCE_NOT_FOUND", null, false);
     }
     
     /**
      * Constructor with custom message
      */
     public ResourceNotFoundException(String message) {
-        super(message, "RESOURCE_NOT_FOUND");
+        super(message, "RESOURCE_NOT_FOUND", null, false);
     }
     
     /**
      * Constructor with message and cause
      */
     public ResourceNotFoundException(String message, Throwable cause) {
-        super(message, "RESOURCE_NOT_FOUND", cause);
+        super(message, "RESOURCE_NOT_FOUND", cause, false);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.framework.exception;
 /**
  * Exception thrown when input validation fails.
  * This typically results in a 400 HTTP status code.
+ * Like the other client errors it skips capturing a stack trace.
  */
 public class ValidationException extends BusinessException {
     
@@ -10,20 +11,20 @@ public class ValidationException extends BusinessException {
      * Constructor with validation message
      */
     public ValidationException(String message) {
-        super(message, "VALIDATION_ERROR");
+        super(message, "VALIDATION_ERROR", null, false);
     }
     
     /**
      * Constructor with field name and validation message
      */
     public ValidationException(String fieldName, String validationMessage) {
-        super(String.format("Validation failed for field '%s': %s", fieldName, validationMessage), "VALIDATION_ERROR");
+        super("Validation failed for field '" + fieldName + "': " + validationMessage, "VALIDATION_ERROR", null, false);
     }
     
     /**
      * Constructor with message and cause
      */
     public ValidationException(String message, Throwable cause) {
-        super(message, "VALIDATION_ERROR", cause);
+        super(message, "VALIDATION_ERROR", cause, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.framework.exception;
+
+/**
+ * Exception thrown when a conditional update expected a different version
+ * of the resource than the one currently stored.
+ * This typically results in a 409 HTTP status code.
+ * Stackless, as conflicts are expected under write contention.
+ */
+public class VersionConflictException extends BusinessException {
+    
+    /**
+     * Constructor with resource type, identifier and the expected and actual versions
+     */
+    public VersionConflictException(String resourceType, String identifier, long expectedVersion, long actualVersion) {
+        super(String.format("%s with identifier '%s' is at version %d, expected version %d",
+                resourceType, identifier, actualVersion, expectedVersion), "VERSION_CONFLICT", null, false);
+    }
+    
+    /**
+     * Constructor with custom message
+     */
+    public VersionConflictException(String message) {
+        super(message, "VERSION_CONFLICT", null, false);
+    }
+}
\ No newline at end of file
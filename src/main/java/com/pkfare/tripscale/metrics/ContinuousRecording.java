@@ -0,0 +1,113 @@
+package com.example.framework.metrics;
+
+import com.example.framework.config.SampleProfilingProperties;
+import com.example.framework.model.RecordingDump;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A flight recording that runs for the lifetime of the application.
+ * <p>
+ * It records the JDK events of the configured settings plus the application's
+ * {@link SampleOperationEvent} and {@link SampleRequestEvent}, keeping the last
+ * {@code max-age} of data on disk within {@code max-size}. When latency spikes,
+ * {@link #dump(Duration)} writes the recent past to a file for JDK Mission Control
+ * or the {@code jfr} tool, without restarting or attaching to the JVM.
+ */
+public class ContinuousRecording implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+    
+    private static final String RECORDING_NAME = "sample-continuous";
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    
+    private final SampleProfilingProperties properties;
+    
+    private volatile Recording recording;
+    
+    public ContinuousRecording(SampleProfilingProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public synchronized void start() {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(properties.getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + properties.getSettings(), e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize());
+        started.enable(SampleOperationEvent.class).withThreshold(properties.getOperationThreshold());
+        started.enable(SampleRequestEvent.class).withThreshold(properties.getRequestThreshold());
+        started.start();
+        recording = started;
+        logger.info("Continuous flight recording started ({} settings, keeping {})",
+                properties.getSettings(), properties.getMaxAge());
+    }
+    
+    @Override
+    public synchronized void stop() {
+        Recording running = recording;
+        if (running != null) {
+            recording = null;
+            running.close();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+    
+    /**
+     * Write the recorded data of the last {@code period} to a new file in the dump directory
+     *
+     * @param period How far back to go; data older than max-age is gone already
+     * @return Location, time range and size of the written file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the recording is not running
+     */
+    public RecordingDump dump(Duration period) throws IOException {
+        Recording running = recording;
+        if (running == null) {
+            throw new IllegalStateException("The continuous recording is not running");
+        }
+        Instant to = Instant.now();
+        Instant from = to.minus(period);
+        Path directory = Paths.get(properties.getDumpDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("sample-" + FILE_TIMESTAMP.format(to) + ".jfr");
+        
+        // A running recording cannot be read; a stopped copy shares its chunks and ends at this instant
+        try (Recording snapshot = running.copy(true)) {
+            try (InputStream data = snapshot.getStream(from, to)) {
+                // No stream when nothing was recorded in the period
+                Files.copy(data != null ? data : InputStream.nullInputStream(), file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        long size = Files.size(file);
+        logger.info("Dumped flight recording from {} to {} into {} ({} bytes)", from, to, file, size);
+        return new RecordingDump(file.toAbsolutePath().toString(), from, to, size);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.framework.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the latency of every REST controller request per handler method and status code.
+ * <p>
+ * Each (endpoint, status) pair has its own {@link LatencyHistogram}, published as
+ * {@code sample.endpoint.requests} and {@code sample.endpoint.latency}. Histograms are
+ * created on first use and kept in a per-endpoint array indexed by status code, so once
+ * warmed up a request is recorded without allocating. Requests that go asynchronous are
+ * timed from their first dispatch to the end of the dispatch that completes them.
+ */
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+    
+    public static final String COUNT_NAME = "sample.endpoint.requests";
+    public static final String LATENCY_NAME = "sample.endpoint.latency";
+    
+    private static final String START_ATTRIBUTE = EndpointMetricsFilter.class.getName() + ".START";
+    
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+    
+    // Handler methods that are not REST endpoints of this application
+    private static final EndpointHistograms NOT_RECORDED = new EndpointHistograms(null);
+    
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Method, EndpointHistograms> endpoints = new ConcurrentHashMap<>();
+    
+    public EndpointMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Object asyncStart = isAsyncDispatch(request) ? request.getAttribute(START_ATTRIBUTE) : null;
+        long start = asyncStart instanceof Long ? (Long) asyncStart : System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Recorded by the dispatch that completes the request
+                request.setAttribute(START_ATTRIBUTE, start);
+            } else {
+                record(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE), status,
+                        System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Record one request
+     * 
+     * @param handler The handler that served the request; ignored unless it is a REST controller method
+     * @param status HTTP status code of the response
+     * @param durationNanos Latency of the request in nanoseconds
+     */
+    public void record(Object handler, int status, long durationNanos) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        EndpointHistograms histograms = endpoints.get(handlerMethod.getMethod());
+        if (histograms == null) {
+            histograms = endpoints.computeIfAbsent(handlerMethod.getMethod(), method ->
+                    handlerMethod.getBeanType().isAnnotationPresent(RestController.class)
+                            ? new EndpointHistograms(handlerMethod.getBeanType().getSimpleName() + "." + method.getName())
+                            : NOT_RECORDED);
+        }
+        if (histograms != NOT_RECORDED) {
+            histograms.forStatus(status, registry).record(durationNanos);
+        }
+    }
+    
+    /**
+     * Histograms of one endpoint, indexed by status code
+     */
+    private static final class EndpointHistograms {
+        
+        private final String endpoint;
+        private final AtomicReferenceArray<LatencyHistogram> byStatus =
+                new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1);
+        
+        EndpointHistograms(String endpoint) {
+            this.endpoint = endpoint;
+        }
+        
+        LatencyHistogram forStatus(int status, MeterRegistry registry) {
+            int index = Math.min(Math.max(status, MIN_STATUS), MAX_STATUS) - MIN_STATUS;
+            LatencyHistogram histogram = byStatus.get(index);
+            if (histogram == null) {
+                LatencyHistogram created = new LatencyHistogram();
+                if (byStatus.compareAndSet(index, null, created)) {
+                    // Only the winner registers, so no recordings go to an unpublished histogram
+                    created.register(registry, COUNT_NAME, LATENCY_NAME, "Latency of REST requests",
+                            Tags.of("endpoint", endpoint, "status", Integer.toString(index + MIN_STATUS)));
+                }
+                histogram = byStatus.get(index);
+            }
+            return histogram;
+        }
+    }
+}
\ No newline at end of file
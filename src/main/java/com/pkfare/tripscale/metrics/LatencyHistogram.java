@@ -0,0 +1,155 @@
+package com.example.framework.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution recorded into an HdrHistogram and published through Micrometer.
+ * <p>
+ * Recording goes into a {@link Recorder}, which is wait-free and allocation-free, so it is
+ * cheap enough for every request. Everything else happens when metrics are read: the values
+ * recorded since the last read are moved into a sliding window, from which p50, p99, p999
+ * and the maximum are computed. The window spans {@link #WINDOW_SLOTS} slots of
+ * {@link #SLOT_DURATION_NANOS}, so the percentiles describe roughly the last minute.
+ * Values are kept in microseconds with two significant digits, up to one hour.
+ */
+public class LatencyHistogram {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    
+    private static final int WINDOW_SLOTS = 6;
+    private static final long SLOT_DURATION_NANOS = TimeUnit.SECONDS.toNanos(10);
+    
+    // Reads closer together than this, such as the meters of one scrape, share one refresh
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    
+    private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    
+    // Guarded by this; only touched when metrics are read
+    private final Histogram[] slots = new Histogram[WINDOW_SLOTS];
+    private final Histogram window = newHistogram();
+    private Histogram interval;
+    private int currentSlot;
+    private long currentSlotStart = System.nanoTime();
+    private long lastRefresh = currentSlotStart - REFRESH_INTERVAL_NANOS;
+    private long totalCount;
+    private double totalMicros;
+    private final double[] quantileSeconds = new double[QUANTILES.length];
+    private double maxSeconds;
+    
+    public LatencyHistogram() {
+        for (int i = 0; i < WINDOW_SLOTS; i++) {
+            slots[i] = newHistogram();
+        }
+    }
+    
+    /**
+     * Record one latency
+     * 
+     * @param durationNanos The latency in nanoseconds; values beyond one hour are recorded as one hour
+     */
+    public void record(long durationNanos) {
+        long micros = Math.max(1, Math.min(durationNanos / 1000, HIGHEST_TRACKABLE_MICROS));
+        recorder.recordValue(micros);
+    }
+    
+    /**
+     * Publish this histogram through a meter registry.
+     * Registers a function timer {@code <countName>} with the total count and time, and
+     * gauges {@code <latencyName>} tagged with each quantile and {@code <latencyName>.max}
+     * for the sliding window.
+     */
+    public void register(MeterRegistry registry, String countName, String latencyName, String description, Tags tags) {
+        FunctionTimer.builder(countName, this, LatencyHistogram::getTotalCount,
+                        LatencyHistogram::getTotalMicros, TimeUnit.MICROSECONDS)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            int index = i;
+            Gauge.builder(latencyName, this, histogram -> histogram.getQuantileSeconds(index))
+                    .description(description + ", percentiles over the last minute")
+                    .tags(tags)
+                    .tag("quantile", Double.toString(QUANTILES[i]))
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+        Gauge.builder(latencyName + ".max", this, LatencyHistogram::getMaxSeconds)
+                .description(description + ", maximum over the last minute")
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+    
+    synchronized long getTotalCount() {
+        refresh();
+        return totalCount;
+    }
+    
+    synchronized double getTotalMicros() {
+        refresh();
+        return totalMicros;
+    }
+    
+    synchronized double getQuantileSeconds(int index) {
+        refresh();
+        return quantileSeconds[index];
+    }
+    
+    synchronized double getMaxSeconds() {
+        refresh();
+        return maxSeconds;
+    }
+    
+    /**
+     * Move the values recorded since the last refresh into the window and recompute its statistics
+     */
+    private void refresh() {
+        long now = System.nanoTime();
+        if (now - lastRefresh < REFRESH_INTERVAL_NANOS) {
+            return;
+        }
+        lastRefresh = now;
+        
+        interval = recorder.getIntervalHistogram(interval);
+        long count = interval.getTotalCount();
+        totalCount += count;
+        totalMicros += interval.getMean() * count;
+        
+        // Clear the slots that expired since the last refresh, at most the whole window
+        for (int expired = 0; now - currentSlotStart >= SLOT_DURATION_NANOS; expired++) {
+            currentSlot = (currentSlot + 1) % WINDOW_SLOTS;
+            currentSlotStart += SLOT_DURATION_NANOS;
+            if (expired < WINDOW_SLOTS) {
+                slots[currentSlot].reset();
+            }
+        }
+        slots[currentSlot].add(interval);
+        
+        window.reset();
+        for (Histogram slot : slots) {
+            window.add(slot);
+        }
+        for (int i = 0; i < QUANTILES.length; i++) {
+            quantileSeconds[i] = toSeconds(window.getValueAtPercentile(QUANTILES[i] * 100));
+        }
+        maxSeconds = toSeconds(window.getMaxValue());
+    }
+    
+    private static double toSeconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+    
+    private static Histogram newHistogram() {
+        return new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
\ No newline at end of file
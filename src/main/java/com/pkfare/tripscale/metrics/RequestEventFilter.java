@@ -0,0 +1,117 @@
+package com.example.framework.metrics;
+
+import com.example.framework.model.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Emits a {@link SampleRequestEvent} for every request while a recording enables it.
+ * The event travels with the request as an attribute, so {@link ResultSizeAdvice}
+ * can add the size of the response body and an asynchronous request is committed
+ * once, by the dispatch that completes it.
+ */
+public class RequestEventFilter extends OncePerRequestFilter {
+    
+    private static final String EVENT_ATTRIBUTE = RequestEventFilter.class.getName() + ".EVENT";
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Object pending = isAsyncDispatch(request) ? request.getAttribute(EVENT_ATTRIBUTE) : null;
+        SampleRequestEvent event;
+        if (pending instanceof SampleRequestEvent started) {
+            event = started;
+        } else {
+            event = new SampleRequestEvent();
+            if (!event.isEnabled()) {
+                chain.doFilter(request, response);
+                return;
+            }
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            if (!request.isAsyncStarted()) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = request.getMethod();
+                    event.uri = request.getRequestURI();
+                    event.endpoint = endpoint(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+                    event.status = status;
+                    event.sampleId = sampleId(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+                    event.commit();
+                }
+            }
+        }
+    }
+    
+    private static String endpoint(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName()
+                : "";
+    }
+    
+    private static long sampleId(Object uriVariables) {
+        if (uriVariables instanceof Map<?, ?> variables && variables.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                // Rejected by the controller; nothing to attribute the request to
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Adds the number of samples or events in the response body to the request's event.
+     * Only registered while profiling is enabled.
+     */
+    @ControllerAdvice
+    @ConditionalOnProperty(prefix = "sample.profiling", name = "enabled", havingValue = "true")
+    public static class ResultSizeAdvice implements ResponseBodyAdvice<Object> {
+        
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+        
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            if (request instanceof ServletServerHttpRequest servletRequest
+                    && servletRequest.getServletRequest().getAttribute(EVENT_ATTRIBUTE) instanceof SampleRequestEvent event
+                    && !(body instanceof ErrorResponse)) {
+                event.resultSize = SampleOperationEvent.resultSize(body);
+            }
+            return body;
+        }
+    }
+}
\ No newline at end of file
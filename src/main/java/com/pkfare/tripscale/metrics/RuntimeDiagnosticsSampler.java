@@ -0,0 +1,399 @@
+package com.example.framework.metrics;
+
+import com.example.framework.config.SampleDiagnosticsProperties;
+import com.example.framework.model.RuntimeDiagnostics;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.ForwardingSampleService;
+import com.example.framework.service.OffHeapSampleServiceImpl;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleServiceImpl;
+import com.example.framework.service.ShardedSampleServiceImpl;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples JVM and store diagnostics on a background thread.
+ * <p>
+ * Every interval the sampler reads the GC, memory, thread, buffer-pool and
+ * servlet-container statistics, estimates the footprint of the sample store,
+ * and publishes a {@link RuntimeDiagnostics} snapshot together with
+ * the health document served by /api/health. Readers only fetch the latest
+ * snapshot, so a probe costs the same however often it runs and whatever the
+ * store holds. GC pauses are collected from the collectors' notifications as
+ * they happen, so the longest pause of an interval is not lost between samples.
+ */
+@Component
+public class RuntimeDiagnosticsSampler implements SmartLifecycle, ApplicationListener<WebServerInitializedEvent> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeDiagnosticsSampler.class);
+    
+    private final SampleDiagnosticsProperties properties;
+    private final SampleService sampleService;
+    private final List<CollectorTracker> collectors = new ArrayList<>();
+    private final SafepointMonitor safepointMonitor;
+    
+    private volatile ProtocolHandler protocolHandler;
+    private volatile RuntimeDiagnostics diagnostics;
+    private volatile Map<String, Object> health;
+    
+    // Only touched by the sampling thread once started
+    private long previousSampleNanos;
+    private Map<Long, Long> previousAllocatedBytes = Map.of();
+    
+    private ScheduledExecutorService executor;
+    
+    public RuntimeDiagnosticsSampler(SampleDiagnosticsProperties properties, SampleService sampleService) {
+        this.properties = properties;
+        this.sampleService = sampleService;
+        this.safepointMonitor = properties.isSafepoints() ? new SafepointMonitor() : null;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(new CollectorTracker(bean));
+        }
+        // Never serve an empty probe, even before the first scheduled sample
+        sample();
+    }
+    
+    /**
+     * Latest diagnostics snapshot
+     */
+    public RuntimeDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+    
+    /**
+     * Latest health document, an unmodifiable map rebuilt once per interval
+     */
+    public Map<String, Object> getHealth() {
+        return health;
+    }
+    
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        // The management or reactive servers have their own namespace; only the main container serves requests
+        if (event.getApplicationContext().getServerNamespace() == null
+                && event.getWebServer() instanceof TomcatWebServer tomcat) {
+            protocolHandler = tomcat.getTomcat().getConnector().getProtocolHandler();
+        }
+    }
+    
+    @Override
+    public synchronized void start() {
+        for (CollectorTracker collector : collectors) {
+            collector.register();
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "runtime-diagnostics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (safepointMonitor != null) {
+            executor.execute(this::startSafepointMonitor);
+        }
+        long period = properties.getInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::sampleSafely, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        for (CollectorTracker collector : collectors) {
+            collector.unregister();
+        }
+        if (safepointMonitor != null) {
+            safepointMonitor.close();
+        }
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+    
+    /**
+     * Started before the web server, so the first probe already finds a sampler running,
+     * and stopped after it, so the sampler keeps running through graceful shutdown.
+     * Boot starts the web server at {@code DEFAULT_PHASE - 2048}, phases start in ascending order.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+    
+    private void startSafepointMonitor() {
+        try {
+            safepointMonitor.start();
+        } catch (RuntimeException | LinkageError e) {
+            // JFR is missing from some runtimes (minimal jlink images) or disabled by policy
+            logger.warn("Safepoint statistics unavailable: {}", e.toString());
+        }
+    }
+    
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the previous snapshot stays in place
+            logger.warn("Runtime diagnostics sample failed", e);
+        }
+    }
+    
+    private void sample() {
+        long now = System.nanoTime();
+        long elapsedNanos = previousSampleNanos == 0 ? 0 : now - previousSampleNanos;
+        previousSampleNanos = now;
+        
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        RuntimeDiagnostics snapshot = new RuntimeDiagnostics();
+        snapshot.setSampledAt(LocalDateTime.now());
+        snapshot.setIntervalMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        snapshot.setUptimeMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        snapshot.setHeapUsedBytes(heap.getUsed());
+        snapshot.setHeapCommittedBytes(heap.getCommitted());
+        snapshot.setHeapMaxBytes(heap.getMax());
+        snapshot.setAllocationRateBytesPerSecond(allocationRate(elapsedNanos));
+        snapshot.setCollectors(collectorStats());
+        snapshot.setSafepoints(safepointMonitor != null ? safepointMonitor.snapshot() : null);
+        snapshot.setRequestPool(requestPoolStats());
+        snapshot.setBufferPools(bufferPoolStats());
+        snapshot.setStore(storeStats());
+        diagnostics = snapshot;
+        health = buildHealth(snapshot);
+    }
+    
+    private long allocationRate(long elapsedNanos) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        // Per-thread counters, as the JVM-wide total only exists from Java 21; bytes allocated
+        // by threads that ended during the interval are missed, new threads count from zero
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> previous = previousAllocatedBytes;
+        Map<Long, Long> current = new HashMap<>(ids.length * 2);
+        long delta = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] < 0) {
+                continue;
+            }
+            current.put(ids[i], allocated[i]);
+            delta += allocated[i] - previous.getOrDefault(ids[i], 0L);
+        }
+        previousAllocatedBytes = current;
+        if (elapsedNanos == 0) {
+            return -1;
+        }
+        return (long) (delta * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+    }
+    
+    private List<RuntimeDiagnostics.CollectorStats> collectorStats() {
+        List<RuntimeDiagnostics.CollectorStats> stats = new ArrayList<>(collectors.size());
+        for (CollectorTracker collector : collectors) {
+            stats.add(collector.sample());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+    
+    private RuntimeDiagnostics.RequestPoolStats requestPoolStats() {
+        ProtocolHandler handler = protocolHandler;
+        if (handler == null) {
+            return null;
+        }
+        long connections = -1;
+        int maxConnections = -1;
+        if (handler instanceof AbstractProtocol<?> protocol) {
+            connections = protocol.getConnectionCount();
+            maxConnections = protocol.getMaxConnections();
+        }
+        
+        Executor executor = handler.getExecutor();
+        int active;
+        int poolSize;
+        int maxThreads;
+        int queued;
+        if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor pool) {
+            active = pool.getActiveCount();
+            poolSize = pool.getPoolSize();
+            maxThreads = pool.getMaximumPoolSize();
+            queued = pool.getQueue().size();
+        } else if (executor instanceof ThreadPoolExecutor pool) {
+            active = pool.getActiveCount();
+            poolSize = pool.getPoolSize();
+            maxThreads = pool.getMaximumPoolSize();
+            queued = pool.getQueue().size();
+        } else {
+            // Virtual-thread executors start a thread per task and have no limit to saturate
+            active = -1;
+            poolSize = -1;
+            maxThreads = -1;
+            queued = -1;
+        }
+        double saturation = maxThreads > 0 ? (double) active / maxThreads : -1;
+        String executorType = executor != null ? executor.getClass().getSimpleName() : "none";
+        return new RuntimeDiagnostics.RequestPoolStats(
+                executorType, active, poolSize, maxThreads, queued, connections, maxConnections, saturation);
+    }
+    
+    private static List<RuntimeDiagnostics.BufferPoolStats> bufferPoolStats() {
+        List<RuntimeDiagnostics.BufferPoolStats> stats = new ArrayList<>();
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            stats.add(new RuntimeDiagnostics.BufferPoolStats(
+                    pool.getName(), pool.getCount(), pool.getMemoryUsed(), pool.getTotalCapacity()));
+        }
+        return Collections.unmodifiableList(stats);
+    }
+    
+    private RuntimeDiagnostics.StoreStats storeStats() {
+        // Bypass decorators, so sampling is neither cached nor counted as traffic
+        SampleService backend = sampleService;
+        while (backend instanceof ForwardingSampleService forwarding) {
+            backend = forwarding.getDelegate();
+        }
+        long size = backend.count();
+        if (backend instanceof OffHeapSampleServiceImpl offHeap) {
+            return new RuntimeDiagnostics.StoreStats("offheap", size,
+                    offHeap.getIndexBytes(), offHeap.getLiveBytes() + offHeap.getGarbageBytes());
+        }
+        
+        String name = backend instanceof SampleServiceImpl ? "memory"
+                : backend instanceof ShardedSampleServiceImpl ? "sharded"
+                : backend.getClass().getSimpleName();
+        List<SampleModel> sampled = size == 0 ? List.of() : backend.getSamplesAfter(null, properties.getFootprintSampleSize());
+        if (sampled.isEmpty()) {
+            return new RuntimeDiagnostics.StoreStats(name, size, 0, 0);
+        }
+        long sampledBytes = 0;
+        for (SampleModel sample : sampled) {
+            sampledBytes += SampleFootprint.estimateEntry(sample);
+        }
+        return new RuntimeDiagnostics.StoreStats(name, size, sampledBytes * size / sampled.size(), 0);
+    }
+    
+    private static Map<String, Object> buildHealth(RuntimeDiagnostics snapshot) {
+        Map<String, Object> healthInfo = new LinkedHashMap<>();
+        
+        // Basic health status
+        healthInfo.put("status", "UP");
+        healthInfo.put("timestamp", snapshot.getSampledAt());
+        
+        // Basic system information
+        Map<String, Object> systemInfo = new LinkedHashMap<>();
+        systemInfo.put("javaVersion", System.getProperty("java.version"));
+        systemInfo.put("osName", System.getProperty("os.name"));
+        systemInfo.put("osVersion", System.getProperty("os.version"));
+        systemInfo.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        systemInfo.put("maxMemory", Runtime.getRuntime().maxMemory());
+        systemInfo.put("freeMemory", Runtime.getRuntime().freeMemory());
+        systemInfo.put("heapUsed", snapshot.getHeapUsedBytes());
+        systemInfo.put("allocationRate", snapshot.getAllocationRateBytesPerSecond());
+        healthInfo.put("system", Collections.unmodifiableMap(systemInfo));
+        
+        // Application information
+        Map<String, Object> appInfo = new LinkedHashMap<>();
+        appInfo.put("name", "spring-boot-framework");
+        appInfo.put("version", "1.0.0");
+        appInfo.put("storeSize", snapshot.getStore().getSize());
+        healthInfo.put("application", Collections.unmodifiableMap(appInfo));
+        
+        return Collections.unmodifiableMap(healthInfo);
+    }
+    
+    /**
+     * Cumulative counters of one collector, plus the pauses reported through its
+     * notifications since the previous sample
+     */
+    private static final class CollectorTracker implements NotificationListener {
+        
+        private final GarbageCollectorMXBean bean;
+        
+        // Updated by the JMX notification thread, drained by the sampler
+        private final AtomicLong intervalMaxPauseMillis = new AtomicLong();
+        private volatile long lastPauseMillis = -1;
+        private volatile String lastCause;
+        
+        // Only touched by the sampler
+        private long previousCount;
+        private long previousTime;
+        
+        CollectorTracker(GarbageCollectorMXBean bean) {
+            this.bean = bean;
+            this.previousCount = Math.max(0, bean.getCollectionCount());
+            this.previousTime = Math.max(0, bean.getCollectionTime());
+        }
+        
+        void register() {
+            if (bean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+        
+        void unregister() {
+            if (bean instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Never registered
+                }
+            }
+        }
+        
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long pause = info.getGcInfo().getDuration();
+            lastPauseMillis = pause;
+            lastCause = info.getGcCause();
+            intervalMaxPauseMillis.accumulateAndGet(pause, Math::max);
+        }
+        
+        RuntimeDiagnostics.CollectorStats sample() {
+            long count = bean.getCollectionCount();
+            long time = bean.getCollectionTime();
+            long intervalCount = count - previousCount;
+            long intervalTime = time - previousTime;
+            previousCount = count;
+            previousTime = time;
+            return new RuntimeDiagnostics.CollectorStats(bean.getName(), count, time,
+                    intervalCount, intervalTime, intervalMaxPauseMillis.getAndSet(0), lastPauseMillis, lastCause);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.framework.metrics;
+
+import com.example.framework.model.RuntimeDiagnostics;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Accumulates safepoint counts and durations from a JFR event stream.
+ * <p>
+ * HotSpot only exposes its safepoint counters through an internal MBean that
+ * needs {@code --add-exports}; the jdk.SafepointBegin and jdk.SafepointEnd
+ * events carry the same information through a supported API. A safepoint
+ * lasts from the start of its begin event (threads being brought to a stop)
+ * to the end of its end event (threads released); the begin event's own
+ * duration is the time-to-safepoint. JFR flushes the stream about once a
+ * second, so the totals trail the JVM by up to that much.
+ */
+public class SafepointMonitor implements AutoCloseable {
+    
+    private static final String SAFEPOINT_BEGIN = "jdk.SafepointBegin";
+    private static final String SAFEPOINT_END = "jdk.SafepointEnd";
+    
+    // The stream buffers events on disk; it only needs to hold what has not been consumed yet
+    private static final long MAX_STREAM_BYTES = 4L * 1024 * 1024;
+    
+    private RecordingStream stream;
+    
+    // Written by the stream's thread, read by the sampler; guarded by this
+    private long beginId = -1;
+    private Instant beginStart;
+    private long count;
+    private long totalNanos;
+    private long syncNanos;
+    private long intervalCount;
+    private long intervalNanos;
+    private long intervalMaxNanos;
+    
+    /**
+     * Start streaming safepoint events.
+     * Starting the JFR subsystem takes a second or so, so call this off the startup path.
+     */
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(SAFEPOINT_BEGIN).withoutThreshold();
+        recording.enable(SAFEPOINT_END).withoutThreshold();
+        recording.setMaxSize(MAX_STREAM_BYTES);
+        recording.onEvent(SAFEPOINT_BEGIN, this::onBegin);
+        recording.onEvent(SAFEPOINT_END, this::onEnd);
+        recording.startAsync();
+        stream = recording;
+    }
+    
+    private synchronized void onBegin(RecordedEvent event) {
+        beginId = event.getLong("safepointId");
+        beginStart = event.getStartTime();
+        syncNanos += event.getDuration().toNanos();
+    }
+    
+    private synchronized void onEnd(RecordedEvent event) {
+        if (event.getLong("safepointId") != beginId) {
+            // The begin event was emitted before the stream started
+            return;
+        }
+        long nanos = Duration.between(beginStart, event.getEndTime()).toNanos();
+        count++;
+        totalNanos += nanos;
+        intervalCount++;
+        intervalNanos += nanos;
+        intervalMaxNanos = Math.max(intervalMaxNanos, nanos);
+        beginId = -1;
+    }
+    
+    /**
+     * Totals since the stream started, with interval values covering the time
+     * since the previous call
+     */
+    public synchronized RuntimeDiagnostics.SafepointStats snapshot() {
+        RuntimeDiagnostics.SafepointStats stats = new RuntimeDiagnostics.SafepointStats(
+                count, toMillis(totalNanos), toMillis(syncNanos),
+                intervalCount, toMillis(intervalNanos), toMillis(intervalMaxNanos));
+        intervalCount = 0;
+        intervalNanos = 0;
+        intervalMaxNanos = 0;
+        return stats;
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+    
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.framework.metrics;
+
+import com.example.framework.model.SampleModel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estimates the heap occupied by samples held in the in-memory store.
+ * <p>
+ * Sizes assume a 64-bit HotSpot JVM with compressed object pointers and class
+ * pointers (12-byte headers, 4-byte references, 8-byte alignment), the default
+ * for heaps below 32 GB. The estimate is deliberately cheap: it adds up field
+ * sizes instead of walking the object graph.
+ */
+public final class SampleFootprint {
+    
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    
+    // Id index entry: ConcurrentHashMap node and its share of the table, boxed key,
+    // and the skip-list node with its average share of index levels
+    private static final long STORE_ENTRY_BYTES = 32 + 8 + 16 + 24 + 8;
+    
+    private static final long SAMPLE_BYTES = align(HEADER + 6 * REFERENCE);
+    private static final long LONG_BYTES = align(HEADER + 8);
+    
+    // LocalDateTime plus its LocalDate (int, short, short) and LocalTime (three bytes and an int)
+    private static final long DATE_TIME_BYTES = align(HEADER + 2 * REFERENCE)
+            + align(HEADER + 4 + 2 + 2) + align(HEADER + 3 + 4);
+    
+    private SampleFootprint() {
+    }
+    
+    /**
+     * Estimated heap bytes of one stored sample, including its entry in the store's maps
+     */
+    public static long estimateEntry(SampleModel sample) {
+        return STORE_ENTRY_BYTES + estimateSample(sample);
+    }
+    
+    /**
+     * Estimated heap bytes of a sample and the objects only it references
+     */
+    public static long estimateSample(SampleModel sample) {
+        return SAMPLE_BYTES
+                + stringBytes(sample.getName())
+                + stringBytes(sample.getDescription())
+                + dateTimeBytes(sample.getCreatedAt())
+                + dateTimeBytes(sample.getUpdatedAt())
+                + (sample.getVersion() != null ? LONG_BYTES : 0);
+    }
+    
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // Compact strings store one byte per char unless a char needs more than Latin-1
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        // String object (hash, coder, value) plus its byte array
+        return align(HEADER + 4 + 1 + 1 + REFERENCE) + align(16 + (long) value.length() * bytesPerChar);
+    }
+    
+    private static long dateTimeBytes(LocalDateTime value) {
+        return value != null ? DATE_TIME_BYTES : 0;
+    }
+    
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
\ No newline at end of file
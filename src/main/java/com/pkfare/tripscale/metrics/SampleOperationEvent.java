@@ -0,0 +1,143 @@
+package com.example.framework.metrics;
+
+import com.example.framework.model.BatchResult;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.SamplePage;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * JFR event for one SampleService operation.
+ * <p>
+ * Follows the usual JFR pattern: {@link #start()} the event before the call, then
+ * {@link #finish} it with the result; fields are only filled in when the event is
+ * going to be committed. While no recording enables the event, {@link #start()}
+ * returns null and the completing methods do nothing, so an operation costs one
+ * flag check and allocates nothing. Stack traces are off: with one event per operation they
+ * would cost more than the operation.
+ */
+@Name(SampleOperationEvent.NAME)
+@Label("Sample Operation")
+@Category({"Sample Service", "Store"})
+@Description("A call to a SampleService operation")
+@StackTrace(false)
+public class SampleOperationEvent extends Event {
+    
+    public static final String NAME = "com.example.framework.SampleOperation";
+    
+    // Escape analysis cannot drop an event that the decorators' catch blocks keep alive,
+    // so no event is created at all while the type is disabled
+    private static final EventType TYPE = EventType.getEventType(SampleOperationEvent.class);
+    
+    @Label("Operation")
+    private String operation;
+    
+    @Label("Sample ID")
+    @Description("ID of the sample the operation addressed, 0 when it addressed none or several")
+    private long sampleId;
+    
+    @Label("Result Size")
+    @Description("Number of samples returned or affected, -1 when not counted")
+    private int resultSize;
+    
+    @Label("Error")
+    @Description("Class of the exception the operation failed with, if any")
+    private String error;
+    
+    /**
+     * Create an event and start its clock
+     *
+     * @return The started event, or null while no recording enables this event type
+     */
+    public static SampleOperationEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        SampleOperationEvent event = new SampleOperationEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Complete an event with the operation's result and commit it if a recording wants it
+     *
+     * @param event Event from {@link #start()}, null when disabled
+     * @return The result, for returning straight from the operation
+     */
+    public static <T> T finish(SampleOperationEvent event, String operation, Long sampleId, T result) {
+        if (event != null) {
+            event.complete(operation, sampleId, resultSize(result), null);
+        }
+        return result;
+    }
+    
+    /**
+     * Complete an event with an explicit result size and commit it if a recording wants it
+     *
+     * @param event Event from {@link #start()}, null when disabled
+     */
+    public static void finishWithSize(SampleOperationEvent event, String operation, Long sampleId, int resultSize) {
+        if (event != null) {
+            event.complete(operation, sampleId, resultSize, null);
+        }
+    }
+    
+    /**
+     * Complete an event for an operation that threw, and commit it if a recording wants it
+     *
+     * @param event Event from {@link #start()}, null when disabled
+     */
+    public static void fail(SampleOperationEvent event, String operation, Long sampleId, Throwable failure) {
+        if (event != null) {
+            event.complete(operation, sampleId, 0, failure);
+        }
+    }
+    
+    private void complete(String operation, Long sampleId, int resultSize, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sampleId = sampleId != null ? sampleId : 0;
+            this.resultSize = resultSize;
+            this.error = failure != null ? failure.getClass().getName() : null;
+            commit();
+        }
+    }
+    
+    /**
+     * Number of samples a result carries: the size of a collection or page,
+     * 0 or 1 for an optional or a single value, 0 for nothing
+     */
+    static int resultSize(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean found) {
+            return found ? 1 : 0;
+        }
+        if (result instanceof SamplePage page) {
+            return page.getItems() != null ? page.getItems().size() : 0;
+        }
+        if (result instanceof ChangeBatch batch) {
+            return batch.getEvents() != null ? batch.getEvents().size() : 0;
+        }
+        if (result instanceof BatchResult batch) {
+            return batch.getItems() != null ? batch.getItems().size() : 0;
+        }
+        return 1;
+    }
+}
\ No newline at end of file
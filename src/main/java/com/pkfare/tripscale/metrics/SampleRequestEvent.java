@@ -0,0 +1,45 @@
+package com.example.framework.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one REST request, from the first filter to the response.
+ * Requests that go asynchronous span every dispatch up to the one completing them.
+ * Together with {@link SampleOperationEvent} it shows, for a slow request, which
+ * store operations ran inside it and what the JVM was doing meanwhile.
+ */
+@Name(SampleRequestEvent.NAME)
+@Label("Sample Request")
+@Category({"Sample Service", "HTTP"})
+@Description("A REST request handled by the application")
+@StackTrace(false)
+public class SampleRequestEvent extends Event {
+    
+    public static final String NAME = "com.example.framework.SampleRequest";
+    
+    @Label("Method")
+    String method;
+    
+    @Label("URI")
+    String uri;
+    
+    @Label("Endpoint")
+    @Description("Controller method that handled the request, empty if none matched")
+    String endpoint;
+    
+    @Label("Status")
+    int status;
+    
+    @Label("Sample ID")
+    @Description("The {id} path variable, 0 when the endpoint has none")
+    long sampleId;
+    
+    @Label("Result Size")
+    @Description("Number of samples or events in the response body, -1 for streamed bodies and errors")
+    int resultSize = -1;
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.example.framework.model;
+
+/**
+ * Outcome of a single item of a batch request.
+ * Carries the HTTP status the item would have produced as a single request,
+ * plus either the resulting entity or the error details.
+ */
+public class BatchItemResult {
+    
+    private int index;
+    private Long id;
+    private int status;
+    private SampleModel sample;
+    private String error;
+    private String message;
+    
+    /**
+     * Default constructor
+     */
+    public BatchItemResult() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public BatchItemResult(int index, Long id, int status, SampleModel sample, String error, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.sample = sample;
+        this.error = error;
+        this.message = message;
+    }
+    
+    /**
+     * Create the result of a successful item
+     */
+    public static BatchItemResult success(int index, Long id, int status, SampleModel sample) {
+        return new BatchItemResult(index, id, status, sample, null, null);
+    }
+    
+    /**
+     * Create the result of a failed item
+     */
+    public static BatchItemResult failure(int index, Long id, int status, String error, String message) {
+        return new BatchItemResult(index, id, status, null, error, message);
+    }
+    
+    /**
+     * Whether the item was applied
+     */
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+    
+    // Getters
+    public int getIndex() {
+        return index;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public SampleModel getSample() {
+        return sample;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    // Setters
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    
+    public void setSample(SampleModel sample) {
+        this.sample = sample;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "index=" + index +
+                ", id=" + id +
+                ", status=" + status +
+                ", error='" + error + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
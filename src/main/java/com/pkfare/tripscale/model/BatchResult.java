@@ -0,0 +1,68 @@
+package com.example.framework.model;
+
+import java.util.List;
+
+/**
+ * Response of a batch request, reporting the outcome of every item.
+ * A failed item never aborts the rest of the batch.
+ */
+public class BatchResult {
+    
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+    
+    /**
+     * Default constructor
+     */
+    public BatchResult() {
+    }
+    
+    /**
+     * Constructor computing the counters from the item results
+     */
+    public BatchResult(List<BatchItemResult> items) {
+        this.items = items;
+        for (BatchItemResult item : items) {
+            if (item.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+    
+    // Getters
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public List<BatchItemResult> getItems() {
+        return items;
+    }
+    
+    // Setters
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public void setItems(List<BatchItemResult> items) {
+        this.items = items;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+}
\ No newline at end of file
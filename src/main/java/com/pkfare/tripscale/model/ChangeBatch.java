@@ -0,0 +1,94 @@
+package com.example.framework.model;
+
+import java.util.List;
+
+/**
+ * A run of consecutive change events read from the change log.
+ * Pass {@code cursor} as the 'after' sequence of the next read to continue
+ * without gaps. When {@code resyncRequired} is set, the requested events are
+ * no longer retained: reload the full state, then resume after {@code latestSequence}.
+ * Sequences only continue one another within one {@code epoch} of the change log;
+ * a batch of another epoch comes from a restarted log and needs a reload as well.
+ */
+public class ChangeBatch {
+    
+    private List<SampleChangeEvent> events;
+    private long epoch;
+    private long cursor;
+    private long latestSequence;
+    private boolean resyncRequired;
+    
+    /**
+     * Default constructor
+     */
+    public ChangeBatch() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public ChangeBatch(List<SampleChangeEvent> events, long epoch, long cursor, long latestSequence,
+                       boolean resyncRequired) {
+        this.events = events;
+        this.epoch = epoch;
+        this.cursor = cursor;
+        this.latestSequence = latestSequence;
+        this.resyncRequired = resyncRequired;
+    }
+    
+    // Getters
+    public List<SampleChangeEvent> getEvents() {
+        return events;
+    }
+    
+    /**
+     * Random ID of the change log instance the events come from
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public long getCursor() {
+        return cursor;
+    }
+    
+    public long getLatestSequence() {
+        return latestSequence;
+    }
+    
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+    
+    // Setters
+    public void setEvents(List<SampleChangeEvent> events) {
+        this.events = events;
+    }
+    
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+    
+    public void setCursor(long cursor) {
+        this.cursor = cursor;
+    }
+    
+    public void setLatestSequence(long latestSequence) {
+        this.latestSequence = latestSequence;
+    }
+    
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+    
+    @Override
+    public String toString() {
+        return "ChangeBatch{" +
+                "events=" + (events == null ? 0 : events.size()) +
+                ", epoch=" + epoch +
+                ", cursor=" + cursor +
+                ", latestSequence=" + latestSequence +
+                ", resyncRequired=" + resyncRequired +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.framework.model;
+
+import java.util.List;
+
+/**
+ * Summary of a streaming sample import.
+ * Line numbers are 1-based; only the first rejected lines are listed.
+ */
+public class ImportSummary {
+    
+    private long linesRead;
+    private long imported;
+    private long rejected;
+    private List<Long> rejectedLines;
+    private boolean rejectedLinesTruncated;
+    
+    /**
+     * Default constructor
+     */
+    public ImportSummary() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public ImportSummary(long linesRead, long imported, long rejected, List<Long> rejectedLines,
+                         boolean rejectedLinesTruncated) {
+        this.linesRead = linesRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.rejectedLines = rejectedLines;
+        this.rejectedLinesTruncated = rejectedLinesTruncated;
+    }
+    
+    // Getters
+    public long getLinesRead() {
+        return linesRead;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public List<Long> getRejectedLines() {
+        return rejectedLines;
+    }
+    
+    public boolean isRejectedLinesTruncated() {
+        return rejectedLinesTruncated;
+    }
+    
+    // Setters
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public void setRejectedLines(List<Long> rejectedLines) {
+        this.rejectedLines = rejectedLines;
+    }
+    
+    public void setRejectedLinesTruncated(boolean rejectedLinesTruncated) {
+        this.rejectedLinesTruncated = rejectedLinesTruncated;
+    }
+    
+    @Override
+    public String toString() {
+        return "ImportSummary{" +
+                "linesRead=" + linesRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                ", rejectedLinesTruncated=" + rejectedLinesTruncated +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.framework.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partition of a node in a partitioned cluster.
+ * After a membership change, {@code moved} holds the number of samples this node
+ * handed to each new owner; it is null otherwise.
+ */
+public class PartitionStatus {
+    
+    private String self;
+    private int nodeId;
+    private List<String> nodes;
+    private long localSamples;
+    private Map<String, Long> moved;
+    
+    /**
+     * Default constructor
+     */
+    public PartitionStatus() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public PartitionStatus(String self, int nodeId, List<String> nodes, long localSamples, Map<String, Long> moved) {
+        this.self = self;
+        this.nodeId = nodeId;
+        this.nodes = nodes;
+        this.localSamples = localSamples;
+        this.moved = moved;
+    }
+    
+    // Getters
+    public String getSelf() {
+        return self;
+    }
+    
+    public int getNodeId() {
+        return nodeId;
+    }
+    
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    public long getLocalSamples() {
+        return localSamples;
+    }
+    
+    public Map<String, Long> getMoved() {
+        return moved;
+    }
+    
+    // Setters
+    public void setSelf(String self) {
+        this.self = self;
+    }
+    
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public void setLocalSamples(long localSamples) {
+        this.localSamples = localSamples;
+    }
+    
+    public void setMoved(Map<String, Long> moved) {
+        this.moved = moved;
+    }
+    
+    @Override
+    public String toString() {
+        return "PartitionStatus{" +
+                "self='" + self + '\'' +
+                ", nodeId=" + nodeId +
+                ", nodes=" + nodes +
+                ", localSamples=" + localSamples +
+                ", moved=" + moved +
+                '}';
+    }
+}
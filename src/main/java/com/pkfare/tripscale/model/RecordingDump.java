@@ -0,0 +1,75 @@
+package com.example.framework.model;
+
+import java.time.Instant;
+
+/**
+ * A flight recording written to disk on request.
+ * The file holds whole JFR chunks, so it may start somewhat before {@code from}.
+ */
+public class RecordingDump {
+    
+    private String file;
+    private Instant from;
+    private Instant to;
+    private long sizeBytes;
+    
+    /**
+     * Default constructor
+     */
+    public RecordingDump() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public RecordingDump(String file, Instant from, Instant to, long sizeBytes) {
+        this.file = file;
+        this.from = from;
+        this.to = to;
+        this.sizeBytes = sizeBytes;
+    }
+    
+    // Getters
+    public String getFile() {
+        return file;
+    }
+    
+    public Instant getFrom() {
+        return from;
+    }
+    
+    public Instant getTo() {
+        return to;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    // Setters
+    public void setFile(String file) {
+        this.file = file;
+    }
+    
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+    
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    @Override
+    public String toString() {
+        return "RecordingDump{" +
+                "file='" + file + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                ", sizeBytes=" + sizeBytes +
+                '}';
+    }
+}
\ No newline at end of file
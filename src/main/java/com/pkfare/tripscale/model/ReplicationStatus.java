@@ -0,0 +1,110 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Replication state of a node.
+ * Sequences are those of the leader's change log; lag is the number of the leader's
+ * changes the node had not applied as of its last contact with the leader.
+ */
+public class ReplicationStatus {
+    
+    private String role;
+    private String state;
+    private String leaderUrl;
+    private long appliedSequence;
+    private long leaderSequence;
+    private long lag;
+    private LocalDateTime lastContact;
+    
+    /**
+     * Default constructor
+     */
+    public ReplicationStatus() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public ReplicationStatus(String role, String state, String leaderUrl, long appliedSequence, long leaderSequence,
+                             long lag, LocalDateTime lastContact) {
+        this.role = role;
+        this.state = state;
+        this.leaderUrl = leaderUrl;
+        this.appliedSequence = appliedSequence;
+        this.leaderSequence = leaderSequence;
+        this.lag = lag;
+        this.lastContact = lastContact;
+    }
+    
+    // Getters
+    public String getRole() {
+        return role;
+    }
+    
+    public String getState() {
+        return state;
+    }
+    
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+    
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+    
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+    
+    public long getLag() {
+        return lag;
+    }
+    
+    public LocalDateTime getLastContact() {
+        return lastContact;
+    }
+    
+    // Setters
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public void setLeaderUrl(String leaderUrl) {
+        this.leaderUrl = leaderUrl;
+    }
+    
+    public void setAppliedSequence(long appliedSequence) {
+        this.appliedSequence = appliedSequence;
+    }
+    
+    public void setLeaderSequence(long leaderSequence) {
+        this.leaderSequence = leaderSequence;
+    }
+    
+    public void setLag(long lag) {
+        this.lag = lag;
+    }
+    
+    public void setLastContact(LocalDateTime lastContact) {
+        this.lastContact = lastContact;
+    }
+    
+    @Override
+    public String toString() {
+        return "ReplicationStatus{" +
+                "role='" + role + '\'' +
+                ", state='" + state + '\'' +
+                ", leaderUrl='" + leaderUrl + '\'' +
+                ", appliedSequence=" + appliedSequence +
+                ", leaderSequence=" + leaderSequence +
+                ", lag=" + lag +
+                ", lastContact=" + lastContact +
+                '}';
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of JVM and store diagnostics taken by the background sampler.
+ * Rates and "interval" values cover the time since the previous snapshot;
+ * a value of -1 means the running JVM does not provide it.
+ */
+public class RuntimeDiagnostics {
+    
+    private LocalDateTime sampledAt;
+    private long intervalMillis;
+    private long uptimeMillis;
+    private long heapUsedBytes;
+    private long heapCommittedBytes;
+    private long heapMaxBytes;
+    private long allocationRateBytesPerSecond;
+    private List<CollectorStats> collectors;
+    private SafepointStats safepoints;
+    private RequestPoolStats requestPool;
+    private List<BufferPoolStats> bufferPools;
+    private StoreStats store;
+    
+    /**
+     * Default constructor
+     */
+    public RuntimeDiagnostics() {
+    }
+    
+    // Getters
+    public LocalDateTime getSampledAt() {
+        return sampledAt;
+    }
+    
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+    
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+    
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+    
+    public long getHeapCommittedBytes() {
+        return heapCommittedBytes;
+    }
+    
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+    
+    public long getAllocationRateBytesPerSecond() {
+        return allocationRateBytesPerSecond;
+    }
+    
+    public List<CollectorStats> getCollectors() {
+        return collectors;
+    }
+    
+    public SafepointStats getSafepoints() {
+        return safepoints;
+    }
+    
+    public RequestPoolStats getRequestPool() {
+        return requestPool;
+    }
+    
+    public List<BufferPoolStats> getBufferPools() {
+        return bufferPools;
+    }
+    
+    public StoreStats getStore() {
+        return store;
+    }
+    
+    // Setters
+    public void setSampledAt(LocalDateTime sampledAt) {
+        this.sampledAt = sampledAt;
+    }
+    
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+    
+    public void setUptimeMillis(long uptimeMillis) {
+        this.uptimeMillis = uptimeMillis;
+    }
+    
+    public void setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+    }
+    
+    public void setHeapCommittedBytes(long heapCommittedBytes) {
+        this.heapCommittedBytes = heapCommittedBytes;
+    }
+    
+    public void setHeapMaxBytes(long heapMaxBytes) {
+        this.heapMaxBytes = heapMaxBytes;
+    }
+    
+    public void setAllocationRateBytesPerSecond(long allocationRateBytesPerSecond) {
+        this.allocationRateBytesPerSecond = allocationRateBytesPerSecond;
+    }
+    
+    public void setCollectors(List<CollectorStats> collectors) {
+        this.collectors = collectors;
+    }
+    
+    public void setSafepoints(SafepointStats safepoints) {
+        this.safepoints = safepoints;
+    }
+    
+    public void setRequestPool(RequestPoolStats requestPool) {
+        this.requestPool = requestPool;
+    }
+    
+    public void setBufferPools(List<BufferPoolStats> bufferPools) {
+        this.bufferPools = bufferPools;
+    }
+    
+    public void setStore(StoreStats store) {
+        this.store = store;
+    }
+    
+    /**
+     * Collections and pauses of one garbage collector.
+     * Concurrent collectors (such as "G1 Concurrent GC" or "ZGC Cycles") report
+     * the duration of whole cycles here, most of which the application keeps running through.
+     */
+    public static class CollectorStats {
+        
+        private final String name;
+        private final long collectionCount;
+        private final long collectionTimeMillis;
+        private final long intervalCollections;
+        private final long intervalTimeMillis;
+        private final long intervalMaxPauseMillis;
+        private final long lastPauseMillis;
+        private final String lastCause;
+        
+        /**
+         * Constructor with all fields
+         */
+        public CollectorStats(String name, long collectionCount, long collectionTimeMillis,
+                              long intervalCollections, long intervalTimeMillis, long intervalMaxPauseMillis,
+                              long lastPauseMillis, String lastCause) {
+            this.name = name;
+            this.collectionCount = collectionCount;
+            this.collectionTimeMillis = collectionTimeMillis;
+            this.intervalCollections = intervalCollections;
+            this.intervalTimeMillis = intervalTimeMillis;
+            this.intervalMaxPauseMillis = intervalMaxPauseMillis;
+            this.lastPauseMillis = lastPauseMillis;
+            this.lastCause = lastCause;
+        }
+        
+        // Getters
+        public String getName() {
+            return name;
+        }
+        
+        public long getCollectionCount() {
+            return collectionCount;
+        }
+        
+        public long getCollectionTimeMillis() {
+            return collectionTimeMillis;
+        }
+        
+        public long getIntervalCollections() {
+            return intervalCollections;
+        }
+        
+        public long getIntervalTimeMillis() {
+            return intervalTimeMillis;
+        }
+        
+        public long getIntervalMaxPauseMillis() {
+            return intervalMaxPauseMillis;
+        }
+        
+        public long getLastPauseMillis() {
+            return lastPauseMillis;
+        }
+        
+        public String getLastCause() {
+            return lastCause;
+        }
+    }
+    
+    /**
+     * Time the JVM spent with all application threads stopped at a safepoint.
+     * Covers GC pauses as well as deoptimization, class redefinition, thread dumps and the like.
+     */
+    public static class SafepointStats {
+        
+        private final long count;
+        private final double totalTimeMillis;
+        private final double syncTimeMillis;
+        private final long intervalCount;
+        private final double intervalTimeMillis;
+        private final double intervalMaxTimeMillis;
+        
+        /**
+         * Constructor with all fields
+         */
+        public SafepointStats(long count, double totalTimeMillis, double syncTimeMillis,
+                              long intervalCount, double intervalTimeMillis, double intervalMaxTimeMillis) {
+            this.count = count;
+            this.totalTimeMillis = totalTimeMillis;
+            this.syncTimeMillis = syncTimeMillis;
+            this.intervalCount = intervalCount;
+            this.intervalTimeMillis = intervalTimeMillis;
+            this.intervalMaxTimeMillis = intervalMaxTimeMillis;
+        }
+        
+        // Getters
+        public long getCount() {
+            return count;
+        }
+        
+        public double getTotalTimeMillis() {
+            return totalTimeMillis;
+        }
+        
+        public double getSyncTimeMillis() {
+            return syncTimeMillis;
+        }
+        
+        public long getIntervalCount() {
+            return intervalCount;
+        }
+        
+        public double getIntervalTimeMillis() {
+            return intervalTimeMillis;
+        }
+        
+        public double getIntervalMaxTimeMillis() {
+            return intervalMaxTimeMillis;
+        }
+    }
+    
+    /**
+     * Saturation of the servlet container's request-processing pool.
+     * With virtual threads there is no fixed pool: only the executor type and connection counts are known.
+     */
+    public static class RequestPoolStats {
+        
+        private final String executor;
+        private final int activeThreads;
+        private final int poolSize;
+        private final int maxThreads;
+        private final int queuedTasks;
+        private final long connections;
+        private final int maxConnections;
+        private final double saturation;
+        
+        /**
+         * Constructor with all fields
+         */
+        public RequestPoolStats(String executor, int activeThreads, int poolSize, int maxThreads,
+                                int queuedTasks, long connections, int maxConnections, double saturation) {
+            this.executor = executor;
+            this.activeThreads = activeThreads;
+            this.poolSize = poolSize;
+            this.maxThreads = maxThreads;
+            this.queuedTasks = queuedTasks;
+            this.connections = connections;
+            this.maxConnections = maxConnections;
+            this.saturation = saturation;
+        }
+        
+        // Getters
+        public String getExecutor() {
+            return executor;
+        }
+        
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+        
+        public int getPoolSize() {
+            return poolSize;
+        }
+        
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+        
+        public int getQueuedTasks() {
+            return queuedTasks;
+        }
+        
+        public long getConnections() {
+            return connections;
+        }
+        
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+        
+        public double getSaturation() {
+            return saturation;
+        }
+    }
+    
+    /**
+     * Usage of one NIO buffer pool ("direct" or "mapped")
+     */
+    public static class BufferPoolStats {
+        
+        private final String name;
+        private final long count;
+        private final long usedBytes;
+        private final long capacityBytes;
+        
+        /**
+         * Constructor with all fields
+         */
+        public BufferPoolStats(String name, long count, long usedBytes, long capacityBytes) {
+            this.name = name;
+            this.count = count;
+            this.usedBytes = usedBytes;
+            this.capacityBytes = capacityBytes;
+        }
+        
+        // Getters
+        public String getName() {
+            return name;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getUsedBytes() {
+            return usedBytes;
+        }
+        
+        public long getCapacityBytes() {
+            return capacityBytes;
+        }
+    }
+    
+    /**
+     * Size of the sample store and an estimate of the memory it occupies.
+     * The heap estimate covers the stored samples and the structure holding them,
+     * not the secondary search and time indexes.
+     */
+    public static class StoreStats {
+        
+        private final String backend;
+        private final long size;
+        private final long estimatedHeapBytes;
+        private final long offHeapBytes;
+        
+        /**
+         * Constructor with all fields
+         */
+        public StoreStats(String backend, long size, long estimatedHeapBytes, long offHeapBytes) {
+            this.backend = backend;
+            this.size = size;
+            this.estimatedHeapBytes = estimatedHeapBytes;
+            this.offHeapBytes = offHeapBytes;
+        }
+        
+        // Getters
+        public String getBackend() {
+            return backend;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        public long getEstimatedHeapBytes() {
+            return estimatedHeapBytes;
+        }
+        
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+    }
+}
\ No newline at end of file
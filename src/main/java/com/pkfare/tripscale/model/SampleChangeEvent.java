@@ -0,0 +1,100 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One mutation of the sample store, as published to change-data-capture consumers.
+ * Sequence numbers increase by one per event; events of the same sample are
+ * sequenced in the order the mutations were applied.
+ */
+public class SampleChangeEvent {
+    
+    /**
+     * Kind of mutation
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Every sample was deleted; sampleId is null
+        CLEARED
+    }
+    
+    private long sequence;
+    private Type type;
+    private Long sampleId;
+    private SampleModel sample;
+    private LocalDateTime timestamp;
+    
+    /**
+     * Default constructor
+     */
+    public SampleChangeEvent() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SampleChangeEvent(long sequence, Type type, Long sampleId, SampleModel sample, LocalDateTime timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.sampleId = sampleId;
+        this.sample = sample;
+        this.timestamp = timestamp;
+    }
+    
+    // Getters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getSampleId() {
+        return sampleId;
+    }
+    
+    /**
+     * The sample as it was after the mutation, null for DELETED and CLEARED
+     */
+    public SampleModel getSample() {
+        return sample;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    // Setters
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public void setSampleId(Long sampleId) {
+        this.sampleId = sampleId;
+    }
+    
+    public void setSample(SampleModel sample) {
+        this.sample = sample;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    @Override
+    public String toString() {
+        return "SampleChangeEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", sampleId=" + sampleId +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
\ No newline at end of file
@@ -12,6 +12,8 @@ public class SampleModel {
     private String name;
     private String description;
     private LocalDateTime createdAt;
+    private Long version;
+    private LocalDateTime updatedAt;
     
     /**
      * Default constructor
@@ -57,6 +59,14 @@ public class SampleModel {
         return createdAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -74,6 +84,14 @@ public class SampleModel {
         this.createdAt = createdAt;
     }
     
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
     @Override
     public String toString() {
         return "SampleModel{" +
@@ -81,6 +99,8 @@ public class SampleModel {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
+                ", updatedAt=" + updatedAt +
                 '}';
     }
 }
\ No newline at end of file
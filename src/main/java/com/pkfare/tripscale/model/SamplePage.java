@@ -0,0 +1,64 @@
+package com.example.framework.model;
+
+import java.util.List;
+
+/**
+ * Page of sample entities returned by keyset (cursor) paging.
+ * The next page is requested by passing {@code nextCursor} back as the cursor.
+ */
+public class SamplePage {
+    
+    private List<SampleModel> items;
+    private Long nextCursor;
+    private boolean hasMore;
+    
+    /**
+     * Default constructor
+     */
+    public SamplePage() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SamplePage(List<SampleModel> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters
+    public List<SampleModel> getItems() {
+        return items;
+    }
+    
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    // Setters
+    public void setItems(List<SampleModel> items) {
+        this.items = items;
+    }
+    
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    @Override
+    public String toString() {
+        return "SamplePage{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor=" + nextCursor +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter and aggregations of a server-side scan over all samples.
+ * Filters left null match everything; text filters other than the prefix
+ * ignore case. Aggregations are only computed when requested.
+ */
+public class SampleQuery {
+    
+    private String namePrefix;
+    private String nameContains;
+    private String descriptionContains;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer groupByNamePrefix;
+    private boolean countByDay;
+    
+    /**
+     * Default constructor
+     */
+    public SampleQuery() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SampleQuery(String namePrefix, String nameContains, String descriptionContains, LocalDateTime from,
+                       LocalDateTime to, Integer groupByNamePrefix, boolean countByDay) {
+        this.namePrefix = namePrefix;
+        this.nameContains = nameContains;
+        this.descriptionContains = descriptionContains;
+        this.from = from;
+        this.to = to;
+        this.groupByNamePrefix = groupByNamePrefix;
+        this.countByDay = countByDay;
+    }
+    
+    // Getters
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+    
+    public String getNameContains() {
+        return nameContains;
+    }
+    
+    public String getDescriptionContains() {
+        return descriptionContains;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public Integer getGroupByNamePrefix() {
+        return groupByNamePrefix;
+    }
+    
+    public boolean isCountByDay() {
+        return countByDay;
+    }
+    
+    // Setters
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+    
+    public void setNameContains(String nameContains) {
+        this.nameContains = nameContains;
+    }
+    
+    public void setDescriptionContains(String descriptionContains) {
+        this.descriptionContains = descriptionContains;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+    
+    public void setGroupByNamePrefix(Integer groupByNamePrefix) {
+        this.groupByNamePrefix = groupByNamePrefix;
+    }
+    
+    public void setCountByDay(boolean countByDay) {
+        this.countByDay = countByDay;
+    }
+    
+    @Override
+    public String toString() {
+        return "SampleQuery{" +
+                "namePrefix='" + namePrefix + '\'' +
+                ", nameContains='" + nameContains + '\'' +
+                ", descriptionContains='" + descriptionContains + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                ", groupByNamePrefix=" + groupByNamePrefix +
+                ", countByDay=" + countByDay +
+                '}';
+    }
+}
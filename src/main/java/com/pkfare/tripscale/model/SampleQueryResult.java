@@ -0,0 +1,89 @@
+package com.example.framework.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a server-side scan over all samples.
+ * Name-prefix groups are ordered by descending count and capped; day buckets are
+ * in chronological order and only cover days with at least one match.
+ */
+public class SampleQueryResult {
+    
+    private long scanned;
+    private long matched;
+    private Map<String, Long> namePrefixCounts;
+    private boolean namePrefixCountsTruncated;
+    private List<TimeBucket> dayCounts;
+    
+    /**
+     * Default constructor
+     */
+    public SampleQueryResult() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SampleQueryResult(long scanned, long matched, Map<String, Long> namePrefixCounts,
+                             boolean namePrefixCountsTruncated, List<TimeBucket> dayCounts) {
+        this.scanned = scanned;
+        this.matched = matched;
+        this.namePrefixCounts = namePrefixCounts;
+        this.namePrefixCountsTruncated = namePrefixCountsTruncated;
+        this.dayCounts = dayCounts;
+    }
+    
+    // Getters
+    public long getScanned() {
+        return scanned;
+    }
+    
+    public long getMatched() {
+        return matched;
+    }
+    
+    public Map<String, Long> getNamePrefixCounts() {
+        return namePrefixCounts;
+    }
+    
+    public boolean isNamePrefixCountsTruncated() {
+        return namePrefixCountsTruncated;
+    }
+    
+    public List<TimeBucket> getDayCounts() {
+        return dayCounts;
+    }
+    
+    // Setters
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+    
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+    
+    public void setNamePrefixCounts(Map<String, Long> namePrefixCounts) {
+        this.namePrefixCounts = namePrefixCounts;
+    }
+    
+    public void setNamePrefixCountsTruncated(boolean namePrefixCountsTruncated) {
+        this.namePrefixCountsTruncated = namePrefixCountsTruncated;
+    }
+    
+    public void setDayCounts(List<TimeBucket> dayCounts) {
+        this.dayCounts = dayCounts;
+    }
+    
+    @Override
+    public String toString() {
+        return "SampleQueryResult{" +
+                "scanned=" + scanned +
+                ", matched=" + matched +
+                ", namePrefixCounts=" + (namePrefixCounts == null ? null : namePrefixCounts.size()) +
+                ", namePrefixCountsTruncated=" + namePrefixCountsTruncated +
+                ", dayCounts=" + (dayCounts == null ? null : dayCounts.size()) +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.framework.model;
+
+/**
+ * A consistent cut through the history of the sample store.
+ * Every mutation up to {@code changeSequence} had been applied when the boundary
+ * was cut, and no later one had started.
+ */
+public class SnapshotBoundary {
+    
+    private long changeSequence;
+    private long nextId;
+    
+    /**
+     * Default constructor
+     */
+    public SnapshotBoundary() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SnapshotBoundary(long changeSequence, long nextId) {
+        this.changeSequence = changeSequence;
+        this.nextId = nextId;
+    }
+    
+    // Getters
+    public long getChangeSequence() {
+        return changeSequence;
+    }
+    
+    public long getNextId() {
+        return nextId;
+    }
+    
+    // Setters
+    public void setChangeSequence(long changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+    
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+    
+    @Override
+    public String toString() {
+        return "SnapshotBoundary{" +
+                "changeSequence=" + changeSequence +
+                ", nextId=" + nextId +
+                '}';
+    }
+}
\ No newline at end of file
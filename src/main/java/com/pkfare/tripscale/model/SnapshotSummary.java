@@ -0,0 +1,107 @@
+package com.example.framework.model;
+
+/**
+ * Summary of a snapshot export or import.
+ * Change-data-capture consumers of a node restored from the snapshot resume
+ * reading the change feed after {@code changeSequence} of the source node, as long
+ * as its change log is still at {@code changeEpoch}.
+ */
+public class SnapshotSummary {
+    
+    private long samples;
+    private long changes;
+    private long nextId;
+    private long changeSequence;
+    private long changeEpoch;
+    private long sizeBytes;
+    
+    /**
+     * Default constructor
+     */
+    public SnapshotSummary() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public SnapshotSummary(long samples, long changes, long nextId, long changeSequence, long changeEpoch,
+                           long sizeBytes) {
+        this.samples = samples;
+        this.changes = changes;
+        this.nextId = nextId;
+        this.changeSequence = changeSequence;
+        this.changeEpoch = changeEpoch;
+        this.sizeBytes = sizeBytes;
+    }
+    
+    // Getters
+    /**
+     * Samples in the scanned section of the snapshot
+     */
+    public long getSamples() {
+        return samples;
+    }
+    
+    /**
+     * Change events appended after the scan to make it consistent
+     */
+    public long getChanges() {
+        return changes;
+    }
+    
+    public long getNextId() {
+        return nextId;
+    }
+    
+    public long getChangeSequence() {
+        return changeSequence;
+    }
+    
+    /**
+     * Epoch of the source node's change log that {@code changeSequence} belongs to
+     */
+    public long getChangeEpoch() {
+        return changeEpoch;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    // Setters
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+    
+    public void setChanges(long changes) {
+        this.changes = changes;
+    }
+    
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+    
+    public void setChangeSequence(long changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+    
+    public void setChangeEpoch(long changeEpoch) {
+        this.changeEpoch = changeEpoch;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    @Override
+    public String toString() {
+        return "SnapshotSummary{" +
+                "samples=" + samples +
+                ", changes=" + changes +
+                ", nextId=" + nextId +
+                ", changeSequence=" + changeSequence +
+                ", changeEpoch=" + changeEpoch +
+                ", sizeBytes=" + sizeBytes +
+                '}';
+    }
+}
\ No newline at end of file
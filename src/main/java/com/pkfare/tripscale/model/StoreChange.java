@@ -0,0 +1,53 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification that the sample store changed.
+ * Carries the store version reached and the time of the latest mutation.
+ */
+public class StoreChange {
+    
+    private long version;
+    private LocalDateTime lastModified;
+    
+    /**
+     * Default constructor
+     */
+    public StoreChange() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public StoreChange(long version, LocalDateTime lastModified) {
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+    
+    // Getters
+    public long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    // Setters
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    @Override
+    public String toString() {
+        return "StoreChange{" +
+                "version=" + version +
+                ", lastModified=" + lastModified +
+                '}';
+    }
+}
\ No newline at end of file
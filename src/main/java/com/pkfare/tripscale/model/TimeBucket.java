@@ -0,0 +1,53 @@
+package com.example.framework.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of samples created within one time bucket of a histogram.
+ * The bucket covers [start, start + bucket size).
+ */
+public class TimeBucket {
+    
+    private LocalDateTime start;
+    private long count;
+    
+    /**
+     * Default constructor
+     */
+    public TimeBucket() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public TimeBucket(LocalDateTime start, long count) {
+        this.start = start;
+        this.count = count;
+    }
+    
+    // Getters
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    // Setters
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    @Override
+    public String toString() {
+        return "TimeBucket{" +
+                "start=" + start +
+                ", count=" + count +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.framework.partition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring mapping sample IDs to the nodes owning them.
+ * <p>
+ * Every node is placed on the ring at a number of points hashed from its URL, and an
+ * ID belongs to the node of the first point at or after the ID's hash, wrapping around.
+ * Adding a node therefore only takes over the arcs in front of its own points, so a
+ * membership change moves about 1/N of the IDs instead of nearly all of them. The
+ * hashes depend on nothing but the URLs, so every node computes the same ring.
+ */
+public final class ConsistentHashRing {
+    
+    private final List<String> nodes;
+    
+    // Points sorted by hash, with the node each belongs to at the same index
+    private final long[] points;
+    private final String[] owners;
+    
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+        
+        long[][] placed = new long[nodes.size() * virtualNodes][];
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                placed[node * virtualNodes + replica] = new long[]{hash(nodes.get(node) + "#" + replica), node};
+            }
+        }
+        // Ties between points are broken by node index, so every node orders them alike
+        Arrays.sort(placed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[placed.length];
+        this.owners = new String[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = nodes.get((int) placed[i][1]);
+        }
+    }
+    
+    /**
+     * The node owning a sample ID
+     */
+    public String ownerOf(long id) {
+        int index = Arrays.binarySearch(points, mix(id));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+    
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finished with the same mix as IDs
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    /**
+     * SplitMix64 finalizer; spreads sequential IDs evenly around the ring
+     */
+    static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
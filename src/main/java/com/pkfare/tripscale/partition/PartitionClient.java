@@ -0,0 +1,216 @@
+package com.example.framework.partition;
+
+import com.example.framework.config.SamplePartitionProperties;
+import com.example.framework.config.WebConfig;
+import com.example.framework.model.BatchItemResult;
+import com.example.framework.model.BatchResult;
+import com.example.framework.model.SampleModel;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * HTTP calls from this node to the other nodes of a partitioned cluster.
+ * One HttpClient is shared by all calls and keeps its connections to each node
+ * open between requests. Every call carries X-Partition-Local, which makes the
+ * receiving node answer from its own partition without forwarding or gathering
+ * again. Bulk transfers use Smile.
+ */
+public class PartitionClient {
+    
+    public static final String LOCAL_HEADER = "X-Partition-Local";
+    
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION);
+    
+    private final PartitionMap partitions;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final ObjectReader sampleReader;
+    private final ObjectWriter samplesWriter;
+    private final ObjectWriter batchWriter;
+    private final ObjectReader batchResultReader;
+    
+    /**
+     * @param smileMapper Mapper for the Smile bodies exchanged between nodes
+     */
+    public PartitionClient(PartitionMap partitions, SamplePartitionProperties properties, ObjectMapper smileMapper) {
+        this.partitions = partitions;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        this.requestTimeout = properties.getRequestTimeout();
+        this.sampleReader = smileMapper.readerFor(SampleModel.class);
+        this.samplesWriter = smileMapper.writerFor(smileMapper.getTypeFactory()
+                .constructCollectionType(List.class, SampleModel.class));
+        this.batchWriter = smileMapper.writer();
+        this.batchResultReader = smileMapper.readerFor(BatchResult.class);
+    }
+    
+    /**
+     * Node owning an ID, or null if this node owns it
+     */
+    public String remoteOwnerOf(long id) {
+        String owner = partitions.ownerOf(id);
+        return owner.equals(partitions.getSelfUrl()) ? null : owner;
+    }
+    
+    /**
+     * Whether a request came from another node and must be answered from the local partition
+     */
+    public static boolean isLocalOnly(HttpServletRequest request) {
+        return request.getHeader(LOCAL_HEADER) != null;
+    }
+    
+    /**
+     * Replay a request on the node owning its sample and copy the answer into the response
+     * 
+     * @param owner URL of the owning node
+     */
+    public void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String query = request.getQueryString();
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder builder = newRequest(owner + path + (query != null ? "?" + query : ""))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+        
+        HttpResponse<byte[]> forwarded = send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        response.setStatus(forwarded.statusCode());
+        for (String name : FORWARDED_RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+    
+    /**
+     * Visit the samples of every other node, one node after the other, as they arrive
+     */
+    public void forEachRemoteSample(Consumer<? super SampleModel> action) throws IOException {
+        for (String node : partitions.remoteNodes()) {
+            HttpRequest request = newRequest(node + "/api/samples")
+                    .header(HttpHeaders.ACCEPT, WebConfig.APPLICATION_SMILE.toString())
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                expectSuccess(node, response);
+                // Iterates the elements of the streamed array without holding the whole of it
+                try (MappingIterator<SampleModel> samples = sampleReader.readValues(body)) {
+                    while (samples.hasNextValue()) {
+                        action.accept(samples.nextValue());
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sum of the sample counts of every other node, asked in parallel
+     */
+    public long countRemote() throws IOException {
+        List<String> nodes = partitions.remoteNodes();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            HttpRequest request = newRequest(node + "/api/samples/count").GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        
+        long total = 0;
+        for (int i = 0; i < responses.size(); i++) {
+            HttpResponse<String> response;
+            try {
+                response = responses.get(i).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+            expectSuccess(nodes.get(i), response);
+            total += Long.parseLong(response.body().trim());
+        }
+        return total;
+    }
+    
+    /**
+     * Store samples on another node exactly as given, keeping their IDs
+     */
+    public void transfer(String node, List<SampleModel> samples) throws IOException {
+        HttpRequest request = newRequest(node + "/api/admin/partitions/samples")
+                .header(HttpHeaders.CONTENT_TYPE, WebConfig.APPLICATION_SMILE.toString())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(samplesWriter.writeValueAsBytes(samples)))
+                .build();
+        expectSuccess(node, send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+    
+    /**
+     * Apply the part of a batch request owned by another node on that node's partition
+     * 
+     * @param method PUT or DELETE, as on /api/samples/batch
+     * @param items Request body items, every one owned by the node
+     * @return The node's result for each item, in the order sent
+     */
+    public List<BatchItemResult> sendBatch(String node, String method, List<?> items) throws IOException {
+        HttpRequest request = newRequest(node + "/api/samples/batch")
+                .header(HttpHeaders.CONTENT_TYPE, WebConfig.APPLICATION_SMILE.toString())
+                .header(HttpHeaders.ACCEPT, WebConfig.APPLICATION_SMILE.toString())
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(batchWriter.writeValueAsBytes(items)))
+                .build();
+        HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
+        expectSuccess(node, response);
+        BatchResult result = batchResultReader.readValue(response.body());
+        if (result.getItems() == null || result.getItems().size() != items.size()) {
+            throw new IOException("Node " + node + " answered a batch of " + items.size() + " items with "
+                    + (result.getItems() == null ? 0 : result.getItems().size()) + " results");
+        }
+        return result.getItems();
+    }
+    
+    private HttpRequest.Builder newRequest(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header(LOCAL_HEADER, "true");
+    }
+    
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + request.uri());
+        }
+    }
+    
+    private static void expectSuccess(String node, HttpResponse<?> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Node " + node + " answered " + response.statusCode() + " to " + response.uri());
+        }
+    }
+}
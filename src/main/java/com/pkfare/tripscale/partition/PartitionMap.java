@@ -0,0 +1,121 @@
+package com.example.framework.partition;
+
+import com.example.framework.config.SamplePartitionProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This node's view of the cluster: the ring of nodes and the IDs it may hand out.
+ * <p>
+ * An ID is a counter shifted left by {@value #NODE_ID_BITS} bits with the node ID in
+ * the low bits, so IDs created on different nodes can never collide, even while the
+ * nodes disagree about the ring during a membership change. A node only hands out IDs
+ * that the ring maps to itself, so a new sample is stored where lookups will find it;
+ * with N nodes it skips about N - 1 counter values per ID.
+ */
+public class PartitionMap {
+    
+    public static final int NODE_ID_BITS = 10;
+    
+    private static final long NODE_ID_MASK = (1L << NODE_ID_BITS) - 1;
+    
+    private final String selfUrl;
+    private final int nodeId;
+    private final int virtualNodes;
+    private final AtomicLong nextCounter = new AtomicLong(1);
+    
+    private volatile ConsistentHashRing ring;
+    
+    public PartitionMap(SamplePartitionProperties properties) {
+        if (properties.getSelfUrl() == null || properties.getSelfUrl().isBlank()) {
+            throw new IllegalStateException("sample.partition.self-url is required");
+        }
+        if (properties.getNodeId() < 0 || properties.getNodeId() > NODE_ID_MASK) {
+            throw new IllegalStateException("sample.partition.node-id must be between 0 and " + NODE_ID_MASK);
+        }
+        this.selfUrl = normalize(properties.getSelfUrl());
+        this.nodeId = properties.getNodeId();
+        this.virtualNodes = properties.getVirtualNodes();
+        this.ring = buildRing(properties.getNodes());
+    }
+    
+    /**
+     * The node owning a sample ID
+     */
+    public String ownerOf(long id) {
+        return ring.ownerOf(id);
+    }
+    
+    public boolean isLocal(long id) {
+        return ring.ownerOf(id).equals(selfUrl);
+    }
+    
+    /**
+     * A new ID that no other node hands out and that this node owns under the current ring
+     */
+    public long nextLocalId() {
+        while (true) {
+            long id = (nextCounter.getAndIncrement() << NODE_ID_BITS) | nodeId;
+            if (isLocal(id)) {
+                return id;
+            }
+        }
+    }
+    
+    /**
+     * Continue the counter after an ID this node created earlier, e.g. one restored from a journal
+     */
+    public void advancePast(long id) {
+        if ((id & NODE_ID_MASK) == nodeId) {
+            nextCounter.accumulateAndGet((id >>> NODE_ID_BITS) + 1, Math::max);
+        }
+    }
+    
+    /**
+     * Switch to a ring of different nodes
+     * 
+     * @param nodes URLs of all nodes of the cluster, this one included
+     * @return The ring used until now
+     */
+    public synchronized ConsistentHashRing replaceNodes(List<String> nodes) {
+        ConsistentHashRing previous = ring;
+        ring = buildRing(nodes);
+        return previous;
+    }
+    
+    /**
+     * URLs of every node but this one
+     */
+    public List<String> remoteNodes() {
+        List<String> remote = new ArrayList<>(ring.getNodes());
+        remote.remove(selfUrl);
+        return remote;
+    }
+    
+    public List<String> getNodes() {
+        return ring.getNodes();
+    }
+    
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+    
+    public int getNodeId() {
+        return nodeId;
+    }
+    
+    private ConsistentHashRing buildRing(List<String> nodes) {
+        List<String> normalized = nodes.stream().map(PartitionMap::normalize).distinct().toList();
+        if (!normalized.contains(selfUrl)) {
+            throw new IllegalArgumentException("The node list must include this node, " + selfUrl);
+        }
+        return new ConsistentHashRing(normalized, virtualNodes);
+    }
+    
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.framework.partition;
+
+import com.example.framework.exception.VersionConflictException;
+import com.example.framework.model.SampleModel;
+import com.example.framework.service.SampleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a membership change on this node and hands its samples to their new owners.
+ * <p>
+ * The ring is switched first, so requests for moving IDs are forwarded to the new owner
+ * from then on. The local partition is then scanned for samples the ring no longer maps
+ * here, which are exactly the ranges the change reassigned; each batch is stored on its
+ * new owner and only then deleted locally, so a failed transfer loses nothing and can be
+ * retried by repeating the change. Until a batch arrives, its new owner answers 404 for it.
+ * <p>
+ * A write already routed here before the switch may still land while a batch is in
+ * flight. The local copy of a sample is therefore only deleted while it is at the version
+ * that was sent; one that changed since is sent again, and one deleted since is deleted
+ * on the new owner too.
+ * <p>
+ * To add a node, start it with the new node list, then apply the same list on every
+ * existing node. To remove one, apply the shortened list on the leaving node first.
+ */
+public class PartitionRebalancer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PartitionRebalancer.class);
+    
+    private final SampleService sampleService;
+    private final PartitionMap partitions;
+    private final PartitionClient client;
+    private final int batchSize;
+    
+    public PartitionRebalancer(SampleService sampleService, PartitionMap partitions, PartitionClient client,
+                               int batchSize) {
+        this.sampleService = sampleService;
+        this.partitions = partitions;
+        this.client = client;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Switch to a new node list and move away the samples this node no longer owns
+     * 
+     * @param nodes URLs of all nodes of the cluster, this one included
+     * @return Number of samples moved to each node
+     * @throws IOException if a new owner could not be reached; samples not yet moved stay here
+     */
+    public synchronized Map<String, Long> rebalance(List<String> nodes) throws IOException {
+        long started = System.nanoTime();
+        ConsistentHashRing previous = partitions.replaceNodes(nodes);
+        
+        Map<String, List<Long>> moving = new HashMap<>();
+        sampleService.forEachSample(sample -> {
+            String owner = partitions.ownerOf(sample.getId());
+            if (!owner.equals(partitions.getSelfUrl())) {
+                moving.computeIfAbsent(owner, key -> new ArrayList<>()).add(sample.getId());
+            }
+        });
+        
+        Map<String, Long> moved = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> target : moving.entrySet()) {
+            List<Long> ids = target.getValue();
+            long count = 0;
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batchIds = ids.subList(from, Math.min(ids.size(), from + batchSize));
+                // Read the latest state right before sending, not the one seen by the scan
+                List<SampleModel> batch = new ArrayList<>(batchIds.size());
+                for (Long id : batchIds) {
+                    sampleService.getSampleById(id).ifPresent(batch::add);
+                }
+                count += batch.size();
+                while (!batch.isEmpty()) {
+                    client.transfer(target.getKey(), batch);
+                    batch = release(target.getKey(), batch);
+                }
+            }
+            moved.put(target.getKey(), count);
+        }
+        
+        logger.info("Rebalanced from {} to {} nodes, moved {} in {} ms", previous.getNodes().size(),
+                partitions.getNodes().size(), moved, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return moved;
+    }
+    
+    /**
+     * Delete the local copies of samples a node has just stored, each only at the version sent
+     * 
+     * @return The samples that changed since they were read, in their current state, to send again
+     * @throws IOException if a sample deleted in the meantime could not be deleted on the node
+     */
+    private List<SampleModel> release(String node, List<SampleModel> sent) throws IOException {
+        List<SampleModel> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (SampleModel sample : sent) {
+            try {
+                if (!sampleService.deleteSampleIfVersion(sample.getId(), sample.getVersion(), sample.getCreatedAt())) {
+                    deleted.add(sample.getId());
+                }
+            } catch (VersionConflictException e) {
+                sampleService.getSampleById(sample.getId()).ifPresentOrElse(changed::add, () -> deleted.add(sample.getId()));
+            }
+        }
+        if (!deleted.isEmpty()) {
+            client.sendBatch(node, "DELETE", deleted);
+        }
+        if (!changed.isEmpty()) {
+            logger.debug("{} samples changed while moving to {}, sending them again", changed.size(), node);
+        }
+        return changed;
+    }
+}
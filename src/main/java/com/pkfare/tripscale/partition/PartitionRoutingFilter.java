@@ -0,0 +1,63 @@
+package com.example.framework.partition;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends requests for a single sample to the node owning its ID.
+ * Requests for IDs of the local partition, and requests that were already forwarded
+ * by another node, pass through to the controllers; the rest are replayed on the owner
+ * and its answer is copied back, so clients may send any request to any node.
+ */
+public class PartitionRoutingFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PartitionRoutingFilter.class);
+    
+    private static final Pattern SAMPLE_PATH = Pattern.compile("/api/samples/(\\d{1,18})");
+    
+    private final PartitionMap partitions;
+    private final PartitionClient client;
+    
+    public PartitionRoutingFilter(PartitionMap partitions, PartitionClient client) {
+        this.partitions = partitions;
+        this.client = client;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PartitionClient.isLocalOnly(request);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher matcher = SAMPLE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        String owner = partitions.ownerOf(Long.parseLong(matcher.group(1)));
+        if (owner.equals(partitions.getSelfUrl())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            client.forward(owner, request, response);
+        } catch (IOException e) {
+            logger.warn("Forwarding {} {} to {} failed: {}", request.getMethod(), request.getRequestURI(), owner, e.toString());
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_BAD_GATEWAY, "Node " + owner + " owning the sample is unreachable");
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.framework.replication;
+
+import com.example.framework.service.SampleChangeLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Tells the writers on a leader how far its change log had advanced once their write was applied.
+ * Every response to a write carries X-Change-Sequence; a client that sends the value back
+ * as X-Min-Change-Sequence on a read gets its own writes from any follower.
+ * <p>
+ * The header has to be set after the controller ran but before the response is committed,
+ * which for a body is when it starts being written, so the response is wrapped to set it
+ * at the first write or flush.
+ */
+public class ChangeSequenceFilter extends OncePerRequestFilter {
+    
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+    
+    private final SampleChangeLog changeLog;
+    
+    public ChangeSequenceFilter(SampleChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return FollowerRequestFilter.isSafe(request.getMethod());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StampingResponse stamping = new StampingResponse(response);
+        chain.doFilter(request, stamping);
+        // Responses without a body are committed after the filters return
+        stamping.stamp();
+    }
+    
+    private final class StampingResponse extends HttpServletResponseWrapper {
+        
+        private boolean stamped;
+        
+        private StampingResponse(HttpServletResponse response) {
+            super(response);
+        }
+        
+        private void stamp() {
+            if (!stamped && !isCommitted()) {
+                setHeader(CHANGE_SEQUENCE_HEADER, Long.toString(changeLog.getLatestSequence()));
+            }
+            stamped = true;
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+    }
+}
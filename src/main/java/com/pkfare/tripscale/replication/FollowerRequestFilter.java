@@ -0,0 +1,100 @@
+package com.example.framework.replication;
+
+import com.example.framework.config.SampleReplicationProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps a follower read-only and its reads as fresh as the client needs.
+ * <ul>
+ * <li>Writes to the samples or the snapshot are redirected to the leader with
+ * 307 Temporary Redirect, which makes the client repeat the method and body there.</li>
+ * <li>Reads of samples are answered 503 until the first snapshot of the leader is loaded.</li>
+ * <li>A read carrying X-Min-Change-Sequence waits until the follower has applied the
+ * leader's log up to that sequence, and is answered 503 if it does not catch up in time.</li>
+ * </ul>
+ */
+public class FollowerRequestFilter extends OncePerRequestFilter {
+    
+    public static final String MIN_CHANGE_SEQUENCE_HEADER = "X-Min-Change-Sequence";
+    
+    private static final String SAMPLES_PATH = "/api/samples";
+    private static final String QUERY_PATH = "/api/samples/query";
+    private static final String SNAPSHOT_PATH = "/api/admin/snapshot";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    
+    private final SampleReplicator replicator;
+    private final SampleReplicationProperties properties;
+    private final String leaderUrl;
+    
+    public FollowerRequestFilter(SampleReplicator replicator, SampleReplicationProperties properties) {
+        this.replicator = replicator;
+        this.properties = properties;
+        String url = properties.getLeaderUrl();
+        this.leaderUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+    
+    static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean samples = path.startsWith(SAMPLES_PATH);
+        // The query endpoint only reads, even though it takes its query as a POST body
+        boolean read = isSafe(request.getMethod()) || path.equals(QUERY_PATH);
+        
+        if (!read && (samples || path.startsWith(SNAPSHOT_PATH))) {
+            String query = request.getQueryString();
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, leaderUrl + path + (query != null ? "?" + query : ""));
+            return;
+        }
+        if (samples && !awaitFreshEnough(request, response)) {
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+    
+    private boolean awaitFreshEnough(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String minSequence = request.getHeader(MIN_CHANGE_SEQUENCE_HEADER);
+        if (minSequence == null) {
+            if (replicator.isReady()) {
+                return true;
+            }
+            unavailable(response, "Follower is loading a snapshot of the leader");
+            return false;
+        }
+        
+        long sequence;
+        try {
+            sequence = Long.parseLong(minSequence.trim());
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, MIN_CHANGE_SEQUENCE_HEADER + " must be a number");
+            return false;
+        }
+        try {
+            if (replicator.awaitApplied(sequence, properties.getCatchUpTimeout())) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable(response, "Follower has not caught up with change sequence " + sequence
+                + " (applied " + replicator.getAppliedSequence() + ")");
+        return false;
+    }
+    
+    private static void unavailable(HttpServletResponse response, String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, message);
+    }
+}
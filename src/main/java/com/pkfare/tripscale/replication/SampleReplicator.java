@@ -0,0 +1,319 @@
+package com.example.framework.replication;
+
+import com.example.framework.config.SampleReplicationProperties;
+import com.example.framework.config.WebConfig;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotSummary;
+import com.example.framework.service.SampleService;
+import com.example.framework.service.SampleSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a follower's store a copy of the leader's.
+ * <p>
+ * A follower starts from a snapshot of the leader, which is consistent with a
+ * sequence of the leader's change log, and then long-polls the leader's change feed
+ * for the events after that sequence, applying them in order with direct puts and
+ * deletes. The events carry the full sample, so IDs, versions and timestamps match
+ * the leader's. When the follower falls further behind than the leader's change log
+ * reaches, or the leader restarted with a fresh log, it starts over from a new snapshot.
+ * A fresh log is told apart by its epoch, which every batch and snapshot carries:
+ * its sequences restart at 1 and may already have passed the follower's position.
+ * <p>
+ * Only the replication thread writes to the store, so the applied sequence advances
+ * in order and readers waiting for a sequence can be woken after each batch.
+ */
+public class SampleReplicator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SampleReplicator.class);
+    
+    // Extra time allowed on top of the poll wait before a request to the leader counts as lost
+    private static final Duration RESPONSE_GRACE = Duration.ofSeconds(10);
+    
+    /**
+     * Replication progress of a follower
+     */
+    public enum State {
+        // Loading a snapshot of the leader; the store is incomplete
+        BOOTSTRAPPING,
+        // Applying the leader's change feed
+        STREAMING,
+        // The last request to the leader failed; reads are served from the last applied state
+        DISCONNECTED,
+        STOPPED
+    }
+    
+    private final SampleService sampleService;
+    private final SampleSnapshotService snapshotService;
+    private final SampleReplicationProperties properties;
+    private final ObjectReader batchReader;
+    private final HttpClient httpClient;
+    private final URI snapshotUri;
+    private final String eventsUrl;
+    
+    private final Object appliedMonitor = new Object();
+    private volatile long appliedSequence;
+    
+    // Epoch of the leader's change log that appliedSequence belongs to
+    private long leaderEpoch;
+    private volatile long leaderSequence;
+    private volatile boolean ready;
+    private volatile State state = State.BOOTSTRAPPING;
+    private volatile LocalDateTime lastContact;
+    
+    private volatile boolean running;
+    private Thread thread;
+    
+    /**
+     * @param smileMapper Mapper for the Smile bodies requested from the leader's change feed
+     */
+    public SampleReplicator(SampleService sampleService, SampleSnapshotService snapshotService,
+                            SampleReplicationProperties properties, ObjectMapper smileMapper) {
+        if (properties.getLeaderUrl() == null || properties.getLeaderUrl().isBlank()) {
+            throw new IllegalStateException("sample.replication.leader-url is required for a follower");
+        }
+        this.sampleService = sampleService;
+        this.snapshotService = snapshotService;
+        this.properties = properties;
+        this.batchReader = smileMapper.readerFor(ChangeBatch.class);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        String leaderUrl = stripTrailingSlash(properties.getLeaderUrl());
+        this.snapshotUri = URI.create(leaderUrl + "/api/admin/snapshot");
+        this.eventsUrl = leaderUrl + "/api/samples/events";
+    }
+    
+    public void start() {
+        running = true;
+        thread = new Thread(this::replicate, "sample-replicator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        state = State.STOPPED;
+    }
+    
+    /**
+     * Wait until the follower has applied the leader's changes up to a sequence
+     * 
+     * @param sequence Sequence of the leader's change log, as returned in X-Change-Sequence
+     * @param timeout How long to wait at most
+     * @return true once the sequence is applied, false if the timeout expired first
+     */
+    public boolean awaitApplied(long sequence, Duration timeout) throws InterruptedException {
+        if (ready && appliedSequence >= sequence) {
+            return true;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (appliedMonitor) {
+            while (!ready || appliedSequence < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(appliedMonitor, remaining);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Whether the store holds a complete copy of the leader's, possibly behind it
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    /**
+     * Sequence of the leader's change log the store is consistent with
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+    
+    /**
+     * Latest sequence of the leader's change log as of the last response
+     */
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+    
+    /**
+     * Time of the last successful response from the leader, null before the first
+     */
+    public LocalDateTime getLastContact() {
+        return lastContact;
+    }
+    
+    public String getLeaderUrl() {
+        return properties.getLeaderUrl();
+    }
+    
+    private void replicate() {
+        boolean bootstrapped = false;
+        boolean failing = false;
+        while (running) {
+            try {
+                if (!bootstrapped) {
+                    bootstrap();
+                    bootstrapped = true;
+                }
+                ChangeBatch batch = poll(appliedSequence);
+                if (batch.getEpoch() != leaderEpoch) {
+                    logger.warn("Change log of {} was replaced (epoch {} instead of {}); reloading its snapshot",
+                            properties.getLeaderUrl(), batch.getEpoch(), leaderEpoch);
+                    bootstrapped = false;
+                    continue;
+                }
+                if (batch.isResyncRequired()) {
+                    logger.warn("Change feed of {} no longer reaches sequence {} (latest {}); reloading its snapshot",
+                            properties.getLeaderUrl(), appliedSequence, batch.getLatestSequence());
+                    bootstrapped = false;
+                    continue;
+                }
+                apply(batch.getEvents());
+                advance(batch.getCursor(), batch.getLatestSequence());
+                state = State.STREAMING;
+                failing = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                if (!failing) {
+                    logger.warn("Replication from {} failed at sequence {}, retrying every {}: {}",
+                            properties.getLeaderUrl(), appliedSequence, properties.getRetryInterval(), e.toString());
+                    failing = true;
+                } else {
+                    logger.debug("Replication from {} failed again", properties.getLeaderUrl(), e);
+                }
+                if (ready) {
+                    state = State.DISCONNECTED;
+                }
+                if (!pause(properties.getRetryInterval())) {
+                    break;
+                }
+            }
+        }
+        logger.info("Replication from {} stopped at sequence {}", properties.getLeaderUrl(), appliedSequence);
+    }
+    
+    private void bootstrap() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        state = State.BOOTSTRAPPING;
+        ready = false;
+        HttpRequest request = HttpRequest.newBuilder(snapshotUri).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        SnapshotSummary summary;
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Leader answered " + response.statusCode() + " to the snapshot request");
+            }
+            summary = snapshotService.importSnapshot(body);
+        }
+        leaderEpoch = summary.getChangeEpoch();
+        advance(summary.getChangeSequence(), summary.getChangeSequence());
+        logger.info("Bootstrapped from {}: {} samples at sequence {} in {} ms", properties.getLeaderUrl(),
+                summary.getSamples(), summary.getChangeSequence(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    private ChangeBatch poll(long after) throws IOException, InterruptedException {
+        URI uri = URI.create(eventsUrl + "?after=" + after + "&limit=" + properties.getBatchSize()
+                + "&wait=" + properties.getPollWait());
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.ACCEPT, WebConfig.APPLICATION_SMILE.toString())
+                .timeout(properties.getPollWait().plus(RESPONSE_GRACE))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Leader answered " + response.statusCode() + " to the change feed request");
+        }
+        return batchReader.readValue(response.body());
+    }
+    
+    /**
+     * Apply consecutive events in order, putting runs of creates and updates as one batch
+     */
+    private void apply(List<SampleChangeEvent> events) {
+        List<SampleModel> puts = new ArrayList<>();
+        for (SampleChangeEvent event : events) {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> puts.add(event.getSample());
+                case DELETED -> {
+                    flush(puts);
+                    sampleService.deleteSample(event.getSampleId());
+                }
+                case CLEARED -> {
+                    puts.clear();
+                    sampleService.deleteAllSamples();
+                }
+            }
+        }
+        flush(puts);
+    }
+    
+    private void flush(List<SampleModel> puts) {
+        if (!puts.isEmpty()) {
+            // Restoring also moves the ID sequence past the leader's IDs, for a follower promoted later
+            sampleService.restoreSamples(puts, 1);
+            puts.clear();
+        }
+    }
+    
+    private void advance(long applied, long latest) {
+        lastContact = LocalDateTime.now();
+        synchronized (appliedMonitor) {
+            appliedSequence = applied;
+            leaderSequence = latest;
+            ready = true;
+            appliedMonitor.notifyAll();
+        }
+    }
+    
+    private boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleCacheProperties;
+import com.example.framework.model.SampleModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of a SampleService backend.
+ * <p>
+ * Lookups by ID are served from a bounded Caffeine cache (W-TinyLFU eviction)
+ * holding both found samples and misses, each with its own time-to-live.
+ * Every mutation is applied to the backend first and then invalidates the
+ * affected IDs. A load runs inside the cache's per-key compute, so an
+ * invalidation racing with it waits for the load and then removes the stale
+ * value instead of being overtaken by it.
+ */
+public class CachingSampleService extends ForwardingSampleService {
+    
+    private final Cache<Long, Optional<SampleModel>> cache;
+    
+    public CachingSampleService(SampleService delegate, SampleCacheProperties properties) {
+        super(delegate);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new HitOrMissExpiry(properties.getTtl(), properties.getNegativeTtl()))
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * The underlying cache, exposed for metrics binding
+     */
+    public Cache<Long, Optional<SampleModel>> getCache() {
+        return cache;
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return cache.get(id, super::getSampleById);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return getSampleById(id).isPresent();
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        SampleModel created = super.createSample(sample);
+        // The new ID may have been cached as a miss
+        cache.invalidate(created.getId());
+        return created;
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        List<SampleModel> created = super.createSamples(samples);
+        for (SampleModel sample : created) {
+            cache.invalidate(sample.getId());
+        }
+        return created;
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        Optional<SampleModel> updated = super.updateSample(id, updatedSample);
+        if (id != null) {
+            cache.invalidate(id);
+        }
+        return updated;
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        try {
+            return super.updateSampleIfVersion(id, expectedVersion, expectedCreatedAt, updatedSample);
+        } finally {
+            // A conflict means the caller saw an older version, possibly from this cache
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        List<Optional<SampleModel>> updated = super.updateSamples(updatedSamples);
+        for (SampleModel sample : updatedSamples) {
+            if (sample != null && sample.getId() != null) {
+                cache.invalidate(sample.getId());
+            }
+        }
+        return updated;
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        boolean deleted = super.deleteSample(id);
+        if (id != null) {
+            cache.invalidate(id);
+        }
+        return deleted;
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        try {
+            return super.deleteSampleIfVersion(id, expectedVersion, expectedCreatedAt);
+        } finally {
+            // A conflict means the caller saw an older version, possibly from this cache
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        List<Boolean> deleted = super.deleteSamples(ids);
+        for (Long id : ids) {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+        return deleted;
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        super.deleteAllSamples();
+        // IDs restart at 1, so every cached entry is stale
+        cache.invalidateAll();
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        super.restoreSamples(samples, nextId);
+        for (SampleModel sample : samples) {
+            cache.invalidate(sample.getId());
+        }
+    }
+    
+    /**
+     * Expires found samples and cached misses after their own time-to-live
+     */
+    private static final class HitOrMissExpiry implements Expiry<Long, Optional<SampleModel>> {
+        
+        private final long hitNanos;
+        private final long missNanos;
+        
+        HitOrMissExpiry(Duration ttl, Duration negativeTtl) {
+            this.hitNanos = ttl.toNanos();
+            this.missNanos = negativeTtl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(Long id, Optional<SampleModel> sample, long currentTime) {
+            return sample.isPresent() ? hitNanos : missNanos;
+        }
+        
+        @Override
+        public long expireAfterUpdate(Long id, Optional<SampleModel> sample, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, sample, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(Long id, Optional<SampleModel> sample, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.framework.service;
+
+import com.example.framework.exception.BusinessException;
+
+/**
+ * The thread a store backend is reserved to by {@link SampleService#writeExclusively}.
+ * The backend checks it inside the lock every mutation holds and reserves it under the
+ * exclusive side of that lock, so no mutation of another thread that started before
+ * the reservation is still running after it, and none that starts later gets through.
+ */
+final class ExclusiveWriter {
+    
+    private volatile Thread owner;
+    
+    /**
+     * Reject a mutation unless the store is free or reserved to the calling thread
+     */
+    void check() {
+        Thread current = owner;
+        if (current != null && current != Thread.currentThread()) {
+            throw locked();
+        }
+    }
+    
+    /**
+     * Reserve the store to the calling thread; call under the backend's exclusive lock
+     */
+    void acquire() {
+        if (owner != null) {
+            throw locked();
+        }
+        owner = Thread.currentThread();
+    }
+    
+    void release() {
+        owner = null;
+    }
+    
+    private static BusinessException locked() {
+        return new BusinessException("The sample store is being replaced; retry once it is done", "STORE_LOCKED");
+    }
+}
\ No newline at end of file
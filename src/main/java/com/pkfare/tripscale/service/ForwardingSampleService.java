@@ -0,0 +1,169 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotBoundary;
+import com.example.framework.model.TimeBucket;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Base class for SampleService decorators.
+ * Forwards every operation to the wrapped backend, so subclasses only override
+ * the operations they add behaviour to.
+ */
+public abstract class ForwardingSampleService implements SampleService {
+    
+    private final SampleService delegate;
+    
+    protected ForwardingSampleService(SampleService delegate) {
+        this.delegate = delegate;
+    }
+    
+    /**
+     * The wrapped SampleService
+     */
+    public SampleService getDelegate() {
+        return delegate;
+    }
+    
+    @Override
+    public List<SampleModel> getAllSamples() {
+        return delegate.getAllSamples();
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        return delegate.getSamplesAfter(afterId, limit);
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        delegate.forEachSample(action);
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        return delegate.collectSamples(collector);
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        return delegate.getSampleById(id);
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        return delegate.findByName(name, limit);
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        return delegate.findByNamePrefix(prefix, limit);
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        return delegate.findByNameRange(from, to, limit);
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        return delegate.searchByDescription(text, limit);
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return delegate.findCreatedBetween(from, to, limit);
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        return delegate.countCreatedByBucket(from, to, bucketSize);
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        return delegate.createSample(sample);
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        return delegate.createSamples(samples);
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        return delegate.updateSample(id, updatedSample);
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        return delegate.updateSampleIfVersion(id, expectedVersion, expectedCreatedAt, updatedSample);
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        return delegate.updateSamples(updatedSamples);
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        return delegate.deleteSample(id);
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        return delegate.deleteSampleIfVersion(id, expectedVersion, expectedCreatedAt);
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        return delegate.deleteSamples(ids);
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        delegate.deleteAllSamples();
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        delegate.restoreSamples(samples, nextId);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+    
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public long getStoreVersion() {
+        return delegate.getStoreVersion();
+    }
+    
+    @Override
+    public LocalDateTime getLastModified() {
+        return delegate.getLastModified();
+    }
+    
+    @Override
+    public SnapshotBoundary cutSnapshotBoundary() {
+        return delegate.cutSnapshotBoundary();
+    }
+    
+    @Override
+    public <T, E extends Exception> T writeExclusively(ExclusiveAction<T, E> action) throws E {
+        return delegate.writeExclusively(action);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.store.SampleJournal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * One map of samples with its ordered ID view, secondary indexes and snapshot barrier.
+ * <p>
+ * The memory store is one of these and the sharded store is an array of them. Every
+ * mutation runs under the per-key lock of the map, where it appends to the journal,
+ * if there is one, and claims its change event, so both are in the order the
+ * mutations of one sample were applied. The claimed events are collected in a list
+ * the caller publishes once the mutation is in the store and durable. Mutations must
+ * run inside the barrier's read side; ID generation is left to the caller.
+ */
+final class IndexedSampleStore {
+    
+    final ConcurrentHashMap<Long, SampleModel> samples;
+    
+    // Ordered view of the stored IDs used for keyset paging
+    final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    
+    // Secondary indexes on name and description, maintained under the per-key lock
+    final SampleSearchIndex searchIndex = new SampleSearchIndex();
+    
+    // Creation-time index, maintained alongside the map on create and delete
+    final SampleTimeIndex timeIndex = new SampleTimeIndex();
+    
+    // Mutations hold the read side; cutting a snapshot boundary and clearing take the write side
+    final StampedLock barrier = new StampedLock();
+    
+    // Durable journal of mutations, null when running purely in memory
+    private final SampleJournal journal;
+    
+    private final SampleChangeLog changeLog;
+    
+    IndexedSampleStore(int initialCapacity, SampleJournal journal, SampleChangeLog changeLog) {
+        this.samples = new ConcurrentHashMap<>(initialCapacity);
+        this.journal = journal;
+        this.changeLog = changeLog;
+    }
+    
+    /**
+     * Store a newly created sample, whose ID no other sample has
+     * 
+     * @param changes Collects the CREATED event
+     */
+    void add(SampleModel sample, List<SampleChangeEvent> changes) {
+        if (journal != null) {
+            journal.logPut(sample);
+        }
+        // Claimed before the sample is visible, so a later update of it is sequenced after
+        changes.add(changeLog.claim(SampleChangeEvent.Type.CREATED, sample.getId(), sample, sample.getCreatedAt()));
+        searchIndex.add(sample);
+        timeIndex.add(sample);
+        samples.put(sample.getId(), sample);
+        ids.add(sample.getId());
+    }
+    
+    /**
+     * Replace an existing sample atomically, so a concurrent delete cannot be undone by the update.
+     * The version check runs under the same per-key lock as the replacement, which makes it a
+     * compare-and-set: a conflicting writer fails instead of being silently overwritten.
+     * 
+     * @param expectedVersion Version the stored sample must be at, or null to update unconditionally
+     * @param expectedCreatedAt Creation time the stored sample must have, or null not to check it
+     * @param changes Collects the UPDATED event
+     * @throws com.example.framework.exception.VersionConflictException if the stored sample is at a different version
+     */
+    Optional<SampleModel> replace(long id, Long expectedVersion, LocalDateTime expectedCreatedAt,
+                                  SampleModel updatedSample, List<SampleChangeEvent> changes) {
+        return Optional.ofNullable(samples.computeIfPresent(id, (key, existingSample) -> {
+            SampleServiceImpl.checkVersion(existingSample, expectedVersion, expectedCreatedAt);
+            
+            // Update fields while preserving ID and creation timestamp
+            updatedSample.setId(id);
+            updatedSample.setCreatedAt(existingSample.getCreatedAt());
+            updatedSample.setVersion(SampleServiceImpl.nextVersion(existingSample));
+            updatedSample.setUpdatedAt(LocalDateTime.now());
+            
+            if (journal != null) {
+                journal.logPut(updatedSample);
+            }
+            changes.add(changeLog.claim(SampleChangeEvent.Type.UPDATED, id, updatedSample, updatedSample.getUpdatedAt()));
+            searchIndex.replace(existingSample, updatedSample);
+            return updatedSample;
+        }));
+    }
+    
+    /**
+     * Store a sample as given, replacing any sample with its ID
+     * 
+     * @param changes Collects the CREATED or UPDATED event
+     */
+    void put(SampleModel sample, List<SampleChangeEvent> changes) {
+        long id = sample.getId();
+        samples.compute(id, (key, existingSample) -> {
+            if (journal != null) {
+                journal.logPut(sample);
+            }
+            changes.add(changeLog.claim(existingSample != null ? SampleChangeEvent.Type.UPDATED
+                    : SampleChangeEvent.Type.CREATED, id, sample));
+            reindex(existingSample, sample);
+            return sample;
+        });
+        ids.add(id);
+    }
+    
+    /**
+     * Remove a sample if present
+     * 
+     * @param changes Collects the DELETED event
+     * @return Whether a sample was removed
+     */
+    boolean remove(long id, List<SampleChangeEvent> changes) {
+        return remove(id, null, null, changes);
+    }
+    
+    /**
+     * Remove a sample if present, checking its version under the per-key lock first
+     * 
+     * @param expectedVersion Version the stored sample must be at, or null to remove unconditionally
+     * @param expectedCreatedAt Creation time the stored sample must have, or null not to check it
+     * @param changes Collects the DELETED event
+     * @return Whether a sample was removed
+     * @throws com.example.framework.exception.VersionConflictException if the stored sample is at a different version
+     */
+    boolean remove(long id, Long expectedVersion, LocalDateTime expectedCreatedAt, List<SampleChangeEvent> changes) {
+        boolean[] removed = new boolean[1];
+        samples.computeIfPresent(id, (key, existingSample) -> {
+            SampleServiceImpl.checkVersion(existingSample, expectedVersion, expectedCreatedAt);
+            if (journal != null) {
+                journal.logDelete(id);
+            }
+            changes.add(changeLog.claim(SampleChangeEvent.Type.DELETED, id, null));
+            searchIndex.remove(existingSample);
+            timeIndex.remove(existingSample);
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            ids.remove(id);
+        }
+        return removed[0];
+    }
+    
+    /**
+     * Store a sample replayed from the journal, neither journaling nor publishing it
+     */
+    void recoverPut(SampleModel sample) {
+        reindex(samples.put(sample.getId(), sample), sample);
+        ids.add(sample.getId());
+    }
+    
+    /**
+     * Remove a sample replayed from the journal, neither journaling nor publishing it
+     */
+    void recoverDelete(long id) {
+        SampleModel removed = samples.remove(id);
+        if (removed != null) {
+            searchIndex.remove(removed);
+            timeIndex.remove(removed);
+        }
+        ids.remove(id);
+    }
+    
+    /**
+     * Drop every sample and index entry; the caller journals and publishes the clear
+     */
+    void clear() {
+        samples.clear();
+        ids.clear();
+        searchIndex.clear();
+        timeIndex.clear();
+    }
+    
+    /**
+     * Load the index candidates in posting order, re-checking each one against the
+     * stored entity so postings of a concurrent update are never returned stale
+     * 
+     * @param postings Candidate postings in result order
+     * @param inRange Stops the walk at the first posting it rejects
+     * @param matches Predicate the stored entity must still satisfy
+     * @param lookup Finds the stored entity of a posting's ID
+     */
+    static List<SampleModel> resolve(Iterator<SampleSearchIndex.Posting> postings,
+                                     Predicate<SampleSearchIndex.Posting> inRange,
+                                     Predicate<SampleModel> matches, int limit,
+                                     LongFunction<SampleModel> lookup) {
+        List<SampleModel> results = new ArrayList<>();
+        while (postings.hasNext() && results.size() < limit) {
+            SampleSearchIndex.Posting posting = postings.next();
+            if (!inRange.test(posting)) {
+                break;
+            }
+            SampleModel sample = lookup.apply(posting.getId());
+            if (sample != null && matches.test(sample)) {
+                results.add(sample);
+            }
+        }
+        return results;
+    }
+    
+    private void reindex(SampleModel existingSample, SampleModel sample) {
+        if (existingSample != null) {
+            searchIndex.replace(existingSample, sample);
+            timeIndex.remove(existingSample);
+        } else {
+            searchIndex.add(sample);
+        }
+        timeIndex.add(sample);
+    }
+}
\ No newline at end of file
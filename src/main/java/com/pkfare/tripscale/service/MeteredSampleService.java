@@ -0,0 +1,317 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.TimeBucket;
+import com.example.framework.metrics.LatencyHistogram;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Times every operation of a SampleService backend.
+ * <p>
+ * Each operation records into its own {@link LatencyHistogram}, published as
+ * {@code sample.service.calls} and {@code sample.service.latency} tagged with the
+ * operation name. A call costs two clock reads and one wait-free, allocation-free
+ * histogram update. The store version accessors and the snapshot boundary are not timed.
+ */
+public class MeteredSampleService extends ForwardingSampleService {
+    
+    public static final String COUNT_NAME = "sample.service.calls";
+    public static final String LATENCY_NAME = "sample.service.latency";
+    
+    private final LatencyHistogram getAllSamplesLatency;
+    private final LatencyHistogram getSamplesAfterLatency;
+    private final LatencyHistogram forEachSampleLatency;
+    private final LatencyHistogram collectSamplesLatency;
+    private final LatencyHistogram getSampleByIdLatency;
+    private final LatencyHistogram findByNameLatency;
+    private final LatencyHistogram findByNamePrefixLatency;
+    private final LatencyHistogram findByNameRangeLatency;
+    private final LatencyHistogram searchByDescriptionLatency;
+    private final LatencyHistogram findCreatedBetweenLatency;
+    private final LatencyHistogram countCreatedByBucketLatency;
+    private final LatencyHistogram createSampleLatency;
+    private final LatencyHistogram createSamplesLatency;
+    private final LatencyHistogram updateSampleLatency;
+    private final LatencyHistogram updateSampleIfVersionLatency;
+    private final LatencyHistogram updateSamplesLatency;
+    private final LatencyHistogram deleteSampleLatency;
+    private final LatencyHistogram deleteSampleIfVersionLatency;
+    private final LatencyHistogram deleteSamplesLatency;
+    private final LatencyHistogram deleteAllSamplesLatency;
+    private final LatencyHistogram restoreSamplesLatency;
+    private final LatencyHistogram existsByIdLatency;
+    private final LatencyHistogram countLatency;
+    
+    public MeteredSampleService(SampleService delegate, MeterRegistry registry) {
+        super(delegate);
+        this.getAllSamplesLatency = histogram(registry, "getAllSamples");
+        this.getSamplesAfterLatency = histogram(registry, "getSamplesAfter");
+        this.forEachSampleLatency = histogram(registry, "forEachSample");
+        this.collectSamplesLatency = histogram(registry, "collectSamples");
+        this.getSampleByIdLatency = histogram(registry, "getSampleById");
+        this.findByNameLatency = histogram(registry, "findByName");
+        this.findByNamePrefixLatency = histogram(registry, "findByNamePrefix");
+        this.findByNameRangeLatency = histogram(registry, "findByNameRange");
+        this.searchByDescriptionLatency = histogram(registry, "searchByDescription");
+        this.findCreatedBetweenLatency = histogram(registry, "findCreatedBetween");
+        this.countCreatedByBucketLatency = histogram(registry, "countCreatedByBucket");
+        this.createSampleLatency = histogram(registry, "createSample");
+        this.createSamplesLatency = histogram(registry, "createSamples");
+        this.updateSampleLatency = histogram(registry, "updateSample");
+        this.updateSampleIfVersionLatency = histogram(registry, "updateSampleIfVersion");
+        this.updateSamplesLatency = histogram(registry, "updateSamples");
+        this.deleteSampleLatency = histogram(registry, "deleteSample");
+        this.deleteSampleIfVersionLatency = histogram(registry, "deleteSampleIfVersion");
+        this.deleteSamplesLatency = histogram(registry, "deleteSamples");
+        this.deleteAllSamplesLatency = histogram(registry, "deleteAllSamples");
+        this.restoreSamplesLatency = histogram(registry, "restoreSamples");
+        this.existsByIdLatency = histogram(registry, "existsById");
+        this.countLatency = histogram(registry, "count");
+    }
+    
+    @Override
+    public List<SampleModel> getAllSamples() {
+        long start = System.nanoTime();
+        try {
+            return super.getAllSamples();
+        } finally {
+            getAllSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.getSamplesAfter(afterId, limit);
+        } finally {
+            getSamplesAfterLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        long start = System.nanoTime();
+        try {
+            super.forEachSample(action);
+        } finally {
+            forEachSampleLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        long start = System.nanoTime();
+        try {
+            return super.collectSamples(collector);
+        } finally {
+            collectSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return super.getSampleById(id);
+        } finally {
+            getSampleByIdLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.findByName(name, limit);
+        } finally {
+            findByNameLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.findByNamePrefix(prefix, limit);
+        } finally {
+            findByNamePrefixLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.findByNameRange(from, to, limit);
+        } finally {
+            findByNameRangeLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.searchByDescription(text, limit);
+        } finally {
+            searchByDescriptionLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.findCreatedBetween(from, to, limit);
+        } finally {
+            findCreatedBetweenLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        long start = System.nanoTime();
+        try {
+            return super.countCreatedByBucket(from, to, bucketSize);
+        } finally {
+            countCreatedByBucketLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        long start = System.nanoTime();
+        try {
+            return super.createSample(sample);
+        } finally {
+            createSampleLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        long start = System.nanoTime();
+        try {
+            return super.createSamples(samples);
+        } finally {
+            createSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        long start = System.nanoTime();
+        try {
+            return super.updateSample(id, updatedSample);
+        } finally {
+            updateSampleLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        long start = System.nanoTime();
+        try {
+            return super.updateSampleIfVersion(id, expectedVersion, expectedCreatedAt, updatedSample);
+        } finally {
+            updateSampleIfVersionLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        long start = System.nanoTime();
+        try {
+            return super.updateSamples(updatedSamples);
+        } finally {
+            updateSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        long start = System.nanoTime();
+        try {
+            return super.deleteSample(id);
+        } finally {
+            deleteSampleLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        long start = System.nanoTime();
+        try {
+            return super.deleteSampleIfVersion(id, expectedVersion, expectedCreatedAt);
+        } finally {
+            deleteSampleIfVersionLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            return super.deleteSamples(ids);
+        } finally {
+            deleteSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        long start = System.nanoTime();
+        try {
+            super.deleteAllSamples();
+        } finally {
+            deleteAllSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        long start = System.nanoTime();
+        try {
+            super.restoreSamples(samples, nextId);
+        } finally {
+            restoreSamplesLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return super.existsById(id);
+        } finally {
+            existsByIdLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long count() {
+        long start = System.nanoTime();
+        try {
+            return super.count();
+        } finally {
+            countLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    private static LatencyHistogram histogram(MeterRegistry registry, String operation) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.register(registry, COUNT_NAME, LATENCY_NAME, "Latency of SampleService operations",
+                Tags.of("operation", operation));
+        return histogram;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,677 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotBoundary;
+import com.example.framework.model.TimeBucket;
+import com.example.framework.store.LongLongHashMap;
+import com.example.framework.store.OffHeapRecordArena;
+import com.example.framework.store.SampleRecordCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+/**
+ * Implementation of SampleService keeping records in off-heap memory.
+ * Samples are encoded into direct ByteBuffer slabs and located through a
+ * primitive long-to-address hash table, so the Java heap holds no per-sample
+ * objects; a SampleModel is only materialized when it is read.
+ * Selected by {@code sample.store.type=offheap}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "sample.store", name = "type", havingValue = "offheap")
+public class OffHeapSampleServiceImpl implements SampleService {
+    
+    // Page size used when iterating the store without holding the lock
+    private static final int ITERATION_BATCH_SIZE = 256;
+    
+    private static final Comparator<SampleModel> ID_ORDER = Comparator.comparing(SampleModel::getId);
+    private static final Comparator<SampleModel> NAME_ORDER =
+            Comparator.comparing(SampleModel::getName).thenComparing(SampleModel::getId);
+    private static final Comparator<SampleModel> CREATED_ORDER =
+            Comparator.comparing(SampleModel::getCreatedAt).thenComparing(SampleModel::getId);
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapRecordArena arena;
+    private final LongLongHashMap index;
+    private final AtomicLong idGenerator = new AtomicLong(1);
+    
+    // Version of the whole store, advanced under the write lock by every successful mutation
+    private final AtomicLong storeVersion = new AtomicLong();
+    private volatile LocalDateTime lastModified = LocalDateTime.now();
+    
+    // Checked and reserved under the write lock
+    private final ExclusiveWriter exclusiveWriter = new ExclusiveWriter();
+    
+    // Change events for downstream consumers, published under the write lock
+    private final SampleChangeLog changeLog;
+    
+    public OffHeapSampleServiceImpl(SampleStoreProperties properties, SampleChangeLog changeLog) {
+        this.arena = new OffHeapRecordArena(properties.getOffHeap().getSlabSize());
+        this.index = new LongLongHashMap(properties.getOffHeap().getInitialCapacity());
+        this.changeLog = changeLog;
+    }
+    
+    @Override
+    public List<SampleModel> getAllSamples() {
+        lock.readLock().lock();
+        try {
+            List<SampleModel> samples = new ArrayList<>(index.size());
+            index.forEach((id, address) -> samples.add(arena.read(address)));
+            return samples;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        List<SampleModel> page = new ArrayList<>();
+        // No ID follows Long.MAX_VALUE; afterId + 1 would wrap around to the first page
+        if (limit <= 0 || (afterId != null && afterId == Long.MAX_VALUE)) {
+            return page;
+        }
+        long start = afterId == null ? 1 : Math.max(1, afterId + 1);
+        
+        lock.readLock().lock();
+        try {
+            long end = idGenerator.get();
+            if (end - start <= 4L * index.size() + limit) {
+                // IDs are mostly dense: probe them in order
+                for (long id = start; id < end && page.size() < limit; id++) {
+                    long address = index.get(id);
+                    if (address != LongLongHashMap.NO_VALUE) {
+                        page.add(arena.read(address));
+                    }
+                }
+            } else {
+                // IDs are sparse after many deletes or under partitioning: select the smallest ones from a table scan
+                for (long id : smallestIdsFrom(start, limit)) {
+                    page.add(arena.read(index.get(id)));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        // Walk the table once for its keys, then decode one batch at a time so the lock is never
+        // held while the action runs. A slot cursor could skip or repeat entries that a resize or
+        // a backward-shift deletion moves between batches; samples deleted meanwhile are skipped.
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.keys();
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        List<SampleModel> batch = new ArrayList<>(ITERATION_BATCH_SIZE);
+        for (int from = 0; from < ids.length; from += ITERATION_BATCH_SIZE) {
+            int to = Math.min(ids.length, from + ITERATION_BATCH_SIZE);
+            lock.readLock().lock();
+            try {
+                for (int i = from; i < to; i++) {
+                    long address = index.get(ids[i]);
+                    if (address != LongLongHashMap.NO_VALUE) {
+                        batch.add(arena.read(address));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            batch.forEach(action);
+            batch.clear();
+        }
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        return collectInBatches(collector);
+    }
+    
+    /**
+     * Collect sequentially, one decoded batch at a time; every record has to be decoded
+     * under the lock anyway, so splitting the scan would mostly add lock traffic
+     */
+    private <A, R> R collectInBatches(Collector<? super SampleModel, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super SampleModel> accumulator = collector.accumulator();
+        forEachSample(sample -> accumulator.accept(container, sample));
+        return collector.finisher().apply(container);
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long address = index.get(id);
+            return address == LongLongHashMap.NO_VALUE ? Optional.empty() : Optional.of(arena.read(address));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        return scanInOrder(sample -> name.equals(sample.getName()), ID_ORDER, limit);
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null) {
+            return new ArrayList<>();
+        }
+        return scanInOrder(sample -> sample.getName() != null && sample.getName().startsWith(prefix), NAME_ORDER, limit);
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        return scanInOrder(sample -> SampleSearchIndex.isNameInRange(sample.getName(), from, to), NAME_ORDER, limit);
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        Set<String> tokens = SampleSearchIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return scanInOrder(sample -> SampleSearchIndex.containsAllTokens(sample.getDescription(), tokens), ID_ORDER,
+                limit);
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return scanInOrder(sample -> SampleServiceImpl.isCreatedBetween(sample, from, to), CREATED_ORDER, limit);
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        long bucketMillis = bucketSize.toMillis();
+        long firstBucket = Math.floorDiv(SampleTimeIndex.toEpochMillis(from), bucketMillis);
+        long[] counts = new long[(int) SampleTimeIndex.bucketCount(from, to, bucketSize)];
+        forEachSample(sample -> {
+            if (SampleServiceImpl.isCreatedBetween(sample, from, to)) {
+                long bucket = Math.floorDiv(SampleTimeIndex.toEpochMillis(sample.getCreatedAt()), bucketMillis);
+                counts[(int) (bucket - firstBucket)]++;
+            }
+        });
+        return SampleTimeIndex.toBuckets(counts, firstBucket, bucketMillis);
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        if (sample == null) {
+            throw new IllegalArgumentException("Sample cannot be null");
+        }
+        
+        // Generate new ID and set creation timestamp
+        Long newId = idGenerator.getAndIncrement();
+        sample.setId(newId);
+        sample.setCreatedAt(LocalDateTime.now());
+        sample.setVersion(1L);
+        sample.setUpdatedAt(sample.getCreatedAt());
+        
+        byte[] name = SampleRecordCodec.encodeString(sample.getName());
+        byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+        
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            index.put(newId, arena.append(newId, 1L, sample.getCreatedAt(), sample.getCreatedAt(), name, description));
+            changeLog.publish(SampleChangeEvent.Type.CREATED, newId, sample);
+            modified();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return sample;
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        if (samples == null || samples.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        if (samples.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Reserve the whole ID range at once and share one creation timestamp
+        long firstId = idGenerator.getAndAdd(samples.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        byte[][] names = new byte[samples.size()][];
+        byte[][] descriptions = new byte[samples.size()][];
+        for (int i = 0; i < samples.size(); i++) {
+            SampleModel sample = samples.get(i);
+            sample.setId(firstId + i);
+            sample.setCreatedAt(createdAt);
+            sample.setVersion(1L);
+            sample.setUpdatedAt(createdAt);
+            names[i] = SampleRecordCodec.encodeString(sample.getName());
+            descriptions[i] = SampleRecordCodec.encodeString(sample.getDescription());
+        }
+        
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            for (int i = 0; i < samples.size(); i++) {
+                index.put(firstId + i, arena.append(firstId + i, 1L, createdAt, createdAt, names[i], descriptions[i]));
+                changeLog.publish(SampleChangeEvent.Type.CREATED, firstId + i, samples.get(i));
+            }
+            modified();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new ArrayList<>(samples);
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        return replaceSample(id, null, null, updatedSample);
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        return replaceSample(id, expectedVersion, expectedCreatedAt, updatedSample);
+    }
+    
+    /**
+     * Replace an existing sample, checking its version under the write lock when one is expected
+     */
+    private Optional<SampleModel> replaceSample(Long id, Long expectedVersion, LocalDateTime expectedCreatedAt,
+                                               SampleModel updatedSample) {
+        if (id == null || updatedSample == null) {
+            return Optional.empty();
+        }
+        
+        byte[] name = SampleRecordCodec.encodeString(updatedSample.getName());
+        byte[] description = SampleRecordCodec.encodeString(updatedSample.getDescription());
+        
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            long existingAddress = index.get(id);
+            if (existingAddress == LongLongHashMap.NO_VALUE) {
+                return Optional.empty();
+            }
+            
+            // Update fields while preserving ID and creation timestamp
+            SampleModel existingSample = arena.read(existingAddress);
+            SampleServiceImpl.checkVersion(existingSample, expectedVersion, expectedCreatedAt);
+            updatedSample.setId(id);
+            updatedSample.setCreatedAt(existingSample.getCreatedAt());
+            updatedSample.setVersion(SampleServiceImpl.nextVersion(existingSample));
+            updatedSample.setUpdatedAt(LocalDateTime.now());
+            
+            index.put(id, arena.append(id, updatedSample.getVersion(), updatedSample.getCreatedAt(),
+                    updatedSample.getUpdatedAt(), name, description));
+            arena.release(existingAddress);
+            compactIfNeeded();
+            changeLog.publish(SampleChangeEvent.Type.UPDATED, id, updatedSample);
+            modified();
+            return Optional.of(updatedSample);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        if (updatedSamples == null) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        List<Optional<SampleModel>> results = new ArrayList<>(updatedSamples.size());
+        for (SampleModel updatedSample : updatedSamples) {
+            results.add(updatedSample == null ? Optional.empty() : updateSample(updatedSample.getId(), updatedSample));
+        }
+        return results;
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        if (id == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            long address = index.remove(id);
+            if (address == LongLongHashMap.NO_VALUE) {
+                return false;
+            }
+            arena.release(address);
+            compactIfNeeded();
+            changeLog.publish(SampleChangeEvent.Type.DELETED, id, null);
+            modified();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        if (id == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            long address = index.get(id);
+            if (address == LongLongHashMap.NO_VALUE) {
+                return false;
+            }
+            SampleServiceImpl.checkVersion(arena.read(address), expectedVersion, expectedCreatedAt);
+            index.remove(id);
+            arena.release(address);
+            compactIfNeeded();
+            changeLog.publish(SampleChangeEvent.Type.DELETED, id, null);
+            modified();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        List<Boolean> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(deleteSample(id));
+        }
+        return results;
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            index.clear();
+            arena.clear();
+            idGenerator.set(1); // Reset ID generator
+            changeLog.publish(SampleChangeEvent.Type.CLEARED, null, null);
+            modified();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        if (samples == null || samples.stream().anyMatch(sample -> !SampleServiceImpl.hasRestorableId(sample))) {
+            throw new IllegalArgumentException("Samples to restore must have a positive ID");
+        }
+        byte[][] names = new byte[samples.size()][];
+        byte[][] descriptions = new byte[samples.size()][];
+        for (int i = 0; i < samples.size(); i++) {
+            names[i] = SampleRecordCodec.encodeString(samples.get(i).getName());
+            descriptions[i] = SampleRecordCodec.encodeString(samples.get(i).getDescription());
+        }
+        
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.check();
+            for (int i = 0; i < samples.size(); i++) {
+                SampleModel sample = samples.get(i);
+                long id = sample.getId();
+                long existingAddress = index.put(id, arena.append(id, SampleRecordCodec.versionOf(sample),
+                        sample.getCreatedAt(), sample.getUpdatedAt(), names[i], descriptions[i]));
+                if (existingAddress != LongLongHashMap.NO_VALUE) {
+                    arena.release(existingAddress);
+                }
+                changeLog.publish(existingAddress == LongLongHashMap.NO_VALUE
+                        ? SampleChangeEvent.Type.CREATED : SampleChangeEvent.Type.UPDATED, id, sample);
+                idGenerator.accumulateAndGet(id + 1, Math::max);
+            }
+            idGenerator.accumulateAndGet(nextId, Math::max);
+            compactIfNeeded();
+            modified();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        if (id == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Bytes of direct memory occupied by current records
+     */
+    public long getLiveBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.getLiveBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Bytes of direct memory occupied by replaced or deleted records awaiting compaction
+     */
+    public long getGarbageBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.getGarbageBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Bytes of direct memory reserved by the arena's slabs
+     */
+    public long getReservedBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.getReservedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Bytes of heap occupied by the ID-to-address index
+     */
+    public long getIndexBytes() {
+        lock.readLock().lock();
+        try {
+            // One key and one value array, each a long per slot
+            return 2L * Long.BYTES * index.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public long getStoreVersion() {
+        return storeVersion.get();
+    }
+    
+    @Override
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    @Override
+    public SnapshotBoundary cutSnapshotBoundary() {
+        // Every mutation publishes under the write lock, so the read side already excludes them
+        lock.readLock().lock();
+        try {
+            return new SnapshotBoundary(changeLog.getLatestSequence(), idGenerator.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public <T, E extends Exception> T writeExclusively(ExclusiveAction<T, E> action) throws E {
+        lock.writeLock().lock();
+        try {
+            exclusiveWriter.acquire();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            return action.run();
+        } finally {
+            exclusiveWriter.release();
+        }
+    }
+    
+    /**
+     * Record a successful mutation; called with the write lock held
+     */
+    private void modified() {
+        lastModified = LocalDateTime.now();
+        storeVersion.incrementAndGet();
+    }
+    
+    /**
+     * Scan the whole store keeping the first matches in the given order.
+     * This backend keeps no secondary indexes, so searches cost a scan.
+     */
+    private List<SampleModel> scanInOrder(Predicate<SampleModel> matches, Comparator<SampleModel> order, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<SampleModel> top = new PriorityQueue<>(order.reversed());
+        forEachSample(sample -> {
+            if (matches.test(sample)) {
+                top.add(sample);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+        List<SampleModel> results = new ArrayList<>(top);
+        results.sort(order);
+        return results;
+    }
+    
+    /**
+     * Reclaim slabs once more than half of the reserved memory is garbage.
+     * Must be called with the write lock held.
+     */
+    private void compactIfNeeded() {
+        if (arena.needsCompaction()) {
+            arena.compact(index);
+        }
+    }
+    
+    /**
+     * Find the smallest stored IDs not below {@code start} with a single table scan,
+     * keeping at most {@code limit} candidates in a primitive max-heap.
+     * Must be called with the read lock held.
+     */
+    private long[] smallestIdsFrom(long start, int limit) {
+        long[] heap = new long[Math.min(limit, index.size())];
+        int[] size = new int[1];
+        if (heap.length == 0) {
+            return heap;
+        }
+        index.forEach((id, address) -> {
+            if (id < start) {
+                return;
+            }
+            if (size[0] < heap.length) {
+                heap[size[0]] = id;
+                siftUp(heap, size[0]++);
+            } else if (id < heap[0]) {
+                heap[0] = id;
+                siftDown(heap, size[0]);
+            }
+        });
+        long[] ids = Arrays.copyOf(heap, size[0]);
+        Arrays.sort(ids);
+        return ids;
+    }
+    
+    private static void siftUp(long[] heap, int child) {
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (heap[parent] >= heap[child]) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+    
+    private static void siftDown(long[] heap, int size) {
+        int parent = 0;
+        while (true) {
+            int largest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && heap[left] > heap[largest]) {
+                largest = left;
+            }
+            if (right < size && heap[right] > heap[largest]) {
+                largest = right;
+            }
+            if (largest == parent) {
+                return;
+            }
+            swap(heap, parent, largest);
+            parent = largest;
+        }
+    }
+    
+    private static void swap(long[] heap, int i, int j) {
+        long tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleModel;
+import com.example.framework.partition.PartitionMap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decorator holding one partition of a cluster-wide sample store.
+ * New samples get IDs from the {@link PartitionMap} instead of the backend's own
+ * sequence, so their IDs are unique across nodes and owned by this node; they are
+ * then stored with the backend's restore path, which keeps the given ID. Everything
+ * else operates on the local partition only; routing and gathering across nodes
+ * happens at the HTTP layer.
+ */
+public class PartitionedSampleService extends ForwardingSampleService {
+    
+    private final PartitionMap partitions;
+    
+    public PartitionedSampleService(SampleService delegate, PartitionMap partitions) {
+        super(delegate);
+        this.partitions = partitions;
+        // Continue after the IDs this node created before a restart
+        delegate.forEachSample(sample -> partitions.advancePast(sample.getId()));
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        if (sample == null) {
+            throw new IllegalArgumentException("Sample cannot be null");
+        }
+        initialize(sample, partitions.nextLocalId(), LocalDateTime.now());
+        super.restoreSamples(List.of(sample), 1);
+        return sample;
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        if (samples == null || samples.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        if (samples.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // One creation timestamp for the batch, as the backends do
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (SampleModel sample : samples) {
+            initialize(sample, partitions.nextLocalId(), createdAt);
+        }
+        super.restoreSamples(samples, 1);
+        return new ArrayList<>(samples);
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        super.restoreSamples(samples, nextId);
+        for (SampleModel sample : samples) {
+            partitions.advancePast(sample.getId());
+        }
+    }
+    
+    private static void initialize(SampleModel sample, long id, LocalDateTime createdAt) {
+        sample.setId(id);
+        sample.setCreatedAt(createdAt);
+        sample.setVersion(1L);
+        sample.setUpdatedAt(createdAt);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.framework.service;
+
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.StoreChange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service interface for managing SampleModel entities.
+ * Results are delivered through Mono and Flux, and nothing runs until they are subscribed to.
+ * Operations that may block, such as journaled writes, never run on the subscriber's thread.
+ */
+public interface ReactiveSampleService {
+    
+    /**
+     * Stream all sample entities in ascending ID order
+     * The store is read page by page as the subscriber requests more,
+     * so a slow subscriber holds back the reads instead of buffering the store.
+     * 
+     * @return Flux of all SampleModel entities
+     */
+    Flux<SampleModel> getAllSamples();
+    
+    /**
+     * Retrieve a sample entity by its ID
+     * 
+     * @param id The ID of the sample to retrieve
+     * @return Mono emitting the SampleModel if found, empty otherwise
+     */
+    Mono<SampleModel> getSampleById(Long id);
+    
+    /**
+     * Create a new sample entity
+     * 
+     * @param sample The SampleModel to create (ID will be auto-generated)
+     * @return Mono emitting the created SampleModel with generated ID
+     */
+    Mono<SampleModel> createSample(SampleModel sample);
+    
+    /**
+     * Update an existing sample entity
+     * 
+     * @param id The ID of the sample to update
+     * @param updatedSample The updated SampleModel data
+     * @return Mono emitting the updated SampleModel if found, empty otherwise
+     */
+    Mono<SampleModel> updateSample(Long id, SampleModel updatedSample);
+    
+    /**
+     * Delete a sample entity by its ID
+     * 
+     * @param id The ID of the sample to delete
+     * @return Mono emitting true if the sample was deleted, false if not found
+     */
+    Mono<Boolean> deleteSample(Long id);
+    
+    /**
+     * Get the total count of samples
+     * 
+     * @return Mono emitting the number of samples stored
+     */
+    Mono<Long> count();
+    
+    /**
+     * Notifications of store changes
+     * A new subscriber first receives the current store version, then one
+     * notification whenever the version moved on. Mutations in quick succession
+     * may be reported together. All subscribers share one poller.
+     * 
+     * @return Endless Flux of StoreChange notifications
+     */
+    Flux<StoreChange> changes();
+    
+    /**
+     * Change events from the change log, starting after a given sequence number
+     * Events are read as the subscriber requests them; when none are pending the
+     * Flux waits for the next publication without holding a thread. If the
+     * subscriber falls so far behind that the events it needs were overwritten,
+     * a final batch with resyncRequired set is emitted and the Flux completes.
+     * 
+     * @param afterSequence Sequence of the last event already seen, or null to start from now
+     * @return Flux of non-empty ChangeBatch runs, ending only with a resync batch
+     */
+    Flux<ChangeBatch> changeEvents(Long afterSequence);
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleReactiveProperties;
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.StoreChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reactive adapter over the selected SampleService backend.
+ * <p>
+ * Reads are served on the subscriber's thread when the backend answers them
+ * without waiting: the in-memory stores read concurrent maps. The off-heap store
+ * reads under a lock that writers, and compaction copying the whole arena, hold
+ * exclusively, so its reads run on the bounded elastic scheduler like writes.
+ * Writes may wait for the journal to reach the disk, so they always run there
+ * and never stall a Netty event loop.
+ */
+@Service
+@ConditionalOnProperty(prefix = "sample.reactive", name = "enabled", havingValue = "true")
+public class ReactiveSampleServiceImpl implements ReactiveSampleService {
+    
+    // IDs start at 1, so reading after 0 starts from the beginning
+    private static final long BEFORE_FIRST_ID = 0L;
+    
+    // Maximum number of change events read from the change log at a time
+    private static final int EVENT_BATCH_SIZE = 256;
+    
+    private final SampleService sampleService;
+    private final SampleChangeLog changeLog;
+    private final int pageSize;
+    private final Scheduler writeScheduler = Schedulers.boundedElastic();
+    // Null when reads never wait and run on the subscriber's thread
+    private final Scheduler readScheduler;
+    private final Flux<StoreChange> changes;
+    
+    @Autowired
+    public ReactiveSampleServiceImpl(SampleService sampleService, SampleChangeLog changeLog,
+                                     SampleReactiveProperties properties, SampleStoreProperties storeProperties) {
+        this.sampleService = sampleService;
+        this.changeLog = changeLog;
+        this.pageSize = properties.getPageSize();
+        this.readScheduler = "offheap".equals(storeProperties.getType()) ? writeScheduler : null;
+        // The first tick is immediate, so a new subscriber learns the current version right away
+        this.changes = Flux.interval(Duration.ZERO, properties.getChangePollInterval())
+                .onBackpressureDrop()
+                .map(tick -> sampleService.getStoreVersion())
+                .distinctUntilChanged()
+                .map(version -> new StoreChange(version, sampleService.getLastModified()))
+                .replay(1)
+                .refCount();
+    }
+    
+    @Override
+    public Flux<SampleModel> getAllSamples() {
+        Flux<List<SampleModel>> pages = Flux.generate(() -> BEFORE_FIRST_ID, (afterId, sink) -> {
+            List<SampleModel> page = sampleService.getSamplesAfter(afterId, pageSize);
+            if (!page.isEmpty()) {
+                sink.next(page);
+            }
+            if (page.size() < pageSize) {
+                sink.complete();
+                return afterId;
+            }
+            return page.get(page.size() - 1).getId();
+        });
+        // Prefetch a single page, so at most two pages are held per subscriber
+        return (readScheduler == null ? pages : pages.subscribeOn(readScheduler))
+                .concatMapIterable(Function.identity(), 1);
+    }
+    
+    @Override
+    public Mono<SampleModel> getSampleById(Long id) {
+        return read(Mono.defer(() -> Mono.justOrEmpty(sampleService.getSampleById(id))));
+    }
+    
+    @Override
+    public Mono<SampleModel> createSample(SampleModel sample) {
+        return Mono.fromCallable(() -> sampleService.createSample(sample))
+                .subscribeOn(writeScheduler);
+    }
+    
+    @Override
+    public Mono<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        return Mono.fromCallable(() -> sampleService.updateSample(id, updatedSample))
+                .subscribeOn(writeScheduler)
+                .flatMap(Mono::justOrEmpty);
+    }
+    
+    @Override
+    public Mono<Boolean> deleteSample(Long id) {
+        return Mono.fromCallable(() -> sampleService.deleteSample(id))
+                .subscribeOn(writeScheduler);
+    }
+    
+    @Override
+    public Mono<Long> count() {
+        return read(Mono.fromSupplier(sampleService::count));
+    }
+    
+    @Override
+    public Flux<StoreChange> changes() {
+        return changes;
+    }
+    
+    @Override
+    public Flux<ChangeBatch> changeEvents(Long afterSequence) {
+        return Mono.fromSupplier(() -> changeLog.read(
+                        afterSequence != null ? afterSequence : changeLog.getLatestSequence(), EVENT_BATCH_SIZE))
+                .expand(batch -> batch.isResyncRequired()
+                        ? Mono.empty()
+                        : Mono.fromFuture(() -> changeLog.awaitAfter(batch.getCursor()))
+                                .then(Mono.fromSupplier(() -> changeLog.read(batch.getCursor(), EVENT_BATCH_SIZE))))
+                .filter(batch -> batch.isResyncRequired() || !batch.getEvents().isEmpty());
+    }
+    
+    private <T> Mono<T> read(Mono<T> mono) {
+        return readScheduler == null ? mono : mono.subscribeOn(readScheduler);
+    }
+}
\ No newline at end of file
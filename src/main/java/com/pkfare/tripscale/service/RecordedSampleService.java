@@ -0,0 +1,293 @@
+package com.example.framework.service;
+
+import com.example.framework.metrics.SampleOperationEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.TimeBucket;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Emits a JFR {@link SampleOperationEvent} for every operation of a SampleService backend.
+ * <p>
+ * Each event carries the operation, the sample ID it addressed, the number of samples
+ * returned and the exception it failed with. Outside a recording that enables the event,
+ * a call costs one check of the event's enabled flag. The store version accessors and
+ * the snapshot boundary are not recorded.
+ */
+public class RecordedSampleService extends ForwardingSampleService {
+    
+    // Result size of operations that do not return samples
+    private static final int NOT_COUNTED = -1;
+    
+    public RecordedSampleService(SampleService delegate) {
+        super(delegate);
+    }
+    
+    @Override
+    public List<SampleModel> getAllSamples() {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "getAllSamples", null, super.getAllSamples());
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "getAllSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "getSamplesAfter", null, super.getSamplesAfter(afterId, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "getSamplesAfter", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            super.forEachSample(action);
+            SampleOperationEvent.finishWithSize(event, "forEachSample", null, NOT_COUNTED);
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "forEachSample", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            R result = super.collectSamples(collector);
+            SampleOperationEvent.finishWithSize(event, "collectSamples", null, NOT_COUNTED);
+            return result;
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "collectSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "getSampleById", id, super.getSampleById(id));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "getSampleById", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "findByName", null, super.findByName(name, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "findByName", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "findByNamePrefix", null, super.findByNamePrefix(prefix, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "findByNamePrefix", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "findByNameRange", null, super.findByNameRange(from, to, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "findByNameRange", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "searchByDescription", null, super.searchByDescription(text, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "searchByDescription", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "findCreatedBetween", null, super.findCreatedBetween(from, to, limit));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "findCreatedBetween", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "countCreatedByBucket", null, super.countCreatedByBucket(from, to, bucketSize));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "countCreatedByBucket", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            SampleModel created = super.createSample(sample);
+            SampleOperationEvent.finishWithSize(event, "createSample", created.getId(), 1);
+            return created;
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "createSample", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "createSamples", null, super.createSamples(samples));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "createSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "updateSample", id, super.updateSample(id, updatedSample));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "updateSample", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "updateSampleIfVersion", id, super.updateSampleIfVersion(id, expectedVersion, expectedCreatedAt, updatedSample));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "updateSampleIfVersion", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "updateSamples", null, super.updateSamples(updatedSamples));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "updateSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "deleteSample", id, super.deleteSample(id));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "deleteSample", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "deleteSampleIfVersion", id, super.deleteSampleIfVersion(id, expectedVersion, expectedCreatedAt));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "deleteSampleIfVersion", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "deleteSamples", null, super.deleteSamples(ids));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "deleteSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            super.deleteAllSamples();
+            SampleOperationEvent.finishWithSize(event, "deleteAllSamples", null, NOT_COUNTED);
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "deleteAllSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            super.restoreSamples(samples, nextId);
+            SampleOperationEvent.finishWithSize(event, "restoreSamples", null, samples.size());
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "restoreSamples", null, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            return SampleOperationEvent.finish(event, "existsById", id, super.existsById(id));
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "existsById", id, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public long count() {
+        SampleOperationEvent event = SampleOperationEvent.start();
+        try {
+            long count = super.count();
+            SampleOperationEvent.finishWithSize(event, "count", null, NOT_COUNTED);
+            return count;
+        } catch (RuntimeException e) {
+            SampleOperationEvent.fail(event, "count", null, e);
+            throw e;
+        }
+    }
+}
\ No newline at end of file
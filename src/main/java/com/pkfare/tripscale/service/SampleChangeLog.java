@@ -0,0 +1,221 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.model.ChangeBatch;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer of sample change events.
+ * <p>
+ * Writers claim a sequence number with a single atomic increment and store the
+ * event in the slot that sequence maps to, overwriting the event one lap older.
+ * They never wait for readers: a reader that falls more than a lap behind finds
+ * its next slot overwritten and is told to resync instead. Readers waiting for
+ * new events register on a shared future, which the next writer completes
+ * asynchronously, so writers pay nothing beyond one read when nobody waits.
+ * A reader that stops waiting stays registered until that next publication.
+ * <p>
+ * Sequences restart at 1 with every instance, so each instance draws a random
+ * epoch that it hands out with every batch: a reader that sees the epoch change
+ * knows its position refers to an earlier log, even one that reached further.
+ */
+@Component
+public class SampleChangeLog {
+    
+    private final AtomicReferenceArray<SampleChangeEvent> slots;
+    private final int mask;
+    
+    // Random and never 0, so no two instances a reader sees share it and 0 can mean unknown
+    private final long epoch;
+    
+    // Sequences start at 1, so 0 is a valid 'after' for a reader that saw nothing yet
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    
+    // Completed by the next publication; null when no reader is waiting
+    private final AtomicReference<CompletableFuture<Void>> nextPublication = new AtomicReference<>();
+    
+    @Autowired
+    public SampleChangeLog(SampleChangeProperties properties) {
+        this(properties.getCapacity());
+    }
+    
+    public SampleChangeLog(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        // Round up to a power of two, so a sequence maps to its slot with a mask
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        long drawn;
+        do {
+            drawn = ThreadLocalRandom.current().nextLong();
+        } while (drawn == 0);
+        this.epoch = drawn;
+    }
+    
+    /**
+     * Append an event for a mutation that has just been applied
+     * Equivalent to {@link #claim} immediately followed by {@link #publish(SampleChangeEvent)}.
+     * 
+     * @param type Kind of mutation
+     * @param sampleId ID of the mutated sample, null for CLEARED
+     * @param sample The sample after the mutation, null for DELETED and CLEARED
+     * @return The sequence number assigned to the event
+     */
+    public long publish(SampleChangeEvent.Type type, Long sampleId, SampleModel sample) {
+        SampleChangeEvent event = claim(type, sampleId, sample);
+        publish(event);
+        return event.getSequence();
+    }
+    
+    /**
+     * Assign the next sequence number to an event without making it visible yet
+     * Readers stop at a claimed sequence until its event is published, so a writer
+     * claims from within the mutation's per-sample lock, which sequences the events
+     * of one sample in the order their mutations were applied, and publishes once
+     * the mutation is in the store and durable. Every claimed event must be
+     * published, or readers stall at its sequence.
+     * 
+     * @param type Kind of mutation
+     * @param sampleId ID of the mutated sample, null for CLEARED
+     * @param sample The sample after the mutation, null for DELETED and CLEARED
+     * @return The event, to be passed to {@link #publish(SampleChangeEvent)}
+     */
+    public SampleChangeEvent claim(SampleChangeEvent.Type type, Long sampleId, SampleModel sample) {
+        return claim(type, sampleId, sample, LocalDateTime.now());
+    }
+    
+    /**
+     * Claim an event stamped with a time the mutation already read, sparing the
+     * hot create and update paths a second clock read
+     * 
+     * @param timestamp Time of the mutation
+     * @see #claim(SampleChangeEvent.Type, Long, SampleModel)
+     */
+    public SampleChangeEvent claim(SampleChangeEvent.Type type, Long sampleId, SampleModel sample, LocalDateTime timestamp) {
+        return new SampleChangeEvent(nextSequence.getAndIncrement(), type, sampleId, sample, timestamp);
+    }
+    
+    /**
+     * Make a claimed event visible to readers
+     * 
+     * @param event An event returned by {@link #claim}
+     */
+    public void publish(SampleChangeEvent event) {
+        long sequence = event.getSequence();
+        int index = (int) (sequence & mask);
+        SampleChangeEvent current;
+        do {
+            current = slots.get(index);
+            // A writer a full lap ahead already filled the slot; this event is lost to readers either way
+            if (current != null && current.getSequence() > sequence) {
+                break;
+            }
+        } while (!slots.compareAndSet(index, current, event));
+        
+        CompletableFuture<Void> waiting = nextPublication.get();
+        if (waiting != null && nextPublication.compareAndSet(waiting, null)) {
+            // Wake readers on another thread, so a writer never runs consumer code
+            waiting.completeAsync(() -> null);
+        }
+    }
+    
+    /**
+     * Read the events following a given sequence number
+     * Stops early at an event that was claimed but is still being published.
+     * 
+     * @param afterSequence Sequence of the last event already seen (0 for none)
+     * @param maxEvents Maximum number of events to return
+     * @return The events, or a resync signal if they are no longer retained
+     */
+    public ChangeBatch read(long afterSequence, int maxEvents) {
+        long latest = getLatestSequence();
+        if (afterSequence > latest || afterSequence < latest - slots.length()) {
+            return resync(latest);
+        }
+        
+        List<SampleChangeEvent> events = new ArrayList<>((int) Math.min(maxEvents, latest - afterSequence));
+        long sequence = afterSequence + 1;
+        while (sequence <= latest && events.size() < maxEvents) {
+            SampleChangeEvent event = slots.get((int) (sequence & mask));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                // Overwritten while this reader was catching up
+                return resync(latest);
+            }
+            events.add(event);
+            sequence++;
+        }
+        return new ChangeBatch(events, epoch, sequence - 1, latest, false);
+    }
+    
+    /**
+     * Wait for the event following a given sequence number to be published
+     * 
+     * @param afterSequence Sequence of the last event already seen
+     * @return Future completing once the next event can be read, possibly as a resync
+     */
+    public CompletableFuture<Void> awaitAfter(long afterSequence) {
+        while (true) {
+            CompletableFuture<Void> waiting = nextPublication.get();
+            if (waiting == null) {
+                CompletableFuture<Void> created = new CompletableFuture<>();
+                if (!nextPublication.compareAndSet(null, created)) {
+                    continue;
+                }
+                waiting = created;
+            }
+            // Check after registering, so a publication racing with the registration is not missed
+            if (isPublished(afterSequence + 1)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // A copy, so one reader cancelling its wait cannot cancel everyone else's
+            return waiting.copy();
+        }
+    }
+    
+    /**
+     * Sequence number of the most recently claimed event, 0 if there was none
+     */
+    public long getLatestSequence() {
+        return nextSequence.get() - 1;
+    }
+    
+    /**
+     * Random ID of this log instance, which its sequence numbers are only meaningful within
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    /**
+     * Number of events retained for readers
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+    
+    private boolean isPublished(long sequence) {
+        SampleChangeEvent event = slots.get((int) (sequence & mask));
+        return event != null && event.getSequence() >= sequence;
+    }
+    
+    private ChangeBatch resync(long latest) {
+        return new ChangeBatch(List.of(), epoch, latest, latest, true);
+    }
+}
\ No newline at end of file
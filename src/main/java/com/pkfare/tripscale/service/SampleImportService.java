@@ -0,0 +1,188 @@
+package com.example.framework.service;
+
+import com.example.framework.model.ImportSummary;
+import com.example.framework.model.SampleModel;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Imports samples from newline-delimited JSON (NDJSON) streams.
+ * The body is read one line at a time straight from the input stream and each
+ * line is parsed with a Jackson streaming parser over the raw bytes. Valid samples
+ * are inserted in bounded batches before more input is read, so heap use stays
+ * flat and a fast client is throttled by TCP flow control while the store catches up.
+ */
+@Service
+public class SampleImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SampleImportService.class);
+    
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    private final SampleService sampleService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader sampleReader;
+    
+    @Autowired
+    public SampleImportService(SampleService sampleService, ObjectMapper objectMapper) {
+        this.sampleService = sampleService;
+        this.objectMapper = objectMapper;
+        this.sampleReader = objectMapper.readerFor(SampleModel.class);
+    }
+    
+    /**
+     * Import every line of an NDJSON stream as a new sample
+     * Blank lines are skipped; lines that are not a JSON object, fail to bind
+     * or have no name are rejected without aborting the import.
+     * 
+     * @param input The NDJSON stream, one SampleModel object per line
+     * @return Summary with the counts and the rejected line numbers
+     */
+    public ImportSummary importNdjson(InputStream input) throws IOException {
+        Importer importer = new Importer();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        byte[] line = new byte[1024];
+        int lineLength = 0;
+        boolean lineTooLong = false;
+        
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                int chunk = i - start;
+                if (!lineTooLong && lineLength + chunk <= MAX_LINE_LENGTH) {
+                    line = append(line, lineLength, buffer, start, chunk);
+                    importer.acceptLine(line, lineLength + chunk);
+                } else {
+                    importer.rejectLine();
+                }
+                lineLength = 0;
+                lineTooLong = false;
+                start = i + 1;
+            }
+            
+            // Keep the unterminated rest of the buffer for the next read
+            int chunk = read - start;
+            if (!lineTooLong && lineLength + chunk <= MAX_LINE_LENGTH) {
+                line = append(line, lineLength, buffer, start, chunk);
+                lineLength += chunk;
+            } else {
+                lineTooLong = true;
+            }
+        }
+        if (lineTooLong) {
+            importer.rejectLine();
+        } else if (lineLength > 0) {
+            importer.acceptLine(line, lineLength);
+        }
+        
+        ImportSummary summary = importer.finish();
+        logger.info("Imported {} samples from {} lines, {} rejected",
+                summary.getImported(), summary.getLinesRead(), summary.getRejected());
+        return summary;
+    }
+    
+    private static byte[] append(byte[] line, int lineLength, byte[] source, int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(source, offset, line, lineLength, length);
+        return line;
+    }
+    
+    /**
+     * State of one import: the current batch and the running counters
+     */
+    private final class Importer {
+        
+        private final List<SampleModel> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> rejectedLines = new ArrayList<>();
+        private long lineNumber;
+        private long imported;
+        private long rejected;
+        
+        void acceptLine(byte[] line, int length) throws IOException {
+            lineNumber++;
+            if (isBlank(line, length)) {
+                return;
+            }
+            
+            SampleModel sample = parse(line, length);
+            if (sample == null || sample.getName() == null || sample.getName().trim().isEmpty()) {
+                reject();
+                return;
+            }
+            
+            batch.add(sample);
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+        
+        void rejectLine() {
+            lineNumber++;
+            reject();
+        }
+        
+        ImportSummary finish() {
+            flush();
+            return new ImportSummary(lineNumber, imported, rejected, rejectedLines, rejected > rejectedLines.size());
+        }
+        
+        private SampleModel parse(byte[] line, int length) throws IOException {
+            try (JsonParser parser = objectMapper.getFactory().createParser(line, 0, length)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                SampleModel sample = sampleReader.readValue(parser);
+                // Anything after the object means the line held more than one value
+                return parser.nextToken() == null ? sample : null;
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+        
+        private void reject() {
+            rejected++;
+            if (rejectedLines.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedLines.add(lineNumber);
+            }
+        }
+        
+        private void flush() {
+            if (!batch.isEmpty()) {
+                imported += sampleService.createSamples(batch).size();
+                batch.clear();
+            }
+        }
+        
+        private boolean isBlank(byte[] line, int length) {
+            for (int i = 0; i < length; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
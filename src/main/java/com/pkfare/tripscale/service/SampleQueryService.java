@@ -0,0 +1,248 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleQueryProperties;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SampleQuery;
+import com.example.framework.model.SampleQueryResult;
+import com.example.framework.model.TimeBucket;
+import com.example.framework.store.LongLongHashMap;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collector;
+
+/**
+ * Filters and aggregates the whole sample store on the server.
+ * Scans run on a dedicated fork/join pool: the backend splits the store in place,
+ * each task folds its part into its own partial aggregate and the partials are merged
+ * as the tasks join, so no list of the store is built. A long scan occupies only this
+ * pool and leaves the common pool to the parallel streams elsewhere in the process.
+ */
+@Service
+public class SampleQueryService {
+    
+    // Lowest epoch day a LocalDate can have is about -3.7e11; the offset keeps day keys above
+    // LongLongHashMap's reserved key 0
+    private static final long DAY_KEY_OFFSET = 1L << 40;
+    
+    private static final Comparator<Map.Entry<String, long[]>> LARGEST_GROUP_FIRST =
+            Comparator.<Map.Entry<String, long[]>>comparingLong(entry -> entry.getValue()[0]).reversed()
+                    .thenComparing(Map.Entry::getKey);
+    
+    private final SampleService sampleService;
+    private final ForkJoinPool pool;
+    private final int maxGroups;
+    
+    @Autowired
+    public SampleQueryService(SampleService sampleService, SampleQueryProperties properties) {
+        this.sampleService = sampleService;
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("sample-query-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.maxGroups = properties.getMaxGroups();
+    }
+    
+    /**
+     * Scan every sample once, counting the matches and computing the requested aggregations
+     * 
+     * @param query Filter and aggregations; the name-prefix length must be positive if set
+     * @return Counts of scanned and matching samples with the requested aggregations
+     */
+    public SampleQueryResult query(SampleQuery query) {
+        Collector<SampleModel, ScanAggregate, ScanAggregate> collector = Collector.of(
+                () -> new ScanAggregate(query, maxGroups), ScanAggregate::add, ScanAggregate::merge,
+                Collector.Characteristics.UNORDERED);
+        ScanAggregate aggregate = pool.invoke(ForkJoinTask.adapt(() -> sampleService.collectSamples(collector)));
+        
+        SampleQueryResult result = new SampleQueryResult();
+        result.setScanned(aggregate.scanned);
+        result.setMatched(aggregate.matched);
+        if (aggregate.prefixCounts != null) {
+            List<Map.Entry<String, long[]>> groups = new ArrayList<>(aggregate.prefixCounts.entrySet());
+            groups.sort(LARGEST_GROUP_FIRST);
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> group : groups) {
+                counts.put(group.getKey(), group.getValue()[0]);
+            }
+            result.setNamePrefixCounts(counts);
+            result.setNamePrefixCountsTruncated(aggregate.groupsTruncated);
+        }
+        if (aggregate.dayCounts != null) {
+            result.setDayCounts(toDayBuckets(aggregate.dayCounts));
+        }
+        return result;
+    }
+    
+    /**
+     * Number of worker threads scans are split across
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+    
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+    
+    private static List<TimeBucket> toDayBuckets(LongLongHashMap dayCounts) {
+        long[] keys = new long[dayCounts.size()];
+        int[] next = {0};
+        dayCounts.forEach((key, count) -> keys[next[0]++] = key);
+        Arrays.sort(keys);
+        List<TimeBucket> buckets = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            LocalDateTime start = LocalDate.ofEpochDay(key - DAY_KEY_OFFSET).atStartOfDay();
+            buckets.add(new TimeBucket(start, dayCounts.get(key)));
+        }
+        return buckets;
+    }
+    
+    private static boolean matches(SampleQuery query, SampleModel sample) {
+        String name = sample.getName();
+        if (query.getNamePrefix() != null && (name == null || !name.startsWith(query.getNamePrefix()))) {
+            return false;
+        }
+        if (query.getNameContains() != null && !containsIgnoreCase(name, query.getNameContains())) {
+            return false;
+        }
+        if (query.getDescriptionContains() != null
+                && !containsIgnoreCase(sample.getDescription(), query.getDescriptionContains())) {
+            return false;
+        }
+        return (query.getFrom() == null && query.getTo() == null)
+                || SampleServiceImpl.isCreatedBetween(sample, query.getFrom(), query.getTo());
+    }
+    
+    /**
+     * Case-insensitive substring test that compares in place instead of lower-casing a copy per sample
+     */
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (text == null) {
+            return false;
+        }
+        int last = text.length() - part.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * First {@code length} chars of a name, one more rather than splitting a surrogate pair
+     */
+    private static String namePrefix(String name, int length) {
+        if (name == null) {
+            return "";
+        }
+        if (name.length() <= length) {
+            return name;
+        }
+        int end = Character.isHighSurrogate(name.charAt(length - 1)) ? length + 1 : length;
+        return name.substring(0, end);
+    }
+    
+    /**
+     * Partial aggregate of the samples one task has seen; not thread-safe, each task has its own
+     * <p>
+     * The group table never grows past maxGroups, in a partial or when partials merge, so
+     * a query over many distinct prefixes holds no more than that many groups per task.
+     * Samples of a prefix first met once the table is full are left out of the groups and
+     * mark the aggregate truncated; a group kept in one partial but dropped from another
+     * then counts only the samples of the partials that kept it.
+     */
+    private static final class ScanAggregate {
+        
+        private final SampleQuery query;
+        private final int prefixLength;
+        private final int maxGroups;
+        private long scanned;
+        private long matched;
+        
+        // Whether a group was left out because the table was full
+        private boolean groupsTruncated;
+        
+        // Count per name prefix in a one-element array, so increments need no re-insertion
+        private final Map<String, long[]> prefixCounts;
+        
+        // Count per creation day, keyed by epoch day plus DAY_KEY_OFFSET
+        private final LongLongHashMap dayCounts;
+        
+        private ScanAggregate(SampleQuery query, int maxGroups) {
+            this.query = query;
+            this.maxGroups = maxGroups;
+            this.prefixLength = query.getGroupByNamePrefix() == null ? 0 : query.getGroupByNamePrefix();
+            this.prefixCounts = prefixLength > 0 ? new HashMap<>() : null;
+            this.dayCounts = query.isCountByDay() ? new LongLongHashMap(64) : null;
+        }
+        
+        private void add(SampleModel sample) {
+            scanned++;
+            if (!matches(query, sample)) {
+                return;
+            }
+            matched++;
+            if (prefixCounts != null) {
+                addGroup(namePrefix(sample.getName(), prefixLength), 1);
+            }
+            if (dayCounts != null && sample.getCreatedAt() != null) {
+                addDay(sample.getCreatedAt().toLocalDate().toEpochDay() + DAY_KEY_OFFSET, 1);
+            }
+        }
+        
+        private ScanAggregate merge(ScanAggregate other) {
+            if (prefixCounts != null && other.prefixCounts.size() > prefixCounts.size()) {
+                // Fold the smaller group table into the larger one
+                return other.merge(this);
+            }
+            scanned += other.scanned;
+            matched += other.matched;
+            if (prefixCounts != null) {
+                groupsTruncated |= other.groupsTruncated;
+                other.prefixCounts.forEach((prefix, count) -> addGroup(prefix, count[0]));
+            }
+            if (dayCounts != null) {
+                other.dayCounts.forEach(this::addDay);
+            }
+            return this;
+        }
+        
+        private void addGroup(String prefix, long count) {
+            long[] groupCount = prefixCounts.get(prefix);
+            if (groupCount == null) {
+                if (prefixCounts.size() >= maxGroups) {
+                    groupsTruncated = true;
+                    return;
+                }
+                groupCount = new long[1];
+                prefixCounts.put(prefix, groupCount);
+            }
+            groupCount[0] += count;
+        }
+        
+        private void addDay(long key, long count) {
+            long current = dayCounts.get(key);
+            dayCounts.put(key, current == LongLongHashMap.NO_VALUE ? count : current + count);
+        }
+    }
+}
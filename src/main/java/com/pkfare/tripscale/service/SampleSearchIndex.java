@@ -0,0 +1,186 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleModel;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * Secondary indexes over SampleModel name and description.
+ * <p>
+ * Both indexes are concurrent skip lists of (term, id) pairs, so adding or
+ * removing one posting is a single atomic operation and no per-term collection
+ * ever has to be created or cleaned up. The name index keeps full names, which
+ * serves exact, prefix and range lookups; the token index keeps the lower-case
+ * words of each description.
+ * <p>
+ * Lookups only return candidate IDs. The store updates the indexes under the same
+ * per-key lock as the entity itself, and callers re-check every candidate against
+ * the stored entity, so a reader racing with an update never returns a sample
+ * that no longer matches.
+ */
+public class SampleSearchIndex {
+    
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private final ConcurrentSkipListSet<Posting> nameIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Posting> tokenIndex = new ConcurrentSkipListSet<>();
+    
+    /**
+     * Index a stored sample
+     */
+    public void add(SampleModel sample) {
+        long id = sample.getId();
+        if (sample.getName() != null) {
+            nameIndex.add(new Posting(sample.getName(), id));
+        }
+        for (String token : tokenize(sample.getDescription())) {
+            tokenIndex.add(new Posting(token, id));
+        }
+    }
+    
+    /**
+     * Remove the postings of a sample that is no longer stored
+     */
+    public void remove(SampleModel sample) {
+        long id = sample.getId();
+        if (sample.getName() != null) {
+            nameIndex.remove(new Posting(sample.getName(), id));
+        }
+        for (String token : tokenize(sample.getDescription())) {
+            tokenIndex.remove(new Posting(token, id));
+        }
+    }
+    
+    /**
+     * Move the postings of a sample from its previous to its new state,
+     * leaving postings shared by both states untouched
+     */
+    public void replace(SampleModel previous, SampleModel current) {
+        long id = current.getId();
+        if (previous.getName() == null || !previous.getName().equals(current.getName())) {
+            if (current.getName() != null) {
+                nameIndex.add(new Posting(current.getName(), id));
+            }
+            if (previous.getName() != null) {
+                nameIndex.remove(new Posting(previous.getName(), id));
+            }
+        }
+        Set<String> previousTokens = tokenize(previous.getDescription());
+        Set<String> currentTokens = tokenize(current.getDescription());
+        for (String token : currentTokens) {
+            if (!previousTokens.contains(token)) {
+                tokenIndex.add(new Posting(token, id));
+            }
+        }
+        for (String token : previousTokens) {
+            if (!currentTokens.contains(token)) {
+                tokenIndex.remove(new Posting(token, id));
+            }
+        }
+    }
+    
+    public void clear() {
+        nameIndex.clear();
+        tokenIndex.clear();
+    }
+    
+    /**
+     * Postings of samples whose name equals the given name, in ID order
+     */
+    public NavigableSet<Posting> nameEquals(String name) {
+        return nameIndex.subSet(new Posting(name, Long.MIN_VALUE), true, new Posting(name, Long.MAX_VALUE), true);
+    }
+    
+    /**
+     * Postings of samples whose name lies in [from, to), in name order; a null bound is open.
+     * An inverted range is empty.
+     */
+    public NavigableSet<Posting> nameRange(String from, String to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<Posting> range = from == null ? nameIndex : nameIndex.tailSet(new Posting(from, Long.MIN_VALUE), true);
+        return to == null ? range : range.headSet(new Posting(to, Long.MIN_VALUE), false);
+    }
+    
+    /**
+     * Postings of samples whose description contains the given lower-case token, in ID order
+     */
+    public NavigableSet<Posting> tokenPostings(String token) {
+        return tokenIndex.subSet(new Posting(token, Long.MIN_VALUE), true, new Posting(token, Long.MAX_VALUE), true);
+    }
+    
+    /**
+     * Whether a name lies in [from, to); a null bound is open
+     */
+    public static boolean isNameInRange(String name, String from, String to) {
+        return name != null && (from == null || name.compareTo(from) >= 0) && (to == null || name.compareTo(to) < 0);
+    }
+    
+    /**
+     * Whether a description contains every one of the given lower-case tokens
+     */
+    public static boolean containsAllTokens(String description, Set<String> tokens) {
+        return tokenize(description).containsAll(tokens);
+    }
+    
+    /**
+     * Split text into its distinct lower-case words
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Index entry ordered by term, then by sample ID
+     */
+    public static final class Posting implements Comparable<Posting> {
+        
+        private final String term;
+        private final long id;
+        
+        private Posting(String term, long id) {
+            this.term = term;
+            this.id = id;
+        }
+        
+        public String getTerm() {
+            return term;
+        }
+        
+        public long getId() {
+            return id;
+        }
+        
+        @Override
+        public int compareTo(Posting other) {
+            int byTerm = term.compareTo(other.term);
+            return byTerm != 0 ? byTerm : Long.compare(id, other.id);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Posting && compareTo((Posting) other) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * term.hashCode() + Long.hashCode(id);
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.example.framework.service;
 
+import com.example.framework.exception.VersionConflictException;
 import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotBoundary;
+import com.example.framework.model.TimeBucket;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
 
 /**
  * Service interface for managing SampleModel entities.
@@ -18,6 +25,33 @@ public interface SampleService {
      */
     List<SampleModel> getAllSamples();
     
+    /**
+     * Retrieve a page of sample entities in ascending ID order using keyset paging
+     * 
+     * @param afterId Exclusive lower bound on the ID (null to start from the beginning)
+     * @param limit Maximum number of entities to return
+     * @return List of at most {@code limit} SampleModel entities with IDs greater than {@code afterId}
+     */
+    List<SampleModel> getSamplesAfter(Long afterId, int limit);
+    
+    /**
+     * Visit every sample entity without copying the store
+     * 
+     * @param action The action to apply to each SampleModel entity
+     */
+    void forEachSample(Consumer<? super SampleModel> action);
+    
+    /**
+     * Fold every sample entity into a result without copying the store
+     * Backends that can split the scan do so on the fork/join pool of the calling thread,
+     * merging the partial containers with the collector's combiner. Like forEachSample,
+     * the scan is weakly consistent with concurrent mutations.
+     * 
+     * @param collector The collector to apply; accumulation order is unspecified
+     * @return The collector's result over all visited SampleModel entities
+     */
+    <R> R collectSamples(Collector<? super SampleModel, ?, R> collector);
+    
     /**
      * Retrieve a sample entity by its ID
      * 
@@ -26,6 +60,65 @@ public interface SampleService {
      */
     Optional<SampleModel> getSampleById(Long id);
     
+    /**
+     * Find samples whose name equals the given name
+     * 
+     * @param name The exact name to match
+     * @param limit Maximum number of entities to return
+     * @return Matching SampleModel entities in ascending ID order
+     */
+    List<SampleModel> findByName(String name, int limit);
+    
+    /**
+     * Find samples whose name starts with the given prefix
+     * 
+     * @param prefix The name prefix to match
+     * @param limit Maximum number of entities to return
+     * @return Matching SampleModel entities ordered by name, then ID
+     */
+    List<SampleModel> findByNamePrefix(String prefix, int limit);
+    
+    /**
+     * Find samples whose name lies in a range
+     * 
+     * @param from Inclusive lower bound on the name (null for unbounded)
+     * @param to Exclusive upper bound on the name (null for unbounded)
+     * @param limit Maximum number of entities to return
+     * @return Matching SampleModel entities ordered by name, then ID
+     */
+    List<SampleModel> findByNameRange(String from, String to, int limit);
+    
+    /**
+     * Find samples whose description contains every word of the given text
+     * Words are compared case-insensitively.
+     * 
+     * @param text The words to look for
+     * @param limit Maximum number of entities to return
+     * @return Matching SampleModel entities in ascending ID order
+     */
+    List<SampleModel> searchByDescription(String text, int limit);
+    
+    /**
+     * Find samples created within a time range
+     * 
+     * @param from Inclusive lower bound on createdAt (null for unbounded)
+     * @param to Exclusive upper bound on createdAt (null for unbounded)
+     * @param limit Maximum number of entities to return
+     * @return Matching SampleModel entities, oldest first
+     */
+    List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit);
+    
+    /**
+     * Count the samples created within a time range per time bucket
+     * Buckets are aligned to multiples of the bucket size since the epoch; empty buckets are included.
+     * 
+     * @param from Inclusive lower bound on createdAt
+     * @param to Exclusive upper bound on createdAt
+     * @param bucketSize Width of each bucket
+     * @return Buckets in chronological order with their sample counts
+     */
+    List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize);
+    
     /**
      * Create a new sample entity
      * 
@@ -34,6 +127,15 @@ public interface SampleService {
      */
     SampleModel createSample(SampleModel sample);
     
+    /**
+     * Create several sample entities at once
+     * IDs for the whole batch are reserved together and all entities share one creation timestamp.
+     * 
+     * @param samples The SampleModels to create (IDs will be auto-generated)
+     * @return The created SampleModels with generated IDs, in request order
+     */
+    List<SampleModel> createSamples(List<SampleModel> samples);
+    
     /**
      * Update an existing sample entity
      * 
@@ -43,6 +145,32 @@ public interface SampleService {
      */
     Optional<SampleModel> updateSample(Long id, SampleModel updatedSample);
     
+    /**
+     * Update an existing sample entity only if it is still at the expected version
+     * The version check and the update happen as one atomic step, so concurrent
+     * writers cannot overwrite each other's changes unnoticed. The creation time is
+     * checked in the same step; it tells a sample from one re-created under the same
+     * ID after a clear, which starts again at the same versions.
+     * 
+     * @param id The ID of the sample to update
+     * @param expectedVersion The version the caller last read
+     * @param expectedCreatedAt The creation time the caller last read, compared to the
+     *        millisecond as ETags carry it, or null to check the version only
+     * @param updatedSample The updated SampleModel data
+     * @return Optional containing the updated SampleModel if found, empty otherwise
+     * @throws VersionConflictException if the stored sample is at a different version
+     */
+    Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                SampleModel updatedSample);
+    
+    /**
+     * Update several existing sample entities, each identified by its own ID
+     * 
+     * @param updatedSamples The updated SampleModel data, each carrying the ID to update
+     * @return For each input, in order, the updated SampleModel or empty if not found
+     */
+    List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples);
+    
     /**
      * Delete a sample entity by its ID
      * 
@@ -51,11 +179,42 @@ public interface SampleService {
      */
     boolean deleteSample(Long id);
     
+    /**
+     * Delete a sample entity only if it is still at the expected version
+     * The check and the delete happen as one atomic step, like those of
+     * {@link #updateSampleIfVersion}, so a write that lands in between is not lost.
+     * 
+     * @param id The ID of the sample to delete
+     * @param expectedVersion The version the caller last read
+     * @param expectedCreatedAt The creation time the caller last read, or null to check the version only
+     * @return true if the sample was deleted, false if not found
+     * @throws VersionConflictException if the stored sample is at a different version
+     */
+    boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt);
+    
+    /**
+     * Delete several sample entities by their IDs
+     * 
+     * @param ids The IDs of the samples to delete
+     * @return For each input, in order, true if the sample was deleted, false if not found
+     */
+    List<Boolean> deleteSamples(List<Long> ids);
+    
     /**
      * Delete all sample entities
      */
     void deleteAllSamples();
     
+    /**
+     * Store complete sample entities exactly as given, keeping their IDs, versions and timestamps
+     * Existing samples with the same IDs are replaced. The ID sequence is advanced past every
+     * restored ID and to at least {@code nextId}, so later creates never reuse a restored ID.
+     * 
+     * @param samples The SampleModels to restore, each with an ID
+     * @param nextId Lowest ID the sequence may hand out next
+     */
+    void restoreSamples(List<SampleModel> samples, long nextId);
+    
     /**
      * Check if a sample exists by its ID
      * 
@@ -70,4 +229,52 @@ public interface SampleService {
      * @return The number of samples stored
      */
     long count();
+    
+    /**
+     * Version of the store as a whole, advanced after every mutation
+     * Read it before reading the samples it should describe.
+     * 
+     * @return The current store version
+     */
+    long getStoreVersion();
+    
+    /**
+     * Time of the most recent mutation, or of startup if there was none
+     * 
+     * @return The last modification time of the store
+     */
+    LocalDateTime getLastModified();
+    
+    /**
+     * Cut a boundary in the store's change history for a consistent snapshot
+     * Waits for the mutations in progress and holds new ones back only while the
+     * boundary is read, so writers pause for an instant rather than for the snapshot.
+     * 
+     * @return The change sequence of the boundary and the ID sequence position at it; every
+     *         mutation up to that change sequence is visible to readers, every later one
+     *         publishes a higher sequence
+     */
+    SnapshotBoundary cutSnapshotBoundary();
+    
+    /**
+     * Run an action while mutations from every other thread are rejected
+     * Mutations already under way complete before the action starts; mutations the
+     * action makes on the calling thread go through. Used to replace the whole store
+     * without concurrent writes landing in between.
+     * 
+     * @param action The action to run
+     * @return What the action returned
+     * @throws com.example.framework.exception.BusinessException with code STORE_LOCKED if
+     *         another thread already has the store to itself
+     */
+    <T, E extends Exception> T writeExclusively(ExclusiveAction<T, E> action) throws E;
+    
+    /**
+     * Action run by {@link #writeExclusively}
+     */
+    @FunctionalInterface
+    interface ExclusiveAction<T, E extends Exception> {
+        
+        T run() throws E;
+    }
 }
\ No newline at end of file
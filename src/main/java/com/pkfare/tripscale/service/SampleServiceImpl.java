@@ -1,29 +1,161 @@
 package com.example.framework.service;
 
+import com.example.framework.config.SampleChangeProperties;
+import com.example.framework.exception.VersionConflictException;
+import com.example.framework.model.SampleChangeEvent;
 import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotBoundary;
+import com.example.framework.model.TimeBucket;
+import com.example.framework.store.SampleJournal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 /**
  * Implementation of SampleService using in-memory storage.
  * Provides business logic for CRUD operations on SampleModel entities.
+ * This is the default backend, selected by {@code sample.store.type=memory}.
+ * When a SampleJournal is configured, every mutation is journaled and the
+ * store is rebuilt from the journal on startup. Every mutation is also
+ * published to the SampleChangeLog once it is in the store and, with a journal,
+ * synced; recovery replays are not published.
  */
 @Service
+@ConditionalOnProperty(prefix = "sample.store", name = "type", havingValue = "memory", matchIfMissing = true)
 public class SampleServiceImpl implements SampleService {
     
-    // In-memory storage for demonstration purposes
-    private final ConcurrentHashMap<Long, SampleModel> sampleStorage = new ConcurrentHashMap<>();
+    // Initial map capacity, the ConcurrentHashMap default; the store grows as samples are added
+    private static final int DEFAULT_CAPACITY = 16;
+    
+    // In-memory storage with its indexes and snapshot barrier
+    private final IndexedSampleStore store;
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    // Version of the whole store, advanced after each mutation has been applied
+    private final AtomicLong storeVersion = new AtomicLong();
+    private volatile LocalDateTime lastModified = LocalDateTime.now();
+    
+    // Checked under the read side of the store's barrier and reserved under its write side
+    private final ExclusiveWriter exclusiveWriter = new ExclusiveWriter();
+    
+    // Durable journal of mutations, null when running purely in memory
+    private final SampleJournal journal;
+    
+    // Change events for downstream consumers, claimed under the same per-key lock as the journal entry
+    private final SampleChangeLog changeLog;
+    
+    /**
+     * Constructor for a purely in-memory store
+     */
+    public SampleServiceImpl() {
+        this.journal = null;
+        this.changeLog = new SampleChangeLog(new SampleChangeProperties());
+        this.store = new IndexedSampleStore(DEFAULT_CAPACITY, null, changeLog);
+    }
+    
+    @Autowired
+    public SampleServiceImpl(ObjectProvider<SampleJournal> journalProvider, SampleChangeLog changeLog) {
+        this.journal = journalProvider.getIfAvailable();
+        this.changeLog = changeLog;
+        this.store = new IndexedSampleStore(DEFAULT_CAPACITY, journal, changeLog);
+    }
+    
+    /**
+     * Rebuild the store from the journal, if one is configured
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        journal.open(new SampleJournal.Recovery() {
+            @Override
+            public void put(SampleModel sample) {
+                store.recoverPut(sample);
+                idGenerator.accumulateAndGet(sample.getId() + 1, Math::max);
+            }
+            
+            @Override
+            public void delete(long id) {
+                store.recoverDelete(id);
+            }
+            
+            @Override
+            public void clear() {
+                store.clear();
+                idGenerator.set(1);
+            }
+            
+            @Override
+            public void restoreNextId(long nextId) {
+                idGenerator.set(nextId);
+            }
+        }, new SampleJournal.StoreState() {
+            @Override
+            public void forEachSample(Consumer<? super SampleModel> action) {
+                SampleServiceImpl.this.forEachSample(action);
+            }
+            
+            @Override
+            public long nextId() {
+                return idGenerator.get();
+            }
+        });
+    }
+    
     @Override
     public List<SampleModel> getAllSamples() {
-        return new ArrayList<>(sampleStorage.values());
+        return new ArrayList<>(store.samples.values());
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        List<SampleModel> page = new ArrayList<>();
+        if (limit <= 0) {
+            return page;
+        }
+        
+        Iterable<Long> ids = afterId == null ? store.ids : store.ids.tailSet(afterId, false);
+        for (Long id : ids) {
+            // Skip IDs whose entity was removed after the index was read
+            SampleModel sample = store.samples.get(id);
+            if (sample != null) {
+                page.add(sample);
+                if (page.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        store.samples.values().forEach(action);
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        // The map's spliterator splits its table in place; the stream runs on the caller's fork/join pool
+        return store.samples.values().parallelStream().collect(collector);
     }
     
     @Override
@@ -31,7 +163,68 @@ public class SampleServiceImpl implements SampleService {
         if (id == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(sampleStorage.get(id));
+        return Optional.ofNullable(store.samples.get(id));
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        return IndexedSampleStore.resolve(store.searchIndex.nameEquals(name).iterator(), posting -> true,
+                sample -> name.equals(sample.getName()), limit, store.samples::get);
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null) {
+            return new ArrayList<>();
+        }
+        return IndexedSampleStore.resolve(store.searchIndex.nameRange(prefix, null).iterator(),
+                posting -> posting.getTerm().startsWith(prefix),
+                sample -> sample.getName() != null && sample.getName().startsWith(prefix), limit, store.samples::get);
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        return IndexedSampleStore.resolve(store.searchIndex.nameRange(from, to).iterator(), posting -> true,
+                sample -> SampleSearchIndex.isNameInRange(sample.getName(), from, to), limit, store.samples::get);
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        Set<String> tokens = SampleSearchIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Walk the postings of the longest word, which tends to be the rarest. Every candidate is
+        // re-checked, even for one word: a posting added by a concurrent replace can lead to the old entity
+        String driver = tokens.stream().max(Comparator.comparingInt(String::length)).get();
+        return IndexedSampleStore.resolve(store.searchIndex.tokenPostings(driver).iterator(), posting -> true,
+                sample -> SampleSearchIndex.containsAllTokens(sample.getDescription(), tokens),
+                limit, store.samples::get);
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<SampleModel> results = new ArrayList<>();
+        for (SampleTimeIndex.Entry entry : store.timeIndex.range(from, to)) {
+            if (results.size() >= limit) {
+                break;
+            }
+            // The index has millisecond precision; check the exact bounds on the entity
+            SampleModel sample = store.samples.get(entry.getId());
+            if (sample != null && isCreatedBetween(sample, from, to)) {
+                results.add(sample);
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        return store.timeIndex.histogram(from, to, bucketSize, store.samples::get);
     }
     
     @Override
@@ -40,15 +233,46 @@ public class SampleServiceImpl implements SampleService {
             throw new IllegalArgumentException("Sample cannot be null");
         }
         
-        // Generate new ID and set creation timestamp
-        Long newId = idGenerator.getAndIncrement();
-        sample.setId(newId);
-        sample.setCreatedAt(LocalDateTime.now());
-        
-        // Store the sample
-        sampleStorage.put(newId, sample);
+        return mutate(changes -> {
+            // Generate new ID and set creation timestamp
+            Long newId = idGenerator.getAndIncrement();
+            sample.setId(newId);
+            sample.setCreatedAt(LocalDateTime.now());
+            sample.setVersion(1L);
+            sample.setUpdatedAt(sample.getCreatedAt());
+            
+            store.add(sample, changes);
+            return sample;
+        });
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        if (samples == null || samples.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        if (samples.isEmpty()) {
+            return new ArrayList<>();
+        }
         
-        return sample;
+        return mutate(changes -> {
+            // Reserve the whole ID range at once and share one creation timestamp
+            long firstId = idGenerator.getAndAdd(samples.size());
+            LocalDateTime createdAt = LocalDateTime.now();
+            
+            List<SampleModel> created = new ArrayList<>(samples.size());
+            for (SampleModel sample : samples) {
+                Long newId = firstId + created.size();
+                sample.setId(newId);
+                sample.setCreatedAt(createdAt);
+                sample.setVersion(1L);
+                sample.setUpdatedAt(createdAt);
+                
+                store.add(sample, changes);
+                created.add(sample);
+            }
+            return created;
+        });
     }
     
     @Override
@@ -57,19 +281,35 @@ public class SampleServiceImpl implements SampleService {
             return Optional.empty();
         }
         
-        SampleModel existingSample = sampleStorage.get(id);
-        if (existingSample != null) {
-            // Update fields while preserving ID and creation timestamp
-            updatedSample.setId(id);
-            updatedSample.setCreatedAt(existingSample.getCreatedAt());
-            
-            // Store the updated sample
-            sampleStorage.put(id, updatedSample);
-            
-            return Optional.of(updatedSample);
+        return mutate(changes -> replaceSample(id, null, null, updatedSample, changes));
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        if (id == null || updatedSample == null) {
+            return Optional.empty();
         }
         
-        return Optional.empty();
+        return mutate(changes -> replaceSample(id, expectedVersion, expectedCreatedAt, updatedSample, changes));
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        if (updatedSamples == null) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        
+        // One journal sync covers the whole batch
+        return mutate(changes -> {
+            List<Optional<SampleModel>> results = new ArrayList<>(updatedSamples.size());
+            for (SampleModel updatedSample : updatedSamples) {
+                results.add(updatedSample == null
+                        ? Optional.empty()
+                        : replaceSample(updatedSample.getId(), null, null, updatedSample, changes));
+            }
+            return results;
+        });
     }
     
     @Override
@@ -78,14 +318,62 @@ public class SampleServiceImpl implements SampleService {
             return false;
         }
         
-        SampleModel removedSample = sampleStorage.remove(id);
-        return removedSample != null;
+        return mutate(changes -> store.remove(id, changes));
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        if (id == null) {
+            return false;
+        }
+        
+        return mutate(changes -> store.remove(id, expectedVersion, expectedCreatedAt, changes));
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        
+        // One journal sync covers the whole batch
+        return mutate(changes -> {
+            List<Boolean> results = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                results.add(id != null && store.remove(id, changes));
+            }
+            return results;
+        });
     }
     
     @Override
     public void deleteAllSamples() {
-        sampleStorage.clear();
-        idGenerator.set(1); // Reset ID generator
+        // Exclusive, so no create can land between the clear and the ID reset, journal or not
+        mutateExclusively(changes -> {
+            if (journal != null) {
+                journal.logClear();
+            }
+            changes.add(changeLog.claim(SampleChangeEvent.Type.CLEARED, null, null));
+            store.clear();
+            idGenerator.set(1); // Reset ID generator
+            return null;
+        });
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        if (samples == null || samples.stream().anyMatch(sample -> !hasRestorableId(sample))) {
+            throw new IllegalArgumentException("Samples to restore must have a positive ID");
+        }
+        
+        // One journal sync covers the whole batch
+        mutate(changes -> {
+            for (SampleModel sample : samples) {
+                putSample(sample, changes);
+            }
+            idGenerator.accumulateAndGet(nextId, Math::max);
+            return null;
+        });
     }
     
     @Override
@@ -93,11 +381,162 @@ public class SampleServiceImpl implements SampleService {
         if (id == null) {
             return false;
         }
-        return sampleStorage.containsKey(id);
+        return store.samples.containsKey(id);
     }
     
     @Override
     public long count() {
-        return sampleStorage.size();
+        return store.samples.size();
+    }
+    
+    @Override
+    public long getStoreVersion() {
+        return storeVersion.get();
+    }
+    
+    @Override
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    @Override
+    public SnapshotBoundary cutSnapshotBoundary() {
+        long stamp = store.barrier.writeLock();
+        try {
+            return new SnapshotBoundary(changeLog.getLatestSequence(), idGenerator.get());
+        } finally {
+            store.barrier.unlockWrite(stamp);
+        }
+    }
+    
+    @Override
+    public <T, E extends Exception> T writeExclusively(ExclusiveAction<T, E> action) throws E {
+        long stamp = store.barrier.writeLock();
+        try {
+            exclusiveWriter.acquire();
+        } finally {
+            store.barrier.unlockWrite(stamp);
+        }
+        try {
+            return action.run();
+        } finally {
+            exclusiveWriter.release();
+        }
+    }
+    
+    static void checkVersion(SampleModel existingSample, Long expectedVersion, LocalDateTime expectedCreatedAt) {
+        if (expectedCreatedAt != null && (existingSample.getCreatedAt() == null
+                || !existingSample.getCreatedAt().truncatedTo(ChronoUnit.MILLIS)
+                        .equals(expectedCreatedAt.truncatedTo(ChronoUnit.MILLIS)))) {
+            throw new VersionConflictException(String.format(
+                    "Sample with identifier '%s' was re-created since the given version was read", existingSample.getId()));
+        }
+        long actualVersion = existingSample.getVersion() == null ? 0L : existingSample.getVersion();
+        if (expectedVersion != null && actualVersion != expectedVersion) {
+            throw new VersionConflictException("Sample", existingSample.getId().toString(), expectedVersion, actualVersion);
+        }
+    }
+    
+    static long nextVersion(SampleModel existingSample) {
+        return existingSample.getVersion() == null ? 1L : existingSample.getVersion() + 1;
+    }
+    
+    static boolean hasRestorableId(SampleModel sample) {
+        return sample != null && sample.getId() != null && sample.getId() > 0;
+    }
+    
+    static boolean isCreatedBetween(SampleModel sample, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime createdAt = sample.getCreatedAt();
+        return createdAt != null && (from == null || !createdAt.isBefore(from)) && (to == null || createdAt.isBefore(to));
+    }
+    
+    /**
+     * Replace an existing sample, see {@link IndexedSampleStore#replace}. Must be called from within {@link #mutate}.
+     */
+    private Optional<SampleModel> replaceSample(Long id, Long expectedVersion, LocalDateTime expectedCreatedAt,
+                                               SampleModel updatedSample, List<SampleChangeEvent> changes) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return store.replace(id, expectedVersion, expectedCreatedAt, updatedSample, changes);
+    }
+    
+    /**
+     * Store a sample as given, replacing any sample with its ID. Must be called from within {@link #mutate}.
+     */
+    private void putSample(SampleModel sample, List<SampleChangeEvent> changes) {
+        store.put(sample, changes);
+        idGenerator.accumulateAndGet(sample.getId() + 1, Math::max);
+    }
+    
+    /**
+     * Run a mutation inside the snapshot barrier and the journal's mutation lock, wait
+     * until the journal has made it durable, then publish its change events. Without
+     * a journal only the barrier is held.
+     * <p>
+     * The mutation claims the sequence of each event under the per-key lock and adds
+     * it to the list it is given. Readers of the change log stop at a claimed sequence,
+     * so no consumer sees an event before the store holds its mutation and, with a
+     * journal, before the journal has synced it; a follower never applies a write the
+     * leader could still lose in a crash. The events are published even if the sync
+     * fails, since the store already serves the mutation and an unpublished sequence
+     * would stall every reader.
+     */
+    private <T> T mutate(Function<List<SampleChangeEvent>, T> mutation) {
+        return mutate(false, mutation);
+    }
+    
+    /**
+     * Run a mutation like {@link #mutate}, but with the write side of the snapshot
+     * barrier, so it excludes every other mutation even without a journal
+     */
+    private <T> T mutateExclusively(Function<List<SampleChangeEvent>, T> mutation) {
+        return mutate(true, mutation);
+    }
+    
+    private <T> T mutate(boolean exclusive, Function<List<SampleChangeEvent>, T> mutation) {
+        List<SampleChangeEvent> changes = new ArrayList<>();
+        T result;
+        try {
+            long stamp = exclusive ? store.barrier.writeLock() : store.barrier.readLock();
+            try {
+                exclusiveWriter.check();
+                result = applyLocked(mutation, changes);
+            } finally {
+                store.barrier.unlock(stamp);
+            }
+            if (journal != null) {
+                journal.sync();
+            }
+        } finally {
+            changes.forEach(changeLog::publish);
+        }
+        return modified(result);
+    }
+    
+    /**
+     * Apply a mutation under the journal's mutation lock, if there is a journal
+     */
+    private <T> T applyLocked(Function<List<SampleChangeEvent>, T> mutation, List<SampleChangeEvent> changes) {
+        if (journal == null) {
+            return mutation.apply(changes);
+        }
+        Lock lock = journal.mutationLock();
+        lock.lock();
+        try {
+            return mutation.apply(changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Advance the store version once a mutation is visible, so a reader that
+     * sampled the version first can only pair it with newer data, never older
+     */
+    private <T> T modified(T result) {
+        lastModified = LocalDateTime.now();
+        storeVersion.incrementAndGet();
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.example.framework.service;
+
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.TimeBucket;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongFunction;
+
+/**
+ * Time-ordered index of samples by creation timestamp.
+ * <p>
+ * A concurrent skip list of (createdAt epoch-millis, id) entries answers range
+ * queries in O(log n + k) and bucketed counts in O(log n + k + buckets), without
+ * touching samples outside the range. The creation timestamp never changes after
+ * a sample is created, so only create, delete and clear maintain the index.
+ * Local date-times are read as UTC, matching the storage record format.
+ */
+public class SampleTimeIndex {
+    
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+    
+    public void add(SampleModel sample) {
+        if (sample.getCreatedAt() != null) {
+            entries.add(new Entry(toEpochMillis(sample.getCreatedAt()), sample.getId()));
+        }
+    }
+    
+    public void remove(SampleModel sample) {
+        if (sample.getCreatedAt() != null) {
+            entries.remove(new Entry(toEpochMillis(sample.getCreatedAt()), sample.getId()));
+        }
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * Entries created in [from, to), oldest first; a null bound is open.
+     * The index has millisecond precision, so entries from the millisecond of
+     * either bound may lie outside the range; callers check the exact bounds.
+     */
+    public NavigableSet<Entry> range(LocalDateTime from, LocalDateTime to) {
+        NavigableSet<Entry> range = from == null ? entries : entries.tailSet(new Entry(toEpochMillis(from), Long.MIN_VALUE), true);
+        return to == null ? range : range.headSet(new Entry(endEpochMillis(to), Long.MIN_VALUE), false);
+    }
+    
+    /**
+     * Count the entries created in [from, to) per bucket.
+     * Buckets are aligned to multiples of the bucket size since the epoch, and
+     * empty buckets are included so the histogram has no gaps. Entries from the
+     * millisecond of a bound are counted only if their sample, looked up by ID,
+     * lies within the exact bounds, as findCreatedBetween would return it.
+     */
+    public List<TimeBucket> histogram(LocalDateTime from, LocalDateTime to, Duration bucketSize,
+                                      LongFunction<SampleModel> samples) {
+        long bucketMillis = bucketSize.toMillis();
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+        boolean fromInexact = !fromEpochMillis(fromMillis).equals(from);
+        boolean toInexact = !fromEpochMillis(toMillis).equals(to);
+        long firstBucket = Math.floorDiv(fromMillis, bucketMillis);
+        long[] counts = new long[Math.toIntExact(bucketCount(from, to, bucketSize))];
+        for (Entry entry : range(from, to)) {
+            if ((fromInexact && entry.createdAtMillis == fromMillis) || (toInexact && entry.createdAtMillis == toMillis)) {
+                SampleModel sample = samples.apply(entry.id);
+                if (sample == null || !SampleServiceImpl.isCreatedBetween(sample, from, to)) {
+                    continue;
+                }
+            }
+            counts[Math.toIntExact(Math.floorDiv(entry.createdAtMillis, bucketMillis) - firstBucket)]++;
+        }
+        return toBuckets(counts, firstBucket, bucketMillis);
+    }
+    
+    /**
+     * Number of buckets a histogram over [from, to) would have
+     */
+    public static long bucketCount(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        long bucketMillis = bucketSize.toMillis();
+        return Math.floorDiv(endEpochMillis(to) - 1, bucketMillis) - Math.floorDiv(toEpochMillis(from), bucketMillis) + 1;
+    }
+    
+    /**
+     * Turn per-bucket counts into histogram buckets
+     */
+    public static List<TimeBucket> toBuckets(long[] counts, long firstBucket, long bucketMillis) {
+        List<TimeBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new TimeBucket(fromEpochMillis((firstBucket + i) * bucketMillis), counts[i]));
+        }
+        return buckets;
+    }
+    
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+    
+    /**
+     * First millisecond that lies entirely at or after an exclusive upper bound
+     */
+    private static long endEpochMillis(LocalDateTime to) {
+        long millis = toEpochMillis(to);
+        return fromEpochMillis(millis).equals(to) ? millis : millis + 1;
+    }
+    
+    /**
+     * Index entry ordered by creation time, then by sample ID
+     */
+    public static final class Entry implements Comparable<Entry> {
+        
+        private final long createdAtMillis;
+        private final long id;
+        
+        private Entry(long createdAtMillis, long id) {
+            this.createdAtMillis = createdAtMillis;
+            this.id = id;
+        }
+        
+        public long getId() {
+            return id;
+        }
+        
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(createdAtMillis, other.createdAtMillis);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry && compareTo((Entry) other) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(createdAtMillis) + Long.hashCode(id);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,639 @@
+package com.example.framework.service;
+
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotBoundary;
+import com.example.framework.model.TimeBucket;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Implementation of SampleService splitting the in-memory store into independent shards.
+ * Selected by {@code sample.store.type=sharded}; it keeps no journal.
+ * <p>
+ * Each shard is an IndexedSampleStore, the same map, ID index, secondary indexes and
+ * snapshot barrier the single-map store keeps, without a journal. IDs are
+ * handed out in blocks of {@value #BLOCK_SIZE}, and block {@code b} belongs to shard
+ * {@code b mod shards}, so an ID routes to its shard with a shift and a mask. Each shard
+ * counts through its own blocks on a sequence padded onto its own cache lines, and a
+ * thread creates in the shard its thread ID maps to, so creates on different threads
+ * share no counter and no map. IDs are unique and ascending per shard, but not dense: each
+ * shard skips the blocks of the others.
+ * <p>
+ * The size is the sum of the shards' map sizes, each a striped counter. Queries over the
+ * whole store merge the ordered views of every shard. Change events still take one
+ * sequence number each from the shared SampleChangeLog, which orders them globally; that
+ * one increment costs far less than the mutation it records, so it is left unstriped.
+ */
+@Service
+@ConditionalOnProperty(prefix = "sample.store", name = "type", havingValue = "sharded")
+public class ShardedSampleServiceImpl implements SampleService {
+    
+    static final int BLOCK_BITS = 10;
+    static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final long BLOCK_MASK = BLOCK_SIZE - 1;
+    
+    // Per-shard state in one padded array: slots of different shards are 128 bytes apart
+    private static final int STATE_STRIDE = 16;
+    private static final int SEQUENCE = 0;
+    private static final int LAST_MODIFIED = 1;
+    
+    private final IndexedSampleStore[] shards;
+    private final int shardBits;
+    private final int shardMask;
+    
+    // Per shard, the next local sequence to turn into an ID and the time of the last mutation
+    private final AtomicLongArray shardState;
+    
+    // Number of mutations applied since startup; only ever increases, so sums are monotonic
+    private final LongAdder storeVersion = new LongAdder();
+    
+    // Checked under a shard's barrier and reserved under the barriers of every shard
+    private final ExclusiveWriter exclusiveWriter = new ExclusiveWriter();
+    
+    // Change events for downstream consumers, claimed under the per-key lock of the mutation
+    private final SampleChangeLog changeLog;
+    
+    public ShardedSampleServiceImpl(SampleStoreProperties properties, SampleChangeLog changeLog) {
+        int requested = properties.getSharded().getShards() > 0
+                ? properties.getSharded().getShards()
+                : Runtime.getRuntime().availableProcessors();
+        if (requested > 1 << 16) {
+            throw new IllegalArgumentException("Shard count must be at most 65536: " + requested);
+        }
+        int shardCount = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.shardBits = Integer.numberOfTrailingZeros(shardCount);
+        this.shardMask = shardCount - 1;
+        this.changeLog = changeLog;
+        this.shards = new IndexedSampleStore[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new IndexedSampleStore(properties.getSharded().getInitialCapacity(), null, changeLog);
+        }
+        this.shardState = new AtomicLongArray(shardCount * STATE_STRIDE);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < shardCount; i++) {
+            shardState.set(i * STATE_STRIDE + LAST_MODIFIED, now);
+        }
+    }
+    
+    @Override
+    public List<SampleModel> getAllSamples() {
+        List<SampleModel> samples = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8, count()));
+        for (IndexedSampleStore shard : shards) {
+            samples.addAll(shard.samples.values());
+        }
+        return samples;
+    }
+    
+    @Override
+    public List<SampleModel> getSamplesAfter(Long afterId, int limit) {
+        List<SampleModel> page = new ArrayList<>();
+        if (limit <= 0) {
+            return page;
+        }
+        
+        Iterator<Long> ids = merge(shard -> afterId == null ? shard.ids : shard.ids.tailSet(afterId, false),
+                Comparator.naturalOrder());
+        while (ids.hasNext() && page.size() < limit) {
+            // Skip IDs whose entity was removed after the index was read
+            Long id = ids.next();
+            SampleModel sample = shardOf(id).samples.get(id);
+            if (sample != null) {
+                page.add(sample);
+            }
+        }
+        return page;
+    }
+    
+    @Override
+    public void forEachSample(Consumer<? super SampleModel> action) {
+        for (IndexedSampleStore shard : shards) {
+            shard.samples.values().forEach(action);
+        }
+    }
+    
+    @Override
+    public <R> R collectSamples(Collector<? super SampleModel, ?, R> collector) {
+        return collectShards(collector);
+    }
+    
+    /**
+     * Collect every shard in parallel into its own container, splitting each shard's map
+     * as well, then merge the shard containers and finish once
+     */
+    private <A, R> R collectShards(Collector<? super SampleModel, A, R> collector) {
+        Supplier<A> supplier = collector.supplier();
+        BiConsumer<A, ? super SampleModel> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        Collector<SampleModel, A, A> partial = Collector.of(supplier, accumulator::accept, combiner);
+        A container = Arrays.stream(shards).parallel()
+                .map(shard -> shard.samples.values().parallelStream().collect(partial))
+                .reduce(combiner)
+                .orElseGet(supplier);
+        return collector.finisher().apply(container);
+    }
+    
+    @Override
+    public Optional<SampleModel> getSampleById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(shardOf(id).samples.get(id));
+    }
+    
+    @Override
+    public List<SampleModel> findByName(String name, int limit) {
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        return IndexedSampleStore.resolve(merge(shard -> shard.searchIndex.nameEquals(name), Comparator.naturalOrder()),
+                posting -> true, sample -> name.equals(sample.getName()), limit, this::stored);
+    }
+    
+    @Override
+    public List<SampleModel> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null) {
+            return new ArrayList<>();
+        }
+        return IndexedSampleStore.resolve(merge(shard -> shard.searchIndex.nameRange(prefix, null), Comparator.naturalOrder()),
+                posting -> posting.getTerm().startsWith(prefix),
+                sample -> sample.getName() != null && sample.getName().startsWith(prefix), limit, this::stored);
+    }
+    
+    @Override
+    public List<SampleModel> findByNameRange(String from, String to, int limit) {
+        return IndexedSampleStore.resolve(merge(shard -> shard.searchIndex.nameRange(from, to), Comparator.naturalOrder()),
+                posting -> true, sample -> SampleSearchIndex.isNameInRange(sample.getName(), from, to), limit,
+                this::stored);
+    }
+    
+    @Override
+    public List<SampleModel> searchByDescription(String text, int limit) {
+        Set<String> tokens = SampleSearchIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Walk the postings of the longest word, which tends to be the rarest. Every candidate is
+        // re-checked, even for one word: a posting added by a concurrent replace can lead to the old entity
+        String driver = tokens.stream().max(Comparator.comparingInt(String::length)).get();
+        return IndexedSampleStore.resolve(merge(shard -> shard.searchIndex.tokenPostings(driver), Comparator.naturalOrder()),
+                posting -> true,
+                sample -> SampleSearchIndex.containsAllTokens(sample.getDescription(), tokens),
+                limit, this::stored);
+    }
+    
+    @Override
+    public List<SampleModel> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<SampleModel> results = new ArrayList<>();
+        Iterator<SampleTimeIndex.Entry> entries = merge(shard -> shard.timeIndex.range(from, to), Comparator.naturalOrder());
+        while (entries.hasNext() && results.size() < limit) {
+            // The index has millisecond precision; check the exact bounds on the entity
+            long id = entries.next().getId();
+            SampleModel sample = shardOf(id).samples.get(id);
+            if (sample != null && SampleServiceImpl.isCreatedBetween(sample, from, to)) {
+                results.add(sample);
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public List<TimeBucket> countCreatedByBucket(LocalDateTime from, LocalDateTime to, Duration bucketSize) {
+        // Every shard's histogram has the same aligned buckets
+        List<TimeBucket> histogram = shards[0].timeIndex.histogram(from, to, bucketSize, shards[0].samples::get);
+        for (int i = 1; i < shards.length; i++) {
+            List<TimeBucket> shardHistogram = shards[i].timeIndex.histogram(from, to, bucketSize, shards[i].samples::get);
+            for (int bucket = 0; bucket < histogram.size(); bucket++) {
+                TimeBucket total = histogram.get(bucket);
+                total.setCount(total.getCount() + shardHistogram.get(bucket).getCount());
+            }
+        }
+        return histogram;
+    }
+    
+    @Override
+    public SampleModel createSample(SampleModel sample) {
+        if (sample == null) {
+            throw new IllegalArgumentException("Sample cannot be null");
+        }
+        
+        int shardIndex = homeShard();
+        IndexedSampleStore shard = shards[shardIndex];
+        return mutate(shardIndex, changes -> {
+            long newId = idOf(shardIndex, shardState.getAndIncrement(shardIndex * STATE_STRIDE + SEQUENCE));
+            sample.setId(newId);
+            sample.setCreatedAt(LocalDateTime.now());
+            sample.setVersion(1L);
+            sample.setUpdatedAt(sample.getCreatedAt());
+            
+            shard.add(sample, changes);
+            return sample;
+        });
+    }
+    
+    @Override
+    public List<SampleModel> createSamples(List<SampleModel> samples) {
+        if (samples == null || samples.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        if (samples.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        int shardIndex = homeShard();
+        IndexedSampleStore shard = shards[shardIndex];
+        return mutate(shardIndex, changes -> {
+            // Reserve the whole range of the shard's sequence at once and share one creation timestamp
+            long firstSequence = shardState.getAndAdd(shardIndex * STATE_STRIDE + SEQUENCE, samples.size());
+            LocalDateTime createdAt = LocalDateTime.now();
+            
+            List<SampleModel> created = new ArrayList<>(samples.size());
+            for (SampleModel sample : samples) {
+                long newId = idOf(shardIndex, firstSequence + created.size());
+                sample.setId(newId);
+                sample.setCreatedAt(createdAt);
+                sample.setVersion(1L);
+                sample.setUpdatedAt(createdAt);
+                
+                shard.add(sample, changes);
+                created.add(sample);
+            }
+            return created;
+        });
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSample(Long id, SampleModel updatedSample) {
+        if (id == null || updatedSample == null) {
+            return Optional.empty();
+        }
+        
+        return mutate(shardIndexOf(id), changes -> replaceSample(id, null, null, updatedSample, changes));
+    }
+    
+    @Override
+    public Optional<SampleModel> updateSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt,
+                                                       SampleModel updatedSample) {
+        if (id == null || updatedSample == null) {
+            return Optional.empty();
+        }
+        
+        return mutate(shardIndexOf(id), changes -> replaceSample(id, expectedVersion, expectedCreatedAt, updatedSample, changes));
+    }
+    
+    @Override
+    public List<Optional<SampleModel>> updateSamples(List<SampleModel> updatedSamples) {
+        if (updatedSamples == null) {
+            throw new IllegalArgumentException("Samples cannot be null");
+        }
+        
+        // Items go to different shards, so each one is a mutation of its own
+        List<Optional<SampleModel>> results = new ArrayList<>(updatedSamples.size());
+        for (SampleModel updatedSample : updatedSamples) {
+            results.add(updatedSample == null || updatedSample.getId() == null
+                    ? Optional.empty()
+                    : updateSample(updatedSample.getId(), updatedSample));
+        }
+        return results;
+    }
+    
+    @Override
+    public boolean deleteSample(Long id) {
+        if (id == null) {
+            return false;
+        }
+        
+        return mutate(shardIndexOf(id), changes -> shardOf(id).remove(id, changes));
+    }
+    
+    @Override
+    public boolean deleteSampleIfVersion(Long id, long expectedVersion, LocalDateTime expectedCreatedAt) {
+        if (id == null) {
+            return false;
+        }
+        
+        return mutate(shardIndexOf(id), changes -> shardOf(id).remove(id, expectedVersion, expectedCreatedAt, changes));
+    }
+    
+    @Override
+    public List<Boolean> deleteSamples(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        
+        List<Boolean> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(deleteSample(id));
+        }
+        return results;
+    }
+    
+    @Override
+    public void deleteAllSamples() {
+        // Take every shard's barrier exclusively, in the order cutSnapshotBoundary locks them in,
+        // so no create can land between a shard's clear and its ID reset
+        long[] stamps = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            stamps[i] = shards[i].barrier.writeLock();
+        }
+        SampleChangeEvent cleared;
+        try {
+            exclusiveWriter.check();
+            cleared = changeLog.claim(SampleChangeEvent.Type.CLEARED, null, null);
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].clear();
+                shardState.set(i * STATE_STRIDE + SEQUENCE, 0); // Reset ID generator
+            }
+        } finally {
+            for (int i = shards.length - 1; i >= 0; i--) {
+                shards[i].barrier.unlockWrite(stamps[i]);
+            }
+        }
+        changeLog.publish(cleared);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < shards.length; i++) {
+            shardState.set(i * STATE_STRIDE + LAST_MODIFIED, now);
+        }
+        storeVersion.increment();
+    }
+    
+    @Override
+    public void restoreSamples(List<SampleModel> samples, long nextId) {
+        if (samples == null || samples.stream().anyMatch(sample -> !SampleServiceImpl.hasRestorableId(sample))) {
+            throw new IllegalArgumentException("Samples to restore must have a positive ID");
+        }
+        
+        for (SampleModel sample : samples) {
+            long id = sample.getId();
+            int shardIndex = shardIndexOf(id);
+            mutate(shardIndex, changes -> {
+                shards[shardIndex].put(sample, changes);
+                shardState.accumulateAndGet(shardIndex * STATE_STRIDE + SEQUENCE, sequenceOf(id) + 1, Math::max);
+                return null;
+            });
+        }
+        for (int i = 0; i < shards.length; i++) {
+            shardState.accumulateAndGet(i * STATE_STRIDE + SEQUENCE, firstSequenceFrom(i, nextId), Math::max);
+        }
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        if (id == null) {
+            return false;
+        }
+        return shardOf(id).samples.containsKey(id);
+    }
+    
+    @Override
+    public long count() {
+        long count = 0;
+        for (IndexedSampleStore shard : shards) {
+            count += shard.samples.mappingCount();
+        }
+        return count;
+    }
+    
+    @Override
+    public long getStoreVersion() {
+        return storeVersion.sum();
+    }
+    
+    @Override
+    public LocalDateTime getLastModified() {
+        long lastModified = Long.MIN_VALUE;
+        for (int i = 0; i < shards.length; i++) {
+            lastModified = Math.max(lastModified, shardState.get(i * STATE_STRIDE + LAST_MODIFIED));
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneId.systemDefault());
+    }
+    
+    @Override
+    public SnapshotBoundary cutSnapshotBoundary() {
+        long[] stamps = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            stamps[i] = shards[i].barrier.writeLock();
+        }
+        try {
+            return new SnapshotBoundary(changeLog.getLatestSequence(), nextId());
+        } finally {
+            for (int i = shards.length - 1; i >= 0; i--) {
+                shards[i].barrier.unlockWrite(stamps[i]);
+            }
+        }
+    }
+    
+    @Override
+    public <T, E extends Exception> T writeExclusively(ExclusiveAction<T, E> action) throws E {
+        long[] stamps = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            stamps[i] = shards[i].barrier.writeLock();
+        }
+        try {
+            exclusiveWriter.acquire();
+        } finally {
+            for (int i = shards.length - 1; i >= 0; i--) {
+                shards[i].barrier.unlockWrite(stamps[i]);
+            }
+        }
+        try {
+            return action.run();
+        } finally {
+            exclusiveWriter.release();
+        }
+    }
+    
+    /**
+     * Number of shards the store is split into
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    /**
+     * Lowest ID above every ID any shard has handed out
+     */
+    private long nextId() {
+        long nextId = 1;
+        for (int i = 0; i < shards.length; i++) {
+            nextId = Math.max(nextId, idOf(i, shardState.get(i * STATE_STRIDE + SEQUENCE)));
+        }
+        return nextId;
+    }
+    
+    /**
+     * ID of a shard's local sequence number: the sequence's block number among the
+     * shard's blocks picks the global block, the low bits the offset within it
+     */
+    private long idOf(int shardIndex, long sequence) {
+        long block = ((sequence >>> BLOCK_BITS) << shardBits) | shardIndex;
+        return ((block << BLOCK_BITS) | (sequence & BLOCK_MASK)) + 1;
+    }
+    
+    /**
+     * Local sequence number an ID was generated from, the inverse of {@link #idOf}
+     */
+    private long sequenceOf(long id) {
+        long offset = id - 1;
+        return ((offset >>> (BLOCK_BITS + shardBits)) << BLOCK_BITS) | (offset & BLOCK_MASK);
+    }
+    
+    /**
+     * Lowest local sequence number of a shard whose ID is at least {@code id}
+     */
+    private long firstSequenceFrom(int shardIndex, long id) {
+        if (id <= 1) {
+            return 0;
+        }
+        long offset = id - 1;
+        long block = offset >>> BLOCK_BITS;
+        long round = block >>> shardBits;
+        int owner = (int) (block & shardMask);
+        if (shardIndex == owner) {
+            return (round << BLOCK_BITS) | (offset & BLOCK_MASK);
+        }
+        return (shardIndex > owner ? round : round + 1) << BLOCK_BITS;
+    }
+    
+    private int shardIndexOf(long id) {
+        return (int) ((id - 1) >>> BLOCK_BITS) & shardMask;
+    }
+    
+    private IndexedSampleStore shardOf(long id) {
+        return shards[shardIndexOf(id)];
+    }
+    
+    private SampleModel stored(long id) {
+        return shardOf(id).samples.get(id);
+    }
+    
+    /**
+     * Shard the current thread creates in. Request and benchmark threads have
+     * consecutive IDs, so they spread evenly over the shards.
+     */
+    private int homeShard() {
+        return (int) Thread.currentThread().getId() & shardMask;
+    }
+    
+    /**
+     * Walk an ordered view of every shard as one ordered sequence
+     */
+    private <T> Iterator<T> merge(Function<IndexedSampleStore, Iterable<T>> view, Comparator<? super T> order) {
+        List<Iterator<T>> sources = new ArrayList<>(shards.length);
+        for (IndexedSampleStore shard : shards) {
+            sources.add(view.apply(shard).iterator());
+        }
+        return new MergingIterator<>(sources, order);
+    }
+    
+    /**
+     * Replace an existing sample, see {@link IndexedSampleStore#replace}. Must be called from within {@link #mutate}.
+     */
+    private Optional<SampleModel> replaceSample(Long id, Long expectedVersion, LocalDateTime expectedCreatedAt,
+                                               SampleModel updatedSample, List<SampleChangeEvent> changes) {
+        return shardOf(id).replace(id, expectedVersion, expectedCreatedAt, updatedSample, changes);
+    }
+    
+    /**
+     * Run a mutation of one shard inside that shard's snapshot barrier, then publish
+     * the change events it claimed under the per-key lock, once the shard holds them
+     */
+    private <T> T mutate(int shardIndex, Function<List<SampleChangeEvent>, T> mutation) {
+        List<SampleChangeEvent> changes = new ArrayList<>(1);
+        T result;
+        StampedLock barrier = shards[shardIndex].barrier;
+        long stamp = barrier.readLock();
+        try {
+            exclusiveWriter.check();
+            result = mutation.apply(changes);
+        } finally {
+            barrier.unlockRead(stamp);
+            changes.forEach(changeLog::publish);
+        }
+        modified(shardIndex);
+        return result;
+    }
+    
+    /**
+     * Advance the store version once a mutation is visible, so a reader that
+     * sampled the version first can only pair it with newer data, never older
+     */
+    private void modified(int shardIndex) {
+        shardState.set(shardIndex * STATE_STRIDE + LAST_MODIFIED, System.currentTimeMillis());
+        storeVersion.increment();
+    }
+    
+    /**
+     * K-way merge of ordered iterators, taking the smallest head each step
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+    
+        private final PriorityQueue<Head<T>> heads;
+        
+        private MergingIterator(List<Iterator<T>> sources, Comparator<? super T> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                    (left, right) -> order.compare(left.value, right.value));
+            for (Iterator<T> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), source));
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+        
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            T value = head.value;
+            if (head.source.hasNext()) {
+                head.value = head.source.next();
+                heads.add(head);
+            }
+            return value;
+        }
+        
+        private static final class Head<T> {
+        
+            private T value;
+            private final Iterator<T> source;
+            
+            private Head(T value, Iterator<T> source) {
+                this.value = value;
+                this.source = source;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.framework.store;
+
+/**
+ * When a journal forces written data to the storage device.
+ */
+public enum FsyncPolicy {
+    
+    /**
+     * Force before every mutation returns; no acknowledged write is ever lost
+     */
+    ALWAYS,
+    
+    /**
+     * Force periodically in the background; at most one interval of writes can be lost
+     */
+    INTERVAL,
+    
+    /**
+     * Never force explicitly and leave write-back to the operating system
+     */
+    OS
+}
\ No newline at end of file
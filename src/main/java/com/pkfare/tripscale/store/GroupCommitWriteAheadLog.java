@@ -0,0 +1,509 @@
+package com.example.framework.store;
+
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.model.SampleModel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SampleJournal that group-commits mutations to a write-ahead log, checkpointed
+ * into compacted snapshots. Selected by {@code sample.store.journal=wal}.
+ * <p>
+ * Request threads only copy their entry into a shared in-memory batch. A single
+ * writer thread swaps the batch out, writes it with one call and forces it with
+ * one fsync; every mutation that arrived while the previous fsync was running
+ * shares the next one. {@link #sync()} blocks each caller until the batch holding
+ * its own last entry is durable, so acknowledged writes are never lost.
+ * Entries use the {@link JournalEntries} layout after the file header; a log of another
+ * format version is rejected on open.
+ * <p>
+ * Once the logs written since the last checkpoint exceed the configured threshold, a
+ * background checkpoint switches appends to a new log file and writes the store as a
+ * snapshot named after that log, in the same format as MappedSampleJournal's. The
+ * snapshot then supersedes every older log and snapshot, which are deleted, so disk use
+ * and replay time follow the live store rather than the write history. Recovery loads
+ * the newest snapshot and replays the logs from its number onwards.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sample.store", name = "journal", havingValue = "wal")
+public class GroupCommitWriteAheadLog implements SampleJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitWriteAheadLog.class);
+    
+    private static final String LOG_PREFIX = "samples-";
+    private static final String LOG_SUFFIX = ".wal";
+    // Single log written before checkpoints existed; adopted as the first numbered log
+    private static final String LEGACY_LOG_FILE = "samples.wal";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int LOG_MAGIC = 0x5453574C;
+    private static final int INITIAL_BATCH_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    
+    private final Path directory;
+    private final long checkpointThreshold;
+    
+    // Mutations hold the read side; cutting a checkpoint boundary takes the write side
+    private final ReentrantReadWriteLock checkpointBarrier = new ReentrantReadWriteLock();
+    private final AtomicBoolean checkpointRunning = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchAvailable = lock.newCondition();
+    private final Condition durableAdvanced = lock.newCondition();
+    
+    // Sequence number of the last entry appended by each thread
+    private final ThreadLocal<long[]> lastAppended = ThreadLocal.withInitial(() -> new long[1]);
+    
+    // Guarded by lock
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BATCH_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BATCH_SIZE);
+    private long appendedSequence;
+    private IOException failure;
+    private boolean closed;
+    private long batches;
+    private long bytesSinceCheckpoint;
+    private long logNumber;
+    private FileChannel channel;
+    
+    private volatile long durableSequence;
+    private Thread writer;
+    private ExecutorService checkpointExecutor;
+    private StoreState state;
+    
+    public GroupCommitWriteAheadLog(SampleStoreProperties properties) {
+        SampleStoreProperties.Wal wal = properties.getWal();
+        this.directory = Paths.get(wal.getDirectory());
+        this.checkpointThreshold = wal.getCheckpointThreshold();
+    }
+    
+    @Override
+    public void open(Recovery recovery, StoreState state) throws IOException {
+        this.state = state;
+        Files.createDirectories(directory);
+        for (Path leftover : JournalFiles.list(directory, "", JournalFiles.TEMP_SUFFIX)) {
+            Files.deleteIfExists(leftover);
+        }
+        Path legacy = directory.resolve(LEGACY_LOG_FILE);
+        if (Files.exists(legacy) && fileNumbers(LOG_PREFIX, LOG_SUFFIX).isEmpty()) {
+            Files.move(legacy, logPath(1));
+        }
+        
+        long started = System.nanoTime();
+        long replayFrom = 1;
+        List<Long> snapshots = fileNumbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        Collections.reverse(snapshots);
+        for (long snapshot : snapshots) {
+            if (JournalFiles.loadSnapshot(snapshotPath(snapshot), recovery)) {
+                replayFrom = snapshot;
+                break;
+            }
+            logger.warn("Ignoring unreadable snapshot {}", snapshotPath(snapshot));
+            recovery.clear();
+        }
+        
+        long entries = 0;
+        boolean torn = false;
+        logNumber = replayFrom;
+        for (long number : fileNumbers(LOG_PREFIX, LOG_SUFFIX)) {
+            if (number < replayFrom || torn) {
+                // Logs covered by the snapshot, or written after a torn entry, are obsolete
+                Files.deleteIfExists(logPath(number));
+                continue;
+            }
+            try (FileChannel log = openLog(number)) {
+                long[] replayed = replay(log, recovery);
+                entries += replayed[1];
+                if (replayed[0] < log.size()) {
+                    logger.warn("Truncating {} torn bytes at the end of {}", log.size() - replayed[0], logPath(number));
+                    log.truncate(replayed[0]);
+                    log.force(false);
+                    torn = true;
+                }
+            }
+            logNumber = number;
+        }
+        channel = openLog(logNumber);
+        logger.info("Recovered write-ahead log {} (snapshot {}, {} log entries) in {} ms",
+                directory, replayFrom, entries, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        
+        checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sample-wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer = new Thread(this::writeBatches, "sample-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    @Override
+    public Lock mutationLock() {
+        return checkpointBarrier.readLock();
+    }
+    
+    @Override
+    public void logPut(SampleModel sample) {
+        byte[] name = SampleRecordCodec.encodeString(sample.getName());
+        byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+        int size = JournalEntries.putSize(name, description);
+        
+        lock.lock();
+        try {
+            int position = reserve(size);
+            published(JournalEntries.writePut(pending, position, sample, name, description));
+        } finally {
+            lock.unlock();
+        }
+        checkpointIfDue();
+    }
+    
+    @Override
+    public void logDelete(long id) {
+        lock.lock();
+        try {
+            int position = reserve(JournalEntries.HEADER_SIZE + 8);
+            published(JournalEntries.writeDelete(pending, position, id));
+        } finally {
+            lock.unlock();
+        }
+        checkpointIfDue();
+    }
+    
+    @Override
+    public void logClear() {
+        lock.lock();
+        try {
+            int position = reserve(JournalEntries.HEADER_SIZE);
+            published(JournalEntries.writeMarker(pending, position, JournalEntries.TYPE_CLEAR));
+        } finally {
+            lock.unlock();
+        }
+        checkpointIfDue();
+    }
+    
+    @Override
+    public void sync() {
+        long sequence = lastAppended.get()[0];
+        if (durableSequence >= sequence) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                durableAdvanced.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    @PreDestroy
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        checkpointExecutor.shutdown();
+        try {
+            checkpointExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            closed = true;
+            batchAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        logger.info("Closed write-ahead log after {} entries in {} group commits", appendedSequence, batches);
+    }
+    
+    /**
+     * Make room for an entry in the pending batch. Must be called with the lock held.
+     * 
+     * @return Position of the entry within the pending batch
+     */
+    private int reserve(int size) {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        if (pending.remaining() < size) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        return pending.position();
+    }
+    
+    /**
+     * Move past the entry just written and assign it the next sequence number.
+     * Must be called with the lock held.
+     */
+    private void published(int length) {
+        pending.position(pending.position() + length);
+        bytesSinceCheckpoint += length;
+        lastAppended.get()[0] = ++appendedSequence;
+        batchAvailable.signal();
+    }
+    
+    /**
+     * Writer loop: swap out the pending batch, write and force it, then release its waiters
+     */
+    private void writeBatches() {
+        while (true) {
+            ByteBuffer batch;
+            long batchSequence;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    batchAvailable.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                batchSequence = appendedSequence;
+                target = channel;
+            } finally {
+                lock.unlock();
+            }
+            
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                target.force(false);
+                batch.clear();
+            } catch (IOException e) {
+                logger.error("Write-ahead log write failed: {}", e.getMessage(), e);
+                lock.lock();
+                try {
+                    failure = e;
+                    durableAdvanced.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            
+            lock.lock();
+            try {
+                spare = batch;
+                durableSequence = batchSequence;
+                batches++;
+                durableAdvanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private void checkpointIfDue() {
+        // Unguarded read; a late or early checkpoint trigger is harmless
+        if (bytesSinceCheckpoint >= checkpointThreshold && checkpointRunning.compareAndSet(false, true)) {
+            checkpointExecutor.execute(() -> {
+                try {
+                    checkpoint();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Failed to checkpoint write-ahead log: {}", e.getMessage(), e);
+                } finally {
+                    checkpointRunning.set(false);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Cut a boundary at a fresh log, write the store state as a snapshot for that
+     * log and delete everything the snapshot supersedes.
+     */
+    private void checkpoint() throws IOException {
+        long snapshotLog;
+        long nextId;
+        checkpointBarrier.writeLock().lock();
+        try {
+            lock.lock();
+            try {
+                // No entry can be appended while the barrier is held; let the writer finish the logged ones
+                while (durableSequence < appendedSequence && failure == null) {
+                    durableAdvanced.awaitUninterruptibly();
+                }
+                if (failure != null) {
+                    throw new IOException("Write-ahead log is unavailable", failure);
+                }
+                FileChannel next = openLog(logNumber + 1);
+                channel.close();
+                channel = next;
+                snapshotLog = ++logNumber;
+                bytesSinceCheckpoint = 0;
+            } finally {
+                lock.unlock();
+            }
+            nextId = state.nextId();
+        } finally {
+            checkpointBarrier.writeLock().unlock();
+        }
+        
+        long started = System.nanoTime();
+        Path target = snapshotPath(snapshotLog);
+        long count = JournalFiles.writeSnapshot(target, state, nextId);
+        
+        for (long number : fileNumbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (number < snapshotLog) {
+                Files.deleteIfExists(snapshotPath(number));
+            }
+        }
+        for (long number : fileNumbers(LOG_PREFIX, LOG_SUFFIX)) {
+            if (number < snapshotLog) {
+                Files.deleteIfExists(logPath(number));
+            }
+        }
+        logger.info("Checkpointed write-ahead log into {} with {} samples in {} ms",
+                target, count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    /**
+     * Open a numbered log positioned for appends, checking the header of an existing
+     * one or writing one into a new one
+     * 
+     * @throws IOException if an existing log has another format version
+     */
+    private FileChannel openLog(long number) throws IOException {
+        Path path = logPath(number);
+        FileChannel log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            openFileHeader(log, path);
+            log.position(log.size());
+            return log;
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Check the header of an existing log, or write one into a new log
+     * 
+     * @throws IOException if the log has another format version
+     */
+    private void openFileHeader(FileChannel log, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JournalEntries.FILE_HEADER_SIZE);
+        if (log.size() >= header.capacity()) {
+            int read;
+            do {
+                read = log.read(header, header.position());
+            } while (read > 0 && header.hasRemaining());
+            if (!JournalEntries.isBlankFileHeader(header)) {
+                JournalEntries.checkFileHeader(header, LOG_MAGIC, file);
+                return;
+            }
+        }
+        // A new log, or one whose header never reached the disk and so holds no entries either
+        log.truncate(0);
+        JournalEntries.writeFileHeader(header, LOG_MAGIC);
+        header.clear();
+        while (header.hasRemaining()) {
+            log.write(header, header.position());
+        }
+        log.force(true);
+    }
+    
+    /**
+     * Apply every valid entry of a log file to the store
+     * 
+     * @return The length of the valid prefix of the file and the number of entries applied
+     */
+    private long[] replay(FileChannel log, Recovery recovery) throws IOException {
+        long fileSize = log.size();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long fileOffset = JournalEntries.FILE_HEADER_SIZE;
+        long validEnd = JournalEntries.FILE_HEADER_SIZE;
+        long entries = 0;
+        int position = 0;
+        int filled = 0;
+        
+        while (true) {
+            int available = filled - position;
+            int needed = JournalEntries.HEADER_SIZE;
+            if (available >= 4) {
+                int length = buffer.getInt(position);
+                if (length > fileSize - validEnd) {
+                    break;
+                }
+                needed = Math.max(needed, length);
+            }
+            if (available < needed && fileOffset < fileSize) {
+                // Move the partial entry to the front and read more of the file behind it
+                ByteBuffer target = needed > buffer.capacity() ? ByteBuffer.allocate(needed) : buffer;
+                System.arraycopy(buffer.array(), position, target.array(), 0, available);
+                buffer = target;
+                buffer.limit(buffer.capacity()).position(available);
+                int read = log.read(buffer, fileOffset);
+                fileOffset += Math.max(read, 0);
+                position = 0;
+                filled = buffer.position();
+                continue;
+            }
+            
+            int length = JournalEntries.replay(buffer, position, filled, recovery);
+            if (length <= 0) {
+                break;
+            }
+            position += length;
+            validEnd += length;
+            entries++;
+        }
+        return new long[] { validEnd, entries };
+    }
+    
+    private Path logPath(long number) {
+        return JournalFiles.numberedPath(directory, LOG_PREFIX, number, LOG_SUFFIX);
+    }
+    
+    private Path snapshotPath(long number) {
+        return JournalFiles.numberedPath(directory, SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX);
+    }
+    
+    private List<Long> fileNumbers(String prefix, String suffix) throws IOException {
+        return JournalFiles.fileNumbers(directory, prefix, suffix);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.framework.store;
+
+import com.example.framework.model.SampleModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of journal entries shared by the SampleJournal implementations.
+ * Every entry is {@code int length | int crc32c | byte type | payload}, where the
+ * length covers the whole entry and the checksum covers the type and payload.
+ * Writers fill in the payload first and the length last, so a zero length
+ * always marks the end of the written log.
+ * <p>
+ * Every journal file starts with {@code int magic | int formatVersion}. Files of
+ * another version are rejected on open rather than misparsed; version 1 files,
+ * written before records carried a version and updatedAt, have no header at all.
+ */
+final class JournalEntries {
+    
+    static final int HEADER_SIZE = 4 + 4 + 1;
+    
+    static final int FILE_HEADER_SIZE = 4 + 4;
+    static final int FORMAT_VERSION = 2;
+    
+    static final byte TYPE_PUT = 1;
+    static final byte TYPE_DELETE = 2;
+    static final byte TYPE_CLEAR = 3;
+    static final byte TYPE_END = 4;
+    
+    /**
+     * Returned by {@link #replay} when the entry is an end-of-segment marker
+     */
+    static final int END_OF_SEGMENT = 0;
+    
+    /**
+     * Returned by {@link #replay} when no valid entry exists at the position
+     */
+    static final int INVALID = -1;
+    
+    private JournalEntries() {
+    }
+    
+    static void writeFileHeader(ByteBuffer buffer, int magic) {
+        buffer.putInt(0, magic);
+        buffer.putInt(4, FORMAT_VERSION);
+    }
+    
+    /**
+     * Whether a file header is still blank, as left by a crash right after the file was created
+     */
+    static boolean isBlankFileHeader(ByteBuffer buffer) {
+        return buffer.getInt(0) == 0 && buffer.getInt(4) == 0;
+    }
+    
+    /**
+     * Reject a journal file that is not of the expected kind and format version
+     * 
+     * @throws IOException naming the file and the version found
+     */
+    static void checkFileHeader(ByteBuffer buffer, int magic, Path file) throws IOException {
+        if (buffer.getInt(0) != magic) {
+            throw new IOException("Journal file " + file + " has no format header; it was written by an older"
+                    + " build (format version 1) and cannot be read by this one (format version " + FORMAT_VERSION + ")");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Journal file " + file + " has unsupported format version " + buffer.getInt(4)
+                    + "; this build reads version " + FORMAT_VERSION);
+        }
+    }
+    
+    /**
+     * Size of a put entry for a sample with the given encoded strings
+     */
+    static int putSize(byte[] name, byte[] description) {
+        return HEADER_SIZE + SampleRecordCodec.encodedSize(name, description);
+    }
+    
+    static int writePut(ByteBuffer buffer, int position, SampleModel sample, byte[] name, byte[] description) {
+        int payloadSize = SampleRecordCodec.write(buffer, position + HEADER_SIZE,
+                sample.getId(), SampleRecordCodec.versionOf(sample), sample.getCreatedAt(), sample.getUpdatedAt(),
+                name, description);
+        return seal(buffer, position, TYPE_PUT, payloadSize);
+    }
+    
+    static int writeDelete(ByteBuffer buffer, int position, long id) {
+        buffer.putLong(position + HEADER_SIZE, id);
+        return seal(buffer, position, TYPE_DELETE, 8);
+    }
+    
+    static int writeMarker(ByteBuffer buffer, int position, byte type) {
+        return seal(buffer, position, type, 0);
+    }
+    
+    /**
+     * Validate the entry at a position and apply it to the store
+     * 
+     * @param limit End of the readable region
+     * @return Length of the applied entry, {@link #END_OF_SEGMENT} or {@link #INVALID}
+     */
+    static int replay(ByteBuffer buffer, int position, int limit, SampleJournal.Recovery recovery) {
+        if (position + HEADER_SIZE > limit) {
+            return INVALID;
+        }
+        int length = buffer.getInt(position);
+        if (length < HEADER_SIZE || position + length > limit) {
+            return INVALID;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, length - 8));
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return INVALID;
+        }
+        
+        switch (buffer.get(position + 8)) {
+            case TYPE_PUT:
+                recovery.put(SampleRecordCodec.read(buffer, position + HEADER_SIZE));
+                return length;
+            case TYPE_DELETE:
+                recovery.delete(buffer.getLong(position + HEADER_SIZE));
+                return length;
+            case TYPE_CLEAR:
+                recovery.clear();
+                return length;
+            case TYPE_END:
+                return END_OF_SEGMENT;
+            default:
+                return INVALID;
+        }
+    }
+    
+    /**
+     * Checksum an entry whose payload is already written and publish it by writing its length
+     * 
+     * @return Total length of the entry
+     */
+    private static int seal(ByteBuffer buffer, int position, byte type, int payloadSize) {
+        buffer.put(position + 8, type);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, 1 + payloadSize));
+        buffer.putInt(position + 4, (int) crc.getValue());
+        int length = HEADER_SIZE + payloadSize;
+        buffer.putInt(position, length);
+        return length;
+    }
+}
\ No newline at end of file
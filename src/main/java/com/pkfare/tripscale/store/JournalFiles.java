@@ -0,0 +1,177 @@
+package com.example.framework.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Numbered files and compacted snapshots shared by the journals.
+ * <p>
+ * A snapshot holds a header with the next ID, the samples in {@link SampleRecordCodec}
+ * layout, a zero terminator and a CRC32C over the records. It is written to a temporary
+ * file, forced and then moved into place, so a snapshot under its final name is complete.
+ */
+final class JournalFiles {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JournalFiles.class);
+    
+    static final String TEMP_SUFFIX = ".tmp";
+    
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    // Version 1 snapshots hold records without a version and updatedAt
+    private static final int SNAPSHOT_VERSION = 2;
+    
+    private JournalFiles() {
+    }
+    
+    /**
+     * Write the live store as a snapshot. The store is read while writers keep running,
+     * so the caller replays the log from the boundary it cut before to converge it.
+     * 
+     * @return The number of samples written
+     */
+    static long writeSnapshot(Path target, SampleJournal.StoreState state, long nextId) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        long[] count = new long[1];
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(nextId);
+            
+            CRC32C crc = new CRC32C();
+            ByteBuffer[] scratch = { ByteBuffer.allocate(4096) };
+            state.forEachSample(sample -> {
+                byte[] name = SampleRecordCodec.encodeString(sample.getName());
+                byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+                int size = SampleRecordCodec.encodedSize(name, description);
+                if (scratch[0].capacity() < size) {
+                    scratch[0] = ByteBuffer.allocate(Math.max(size, scratch[0].capacity() * 2));
+                }
+                SampleRecordCodec.write(scratch[0], 0, sample.getId(), SampleRecordCodec.versionOf(sample),
+                        sample.getCreatedAt(), sample.getUpdatedAt(), name, description);
+                crc.update(scratch[0].array(), 0, size);
+                try {
+                    out.write(scratch[0].array(), 0, size);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            out.writeInt(0);
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(target.getParent());
+        return count[0];
+    }
+    
+    /**
+     * Apply a snapshot to the store
+     * 
+     * @return false if the snapshot is truncated or fails its checksum
+     * @throws IOException if the snapshot has another format version; the log it
+     *         superseded is gone, so skipping it would silently lose its samples
+     */
+    static boolean loadSnapshot(Path path, SampleJournal.Recovery recovery) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return false;
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Snapshot " + path + " has unsupported format version " + version
+                        + "; this build reads version " + SNAPSHOT_VERSION);
+            }
+            long nextId = in.readLong();
+            
+            CRC32C crc = new CRC32C();
+            ByteBuffer scratch = ByteBuffer.allocate(4096);
+            int size;
+            while ((size = in.readInt()) != 0) {
+                if (size < SampleRecordCodec.HEADER_SIZE) {
+                    return false;
+                }
+                if (scratch.capacity() < size) {
+                    scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+                }
+                scratch.putInt(0, size);
+                in.readFully(scratch.array(), 4, size - 4);
+                crc.update(scratch.array(), 0, size);
+                recovery.put(SampleRecordCodec.read(scratch, 0));
+            }
+            if (in.readInt() != (int) crc.getValue()) {
+                return false;
+            }
+            recovery.restoreNextId(nextId);
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+    
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * Name of a numbered file, zero-padded so names sort like their numbers
+     */
+    static Path numberedPath(Path directory, String prefix, long number, String suffix) {
+        return directory.resolve(String.format("%s%020d%s", prefix, number, suffix));
+    }
+    
+    /**
+     * Sorted numbers of the files in the directory with the given prefix and suffix
+     */
+    static List<Long> fileNumbers(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        for (Path path : list(directory, prefix, suffix)) {
+            String fileName = path.getFileName().toString();
+            try {
+                numbers.add(Long.parseLong(fileName.substring(prefix.length(), fileName.length() - suffix.length())));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring unexpected file {} in journal directory", path);
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+    
+    static List<Path> list(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String fileName = path.getFileName().toString();
+                return fileName.startsWith(prefix) && fileName.endsWith(suffix);
+            }).toList();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.framework.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive long values.
+ * Uses linear probing with backward-shift deletion, so no boxing, no entry
+ * objects and no tombstones are involved. Key 0 is reserved as the empty marker.
+ * Not thread-safe; callers are expected to guard access externally.
+ */
+public class LongLongHashMap {
+    
+    public static final long NO_VALUE = -1L;
+    
+    private static final long EMPTY_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+    
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    
+    /**
+     * Constructor with expected number of entries
+     */
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+    
+    /**
+     * Get the value mapped to a key
+     * 
+     * @return The value, or {@link #NO_VALUE} if the key is absent
+     */
+    public long get(long key) {
+        int slot = findSlot(key);
+        return keys[slot] == EMPTY_KEY ? NO_VALUE : values[slot];
+    }
+    
+    public boolean containsKey(long key) {
+        return keys[findSlot(key)] != EMPTY_KEY;
+    }
+    
+    /**
+     * Map a key to a value, replacing any previous mapping
+     * 
+     * @return The previous value, or {@link #NO_VALUE} if the key was absent
+     */
+    public long put(long key, long value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != EMPTY_KEY) {
+            long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            allocate(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+    
+    /**
+     * Remove the mapping of a key
+     * 
+     * @return The removed value, or {@link #NO_VALUE} if the key was absent
+     */
+    public long remove(long key) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY_KEY) {
+            return NO_VALUE;
+        }
+        long removed = values[slot];
+        
+        // Shift following entries of the probe chain back so lookups never hit a gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY_KEY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY_KEY;
+        size--;
+        return removed;
+    }
+    
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Number of slots in the table, used for footprint estimates
+     */
+    public int capacity() {
+        return keys.length;
+    }
+    
+    /**
+     * Visit every mapping in table order
+     */
+    public void forEach(LongLongConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+    
+    /**
+     * Copy every key in table order
+     */
+    public long[] keys() {
+        long[] copy = new long[size];
+        int count = 0;
+        for (long key : keys) {
+            if (key != EMPTY_KEY) {
+                copy[count++] = key;
+            }
+        }
+        return copy;
+    }
+    
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY) {
+                    int slot = findSlot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+    
+    private static int hash(long key) {
+        // Fibonacci hashing spreads sequential IDs across the table
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    /**
+     * Callback receiving primitive key/value pairs
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.framework.store;
+
+import com.example.framework.config.SampleStoreProperties;
+import com.example.framework.exception.BusinessException;
+import com.example.framework.model.SampleModel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SampleJournal backed by memory-mapped, append-only log segments plus
+ * periodic compacted snapshots. Selected by {@code sample.store.journal=mapped}.
+ * <p>
+ * Log entries use the {@link JournalEntries} layout after the segment's file header.
+ * A segment that was rolled over ends with an explicit end marker; in the last
+ * segment a zero length or a checksum mismatch marks the end of the valid log.
+ * Segments and snapshots of another format version are rejected on open. A snapshot named
+ * after segment N holds the state at the start of segment N, so recovery loads the
+ * newest snapshot and replays only the segments from N onwards. Snapshots are taken
+ * while writers keep running: the store is read fuzzily after the boundary is cut,
+ * and replaying the tail (whose entries carry full sample state) converges it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sample.store", name = "journal", havingValue = "mapped")
+public class MappedSampleJournal implements SampleJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MappedSampleJournal.class);
+    
+    private static final String SEGMENT_PREFIX = "log-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    
+    private static final int SEGMENT_MAGIC = 0x5453474C;
+    
+    private static final int ENTRY_HEADER_SIZE = JournalEntries.HEADER_SIZE;
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final long snapshotThreshold;
+    
+    // Mutations hold the read side; cutting a snapshot boundary takes the write side
+    private final ReentrantReadWriteLock snapshotBarrier = new ReentrantReadWriteLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // MappedByteBuffer.force is a native call, so a virtual thread in msync pins its carrier either way.
+    // A j.u.c. lock rather than a monitor lets the threads waiting behind it park without pinning
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    
+    // Snapshots run on one thread and interval forces on another, so a long snapshot cannot delay a force
+    private ExecutorService snapshotExecutor;
+    private ScheduledExecutorService forceExecutor;
+    private StoreState state;
+    
+    // Guarded by appendLock
+    private Segment current;
+    private long bytesSinceSnapshot;
+    
+    public MappedSampleJournal(SampleStoreProperties properties) {
+        SampleStoreProperties.Mapped mapped = properties.getMapped();
+        this.directory = Paths.get(mapped.getDirectory());
+        this.segmentSize = mapped.getSegmentSize();
+        this.fsyncPolicy = mapped.getFsyncPolicy();
+        this.fsyncInterval = mapped.getFsyncInterval();
+        this.snapshotThreshold = mapped.getSnapshotThreshold();
+    }
+    
+    @Override
+    public void open(Recovery recovery, StoreState state) throws IOException {
+        this.state = state;
+        Files.createDirectories(directory);
+        for (Path leftover : JournalFiles.list(directory, "", JournalFiles.TEMP_SUFFIX)) {
+            Files.deleteIfExists(leftover);
+        }
+        
+        long started = System.nanoTime();
+        long replayFrom = 1;
+        List<Long> snapshots = fileNumbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        Collections.reverse(snapshots);
+        for (long snapshot : snapshots) {
+            if (JournalFiles.loadSnapshot(snapshotPath(snapshot), recovery)) {
+                replayFrom = snapshot;
+                break;
+            }
+            logger.warn("Ignoring unreadable snapshot {}", snapshotPath(snapshot));
+            recovery.clear();
+        }
+        
+        long entries = 0;
+        for (long number : fileNumbers(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number < replayFrom || current != null) {
+                // Segments covered by the snapshot, or written after a torn entry, are obsolete
+                Files.deleteIfExists(segmentPath(number));
+                continue;
+            }
+            Segment segment = openSegment(number);
+            ReplayResult result = replay(segment.buffer, recovery);
+            entries += result.entries;
+            if (!result.complete) {
+                truncate(segment, result.endPosition);
+                current = segment;
+            } else {
+                segment.channel.close();
+            }
+        }
+        if (current == null) {
+            long last = fileNumbers(SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                    .mapToLong(Long::longValue).max().orElse(replayFrom - 1);
+            current = openSegment(Math.max(replayFrom, last + 1));
+        }
+        
+        logger.info("Recovered sample journal from {} (snapshot {}, {} log entries) in {} ms",
+                directory, replayFrom, entries, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        
+        snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "sample-journal-snapshot"));
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            forceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "sample-journal-force"));
+            long period = fsyncInterval.toMillis();
+            forceExecutor.scheduleWithFixedDelay(this::forceCurrent, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public Lock mutationLock() {
+        return snapshotBarrier.readLock();
+    }
+    
+    @Override
+    public void logPut(SampleModel sample) {
+        byte[] name = SampleRecordCodec.encodeString(sample.getName());
+        byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+        int size = JournalEntries.putSize(name, description);
+        
+        appendLock.lock();
+        try {
+            int position = reserve(size);
+            advance(JournalEntries.writePut(current.buffer, position, sample, name, description));
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotIfDue();
+    }
+    
+    @Override
+    public void logDelete(long id) {
+        appendLock.lock();
+        try {
+            int position = reserve(ENTRY_HEADER_SIZE + 8);
+            advance(JournalEntries.writeDelete(current.buffer, position, id));
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotIfDue();
+    }
+    
+    @Override
+    public void logClear() {
+        appendLock.lock();
+        try {
+            int position = reserve(ENTRY_HEADER_SIZE);
+            advance(JournalEntries.writeMarker(current.buffer, position, JournalEntries.TYPE_CLEAR));
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotIfDue();
+    }
+    
+    @Override
+    public void sync() {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            forceCurrent();
+        }
+    }
+    
+    @Override
+    @PreDestroy
+    public void close() throws IOException {
+        shutdown(forceExecutor);
+        shutdown(snapshotExecutor);
+        appendLock.lock();
+        try {
+            if (current != null) {
+                if (fsyncPolicy != FsyncPolicy.OS) {
+                    force(current, current.writePosition);
+                }
+                current.channel.close();
+                current = null;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    private static void shutdown(ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    /**
+     * Reserve room for an entry of the given size in the current segment, rolling to a new one if needed.
+     * Must be called with the append lock held.
+     * 
+     * @return Position of the entry within the current segment
+     */
+    private int reserve(int size) {
+        if (JournalEntries.FILE_HEADER_SIZE + size + ENTRY_HEADER_SIZE > segmentSize) {
+            throw new BusinessException(
+                String.format("Journal entry of %d bytes exceeds the segment size of %d bytes", size, segmentSize),
+                "SAMPLE_TOO_LARGE");
+        }
+        // Always leave room for the end marker written when the segment is rolled
+        if (current.writePosition + size + ENTRY_HEADER_SIZE > segmentSize) {
+            rollSegment();
+        }
+        return current.writePosition;
+    }
+    
+    /**
+     * Move the write position past an entry just written. Must be called with the append lock held.
+     */
+    private void advance(int length) {
+        current.writePosition += length;
+        bytesSinceSnapshot += length;
+    }
+    
+    /**
+     * Switch appends to a fresh segment. Must be called with the append lock held.
+     */
+    private void rollSegment() {
+        Segment previous = current;
+        advance(JournalEntries.writeMarker(previous.buffer, previous.writePosition, JournalEntries.TYPE_END));
+        try {
+            if (fsyncPolicy != FsyncPolicy.OS) {
+                force(previous, previous.writePosition);
+            }
+            previous.channel.close();
+            current = openSegment(previous.number + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll journal segment", e);
+        }
+    }
+    
+    private void forceCurrent() {
+        Segment segment;
+        int position;
+        appendLock.lock();
+        try {
+            segment = current;
+            position = segment == null ? 0 : segment.writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+        if (segment != null) {
+            force(segment, position);
+        }
+    }
+    
+    /**
+     * Force a segment up to a position; concurrent callers already covered return immediately
+     */
+    private void force(Segment segment, int upTo) {
+        forceLock.lock();
+        try {
+            if (segment.forcedPosition >= upTo) {
+                return;
+            }
+            segment.buffer.force(segment.forcedPosition, upTo - segment.forcedPosition);
+            segment.forcedPosition = upTo;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+    
+    private void snapshotIfDue() {
+        // Unguarded read; a late or early snapshot trigger is harmless
+        if (bytesSinceSnapshot >= snapshotThreshold && snapshotRunning.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    writeSnapshot();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Failed to write sample snapshot: {}", e.getMessage(), e);
+                } finally {
+                    snapshotRunning.set(false);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Cut a boundary at a fresh segment, write the store state as a snapshot for that
+     * segment and delete everything the snapshot supersedes.
+     */
+    private void writeSnapshot() throws IOException {
+        long snapshotSegment;
+        long nextId;
+        snapshotBarrier.writeLock().lock();
+        try {
+            appendLock.lock();
+            try {
+                rollSegment();
+                snapshotSegment = current.number;
+                bytesSinceSnapshot = 0;
+            } finally {
+                appendLock.unlock();
+            }
+            nextId = state.nextId();
+        } finally {
+            snapshotBarrier.writeLock().unlock();
+        }
+        
+        long started = System.nanoTime();
+        Path target = snapshotPath(snapshotSegment);
+        long count = JournalFiles.writeSnapshot(target, state, nextId);
+        
+        for (long number : fileNumbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (number < snapshotSegment) {
+                Files.deleteIfExists(snapshotPath(number));
+            }
+        }
+        for (long number : fileNumbers(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number < snapshotSegment) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+        logger.info("Wrote sample snapshot {} with {} samples in {} ms",
+                target, count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    /**
+     * Apply the valid entries of a segment to the store
+     */
+    private ReplayResult replay(ByteBuffer buffer, Recovery recovery) {
+        int position = JournalEntries.FILE_HEADER_SIZE;
+        long entries = 0;
+        while (true) {
+            int length = JournalEntries.replay(buffer, position, segmentSize, recovery);
+            if (length == JournalEntries.END_OF_SEGMENT) {
+                return new ReplayResult(position, entries, true);
+            }
+            if (length == JournalEntries.INVALID) {
+                return new ReplayResult(position, entries, false);
+            }
+            position += length;
+            entries++;
+        }
+    }
+    
+    /**
+     * Zero everything after the last valid entry so stale bytes can never be replayed,
+     * then position the segment for appends.
+     */
+    private void truncate(Segment segment, int position) {
+        byte[] zeros = new byte[8192];
+        for (int offset = position; offset < segmentSize; offset += zeros.length) {
+            segment.buffer.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+        }
+        segment.writePosition = position;
+        segment.forcedPosition = 0;
+        if (fsyncPolicy != FsyncPolicy.OS) {
+            force(segment, segmentSize);
+        }
+    }
+    
+    /**
+     * Map a segment, writing the file header into a new one and checking it in an existing one
+     * 
+     * @throws IOException if an existing segment has another format version
+     */
+    private Segment openSegment(long number) throws IOException {
+        Path path = segmentPath(number);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            if (created || JournalEntries.isBlankFileHeader(buffer)) {
+                JournalEntries.writeFileHeader(buffer, SEGMENT_MAGIC);
+            } else {
+                JournalEntries.checkFileHeader(buffer, SEGMENT_MAGIC, path);
+            }
+            Segment segment = new Segment(number, channel, buffer);
+            segment.writePosition = JournalEntries.FILE_HEADER_SIZE;
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    private Path segmentPath(long number) {
+        return JournalFiles.numberedPath(directory, SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+    
+    private Path snapshotPath(long number) {
+        return JournalFiles.numberedPath(directory, SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX);
+    }
+    
+    private List<Long> fileNumbers(String prefix, String suffix) throws IOException {
+        return JournalFiles.fileNumbers(directory, prefix, suffix);
+    }
+    
+    /**
+     * A mapped log segment
+     */
+    private static final class Segment {
+    
+        private final long number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int forcedPosition;
+        
+        private Segment(long number, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+    
+    /**
+     * Outcome of replaying one segment
+     */
+    private static final class ReplayResult {
+    
+        private final int endPosition;
+        private final long entries;
+        private final boolean complete;
+        
+        private ReplayResult(int endPosition, long entries, boolean complete) {
+            this.endPosition = endPosition;
+            this.entries = entries;
+            this.complete = complete;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.example.framework.store;
+
+import com.example.framework.exception.BusinessException;
+import com.example.framework.model.SampleModel;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only arena of direct ByteBuffer slabs holding encoded sample records.
+ * A record is addressed by a long packing the slab index (high 32 bits) and the
+ * offset within the slab (low 32 bits). Replaced and removed records are only
+ * accounted as garbage; {@link #compact} copies live records into fresh slabs.
+ * Not thread-safe; callers are expected to guard access externally.
+ */
+public class OffHeapRecordArena {
+    
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private int writeOffset;
+    private long liveBytes;
+    private long garbageBytes;
+    
+    /**
+     * Constructor with the size of each direct slab in bytes
+     */
+    public OffHeapRecordArena(int slabSize) {
+        this.slabSize = slabSize;
+    }
+    
+    /**
+     * Append a record and return its address
+     * 
+     * @throws BusinessException if the record does not fit into a single slab
+     */
+    public long append(long id, long version, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       byte[] name, byte[] description) {
+        int size = SampleRecordCodec.encodedSize(name, description);
+        if (size > slabSize) {
+            throw new BusinessException(
+                String.format("Sample %d needs %d bytes, exceeding the off-heap slab size of %d bytes", id, size, slabSize),
+                "SAMPLE_TOO_LARGE");
+        }
+        long address = reserve(size);
+        SampleRecordCodec.write(slabOf(address), offsetOf(address), id, version, createdAt, updatedAt, name, description);
+        return address;
+    }
+    
+    /**
+     * Materialize the record stored at an address
+     */
+    public SampleModel read(long address) {
+        return SampleRecordCodec.read(slabOf(address), offsetOf(address));
+    }
+    
+    /**
+     * Mark the record at an address as garbage
+     */
+    public void release(long address) {
+        int size = SampleRecordCodec.readLength(slabOf(address), offsetOf(address));
+        liveBytes -= size;
+        garbageBytes += size;
+    }
+    
+    /**
+     * Whether enough space is wasted to make a compaction worthwhile
+     */
+    public boolean needsCompaction() {
+        return slabs.size() > 1 && garbageBytes > liveBytes;
+    }
+    
+    /**
+     * Copy the live records listed in the index into fresh slabs and rewrite
+     * their addresses in place. The old slabs are released to the garbage collector.
+     */
+    public void compact(LongLongHashMap index) {
+        List<ByteBuffer> oldSlabs = new ArrayList<>(slabs);
+        slabs.clear();
+        writeOffset = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        
+        long[] ids = new long[index.size()];
+        long[] addresses = new long[index.size()];
+        int[] count = new int[1];
+        index.forEach((id, address) -> {
+            ids[count[0]] = id;
+            addresses[count[0]] = address;
+            count[0]++;
+        });
+        
+        for (int i = 0; i < count[0]; i++) {
+            ByteBuffer source = oldSlabs.get((int) (addresses[i] >>> 32));
+            int sourceOffset = (int) addresses[i];
+            int size = SampleRecordCodec.readLength(source, sourceOffset);
+            long address = reserve(size);
+            slabOf(address).put(offsetOf(address), source, sourceOffset, size);
+            index.put(ids[i], address);
+        }
+    }
+    
+    /**
+     * Drop every record and slab
+     */
+    public void clear() {
+        slabs.clear();
+        writeOffset = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+    }
+    
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+    
+    public long getGarbageBytes() {
+        return garbageBytes;
+    }
+    
+    /**
+     * Total direct memory reserved by the slabs
+     */
+    public long getReservedBytes() {
+        return (long) slabs.size() * slabSize;
+    }
+    
+    /**
+     * Reserve space for a record of the given size and return its address
+     */
+    private long reserve(int size) {
+        if (slabs.isEmpty() || writeOffset + size > slabSize) {
+            // The unused tail of the current slab can never be reclaimed except by compaction
+            if (!slabs.isEmpty()) {
+                garbageBytes += slabSize - writeOffset;
+            }
+            slabs.add(ByteBuffer.allocateDirect(slabSize));
+            writeOffset = 0;
+        }
+        long address = ((long) (slabs.size() - 1) << 32) | writeOffset;
+        writeOffset += size;
+        liveBytes += size;
+        return address;
+    }
+    
+    private ByteBuffer slabOf(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+    
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.framework.store;
+
+import com.example.framework.model.SampleModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Durable record of the mutations applied to the in-memory sample store.
+ * The store logs every mutation while holding {@link #mutationLock()} and the
+ * per-key lock of the entity it changes, so the journal order matches the
+ * order in which mutations of the same sample were applied. After releasing
+ * those locks the store calls {@link #sync()} before returning to its caller.
+ */
+public interface SampleJournal extends Closeable {
+    
+    /**
+     * Replay the durable state into the store and start accepting appends
+     * 
+     * @param recovery Callbacks applying the recovered state to the store
+     * @param state Access to the live store, used to write compacted snapshots
+     */
+    void open(Recovery recovery, StoreState state) throws IOException;
+    
+    /**
+     * Shared lock held by every mutation from its append until it is applied to the store.
+     * The journal takes the exclusive side briefly to cut a consistent snapshot boundary.
+     */
+    Lock mutationLock();
+    
+    /**
+     * Record that a sample was created or replaced with the given state
+     */
+    void logPut(SampleModel sample);
+    
+    /**
+     * Record that a sample was deleted
+     */
+    void logDelete(long id);
+    
+    /**
+     * Record that every sample was deleted and the ID sequence was reset
+     */
+    void logClear();
+    
+    /**
+     * Make everything logged so far durable, as far as the configured fsync policy requires
+     */
+    void sync();
+    
+    /**
+     * Callbacks used to rebuild the store from the journal
+     */
+    interface Recovery {
+        
+        void put(SampleModel sample);
+        
+        void delete(long id);
+        
+        void clear();
+        
+        void restoreNextId(long nextId);
+    }
+    
+    /**
+     * Read access to the live store for snapshotting
+     */
+    interface StoreState {
+        
+        void forEachSample(Consumer<? super SampleModel> action);
+        
+        long nextId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.framework.store;
+
+import com.example.framework.model.SampleModel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of a single SampleModel record, shared by the storage engines.
+ * <pre>
+ * int  recordLength   (total bytes, including this header)
+ * long id
+ * long version
+ * long createdAt      (epoch seconds of the local date-time read as UTC)
+ * int  createdAtNanos (-1 when createdAt is null)
+ * long updatedAt      (epoch seconds of the local date-time read as UTC)
+ * int  updatedAtNanos (-1 when updatedAt is null)
+ * int  nameLength     (-1 when name is null), followed by UTF-8 bytes
+ * int  descLength     (-1 when description is null), followed by UTF-8 bytes
+ * </pre>
+ * All accessors use absolute positions and never touch the buffer position.
+ */
+public final class SampleRecordCodec {
+    
+    public static final int HEADER_SIZE = 4 + 8 + 8 + 8 + 4 + 8 + 4;
+    
+    private static final int NULL_LENGTH = -1;
+    
+    private SampleRecordCodec() {
+    }
+    
+    /**
+     * Encode a string as UTF-8, keeping null as null
+     */
+    public static byte[] encodeString(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Version of a sample as stored, treating a missing version as 0
+     */
+    public static long versionOf(SampleModel sample) {
+        return sample.getVersion() == null ? 0L : sample.getVersion();
+    }
+    
+    /**
+     * Number of bytes needed to store a record with the given encoded strings
+     */
+    public static int encodedSize(byte[] name, byte[] description) {
+        return HEADER_SIZE + 4 + lengthOf(name) + 4 + lengthOf(description);
+    }
+    
+    /**
+     * Write a record at an absolute offset
+     * 
+     * @return The number of bytes written
+     */
+    public static int write(ByteBuffer buffer, int offset, long id, long version,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, byte[] name, byte[] description) {
+        int size = encodedSize(name, description);
+        buffer.putInt(offset, size);
+        buffer.putLong(offset + 4, id);
+        buffer.putLong(offset + 12, version);
+        writeDateTime(buffer, offset + 20, createdAt);
+        writeDateTime(buffer, offset + 32, updatedAt);
+        int position = writeBytes(buffer, offset + HEADER_SIZE, name);
+        writeBytes(buffer, position, description);
+        return size;
+    }
+    
+    /**
+     * Read the total length of the record at an absolute offset
+     */
+    public static int readLength(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+    
+    /**
+     * Read only the ID of the record at an absolute offset
+     */
+    public static long readId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 4);
+    }
+    
+    /**
+     * Materialize the record at an absolute offset as a SampleModel
+     */
+    public static SampleModel read(ByteBuffer buffer, int offset) {
+        long id = buffer.getLong(offset + 4);
+        long version = buffer.getLong(offset + 12);
+        LocalDateTime createdAt = readDateTime(buffer, offset + 20);
+        LocalDateTime updatedAt = readDateTime(buffer, offset + 32);
+        
+        int position = offset + HEADER_SIZE;
+        int nameLength = buffer.getInt(position);
+        String name = readString(buffer, position + 4, nameLength);
+        position += 4 + Math.max(0, nameLength);
+        int descriptionLength = buffer.getInt(position);
+        String description = readString(buffer, position + 4, descriptionLength);
+        
+        SampleModel sample = new SampleModel(id, name, description, createdAt);
+        sample.setVersion(version);
+        sample.setUpdatedAt(updatedAt);
+        return sample;
+    }
+    
+    private static void writeDateTime(ByteBuffer buffer, int offset, LocalDateTime dateTime) {
+        if (dateTime != null) {
+            buffer.putLong(offset, dateTime.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(offset + 8, dateTime.getNano());
+        } else {
+            buffer.putLong(offset, 0L);
+            buffer.putInt(offset + 8, NULL_LENGTH);
+        }
+    }
+    
+    private static LocalDateTime readDateTime(ByteBuffer buffer, int offset) {
+        int nanos = buffer.getInt(offset + 8);
+        return nanos == NULL_LENGTH ? null : LocalDateTime.ofEpochSecond(buffer.getLong(offset), nanos, ZoneOffset.UTC);
+    }
+    
+    private static int lengthOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+    
+    private static int writeBytes(ByteBuffer buffer, int offset, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(offset, NULL_LENGTH);
+            return offset + 4;
+        }
+        buffer.putInt(offset, bytes.length);
+        buffer.put(offset + 4, bytes);
+        return offset + 4 + bytes.length;
+    }
+    
+    private static String readString(ByteBuffer buffer, int offset, int length) {
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
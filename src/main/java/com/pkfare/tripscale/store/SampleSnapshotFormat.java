@@ -0,0 +1,271 @@
+package com.example.framework.store;
+
+import com.example.framework.model.SampleChangeEvent;
+import com.example.framework.model.SampleModel;
+import com.example.framework.model.SnapshotSummary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a portable snapshot of the sample store, used for backups and
+ * for cloning a node.
+ * <pre>
+ * int  magic
+ * int  formatVersion
+ * records           SampleRecordCodec records, each starting with its length; an int 0 ends them
+ * changes           JournalEntries put, delete and clear entries, closed by an end entry
+ * long nextId
+ * long changeSequence
+ * long changeEpoch   (SampleChangeLog epoch changeSequence belongs to)
+ * int  crc32c       (over everything before it)
+ * </pre>
+ * The records are a scan of the store taken while writers keep running. The changes
+ * published between the scan's boundary and its end carry full sample state, so
+ * replaying them over the records yields the state as of {@code changeSequence}.
+ */
+public final class SampleSnapshotFormat {
+    
+    private static final int MAGIC = 0x53534E50;
+    private static final int FORMAT_VERSION = 2;
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_SCRATCH_SIZE = 4096;
+    
+    // Rejects a corrupt length before allocating for it; far above any real record
+    private static final int MAX_RECORD_SIZE = 1 << 26;
+    
+    // Recovery that ignores what is read, for checking a snapshot before it is applied
+    private static final SampleJournal.Recovery DISCARD = new SampleJournal.Recovery() {
+        @Override
+        public void put(SampleModel sample) {
+        }
+        
+        @Override
+        public void delete(long id) {
+        }
+        
+        @Override
+        public void clear() {
+        }
+        
+        @Override
+        public void restoreNextId(long nextId) {
+        }
+    };
+    
+    private SampleSnapshotFormat() {
+    }
+    
+    /**
+     * Check a whole snapshot without applying it: magic, version, every record and
+     * change entry, and the checksum
+     * 
+     * @param input The snapshot stream
+     * @return Summary of the snapshot, as {@link #read} would return it
+     * @throws StreamCorruptedException if the stream is not a snapshot or fails a check
+     * @throws java.io.EOFException if the stream ends before the snapshot does
+     */
+    public static SnapshotSummary verify(InputStream input) throws IOException {
+        return read(input, DISCARD);
+    }
+    
+    /**
+     * Read a snapshot, applying its records and then its changes to the store
+     * Corruption is detected as soon as it is reached, but the checksum over the
+     * whole snapshot is only known at its end, after everything was applied;
+     * {@link #verify} it first where a partly applied snapshot is not acceptable.
+     * 
+     * @param input The snapshot stream
+     * @param recovery Callbacks applying the snapshot to the store
+     * @return Summary with the record and change counts, the trailer and the size read
+     * @throws StreamCorruptedException if the stream is not a snapshot or fails a check
+     * @throws java.io.EOFException if the stream ends before the snapshot does
+     */
+    public static SnapshotSummary read(InputStream input, SampleJournal.Recovery recovery) throws IOException {
+        Reader reader = new Reader(input);
+        reader.readFully(0, 8);
+        if (reader.scratch.getInt(0) != MAGIC) {
+            throw new StreamCorruptedException("Not a sample snapshot");
+        }
+        if (reader.scratch.getInt(4) != FORMAT_VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot format version " + reader.scratch.getInt(4));
+        }
+        
+        long records = 0;
+        int size;
+        while ((size = reader.readLength()) != 0) {
+            if (size < SampleRecordCodec.HEADER_SIZE) {
+                throw new StreamCorruptedException("Invalid record length " + size + " in snapshot");
+            }
+            reader.readFully(4, size - 4);
+            recovery.put(SampleRecordCodec.read(reader.scratch, 0));
+            records++;
+        }
+        
+        long changes = 0;
+        while (true) {
+            int length = reader.readLength();
+            if (length < JournalEntries.HEADER_SIZE) {
+                throw new StreamCorruptedException("Invalid change entry length " + length + " in snapshot");
+            }
+            reader.readFully(4, length - 4);
+            int replayed = JournalEntries.replay(reader.scratch, 0, length, recovery);
+            if (replayed == JournalEntries.INVALID) {
+                throw new StreamCorruptedException("Invalid change entry in snapshot");
+            }
+            if (replayed == JournalEntries.END_OF_SEGMENT) {
+                break;
+            }
+            changes++;
+        }
+        
+        reader.readFully(0, 24);
+        long nextId = reader.scratch.getLong(0);
+        long changeSequence = reader.scratch.getLong(8);
+        long changeEpoch = reader.scratch.getLong(16);
+        int expectedCrc = (int) reader.crc.getValue();
+        if (reader.in.readInt() != expectedCrc) {
+            throw new StreamCorruptedException("Snapshot checksum mismatch");
+        }
+        recovery.restoreNextId(nextId);
+        return new SnapshotSummary(records, changes, nextId, changeSequence, changeEpoch, reader.bytesRead + 4);
+    }
+    
+    /**
+     * Writes a snapshot: every record first, then the changes, then the trailer
+     */
+    public static final class Writer {
+        
+        private final DataOutputStream out;
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer scratch = ByteBuffer.allocate(INITIAL_SCRATCH_SIZE);
+        private boolean writingChanges;
+        private long bytesWritten;
+        
+        public Writer(OutputStream output) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+            scratch.putInt(0, MAGIC);
+            scratch.putInt(4, FORMAT_VERSION);
+            emit(8);
+        }
+        
+        /**
+         * Append a record of the scan
+         */
+        public void writeSample(SampleModel sample) throws IOException {
+            if (writingChanges) {
+                throw new IllegalStateException("Records must be written before changes");
+            }
+            byte[] name = SampleRecordCodec.encodeString(sample.getName());
+            byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+            ensureCapacity(SampleRecordCodec.encodedSize(name, description));
+            emit(SampleRecordCodec.write(scratch, 0, sample.getId(), SampleRecordCodec.versionOf(sample),
+                    sample.getCreatedAt(), sample.getUpdatedAt(), name, description));
+        }
+        
+        /**
+         * Append a change published after the scan's boundary
+         */
+        public void writeChange(SampleChangeEvent event) throws IOException {
+            endRecords();
+            if (event.getType() == SampleChangeEvent.Type.DELETED) {
+                ensureCapacity(JournalEntries.HEADER_SIZE + 8);
+                emit(JournalEntries.writeDelete(scratch, 0, event.getSampleId()));
+            } else if (event.getType() == SampleChangeEvent.Type.CLEARED) {
+                emit(JournalEntries.writeMarker(scratch, 0, JournalEntries.TYPE_CLEAR));
+            } else {
+                SampleModel sample = event.getSample();
+                byte[] name = SampleRecordCodec.encodeString(sample.getName());
+                byte[] description = SampleRecordCodec.encodeString(sample.getDescription());
+                ensureCapacity(JournalEntries.putSize(name, description));
+                emit(JournalEntries.writePut(scratch, 0, sample, name, description));
+            }
+        }
+        
+        /**
+         * Write the trailer and flush; the underlying stream is left open
+         * 
+         * @param nextId Position of the ID sequence to restore
+         * @param changeSequence Change sequence the snapshot is consistent with
+         * @param changeEpoch Epoch of the change log the sequence belongs to
+         * @return Total size of the snapshot in bytes
+         */
+        public long finish(long nextId, long changeSequence, long changeEpoch) throws IOException {
+            endRecords();
+            emit(JournalEntries.writeMarker(scratch, 0, JournalEntries.TYPE_END));
+            scratch.putLong(0, nextId);
+            scratch.putLong(8, changeSequence);
+            scratch.putLong(16, changeEpoch);
+            emit(24);
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            return bytesWritten + 4;
+        }
+        
+        private void endRecords() throws IOException {
+            if (!writingChanges) {
+                scratch.putInt(0, 0);
+                emit(4);
+                writingChanges = true;
+            }
+        }
+        
+        private void ensureCapacity(int size) {
+            if (scratch.capacity() < size) {
+                scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+            }
+        }
+        
+        private void emit(int length) throws IOException {
+            crc.update(scratch.array(), 0, length);
+            out.write(scratch.array(), 0, length);
+            bytesWritten += length;
+        }
+    }
+    
+    /**
+     * Checksummed reads into a growing scratch buffer
+     */
+    private static final class Reader {
+        
+        private final DataInputStream in;
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer scratch = ByteBuffer.allocate(INITIAL_SCRATCH_SIZE);
+        private long bytesRead;
+        
+        private Reader(InputStream input) {
+            this.in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        }
+        
+        /**
+         * Read the length that starts a record or entry into the scratch buffer,
+         * growing the buffer to hold all of it
+         */
+        private int readLength() throws IOException {
+            readFully(0, 4);
+            int length = scratch.getInt(0);
+            if (length < 0 || length > MAX_RECORD_SIZE) {
+                throw new StreamCorruptedException("Invalid length " + length + " in snapshot");
+            }
+            if (scratch.capacity() < length) {
+                scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2)).putInt(0, length);
+            }
+            return length;
+        }
+        
+        private void readFully(int offset, int length) throws IOException {
+            in.readFully(scratch.array(), offset, length);
+            crc.update(scratch.array(), offset, length);
+            bytesRead += length;
+        }
+    }
+}
\ No newline at end of file